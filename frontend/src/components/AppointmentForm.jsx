@@ -1,5 +1,5 @@
 import React from "react";
-import { api } from "../services/http"; // existing axios instance used across app
+import { api, getAllPages } from "../services/http"; // existing axios instance used across app
 import { useAuth } from "../auth/AuthProvider";
 import { Link } from "react-router-dom";
 
@@ -41,7 +41,10 @@ export default function AppointmentForm({ onCreated, initialClinicId, initialPet
       let gotPets = false;
       for (const path of petPaths) {
         try {
-          const p = await api.get(path);
+          const listing = path === "/pets" || path === "/api/pets";
+          const p = listing
+            ? { status: 200, data: await getAllPages(path, user?.id ? { ownerId: user.id } : {}) }
+            : await api.get(path);
           if (p && (p.status === 200 || p.status === 204)) {
             const data = Array.isArray(p.data) ? p.data : p.data?.items || [];
             // If the endpoint returns all pets, filter by owner id when we have it
@@ -90,7 +93,7 @@ export default function AppointmentForm({ onCreated, initialClinicId, initialPet
       setVetId("");
       if (!clinicId) return;
       try {
-        const res = await api.get("/vets");
+        const res = await api.get("/vets", { params: { clinicId, size: 200 } });
         const all = Array.isArray(res.data) ? res.data : [];
         const filtered = all.filter(v => {
           // support both v.clinic?.id and v.clinicId shapes
@@ -41,7 +41,7 @@ export default function StaffManagement() {
 
         // Load staff (vets and assistants) for this clinic
         try {
-          const vetsRes = await api.get("/vets");
+          const vetsRes = await api.get("/vets", { params: { clinicId: userClinic.id, size: 200 } });
           const allVets = Array.isArray(vetsRes.data) ? vetsRes.data : [];
           const clinicStaff = allVets.filter(
             (v) =>
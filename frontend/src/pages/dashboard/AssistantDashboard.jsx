@@ -1,7 +1,7 @@
 // src/pages/dashboard/AssistantDashboard.jsx
 import React, { useEffect, useState } from "react";
 import { useAuth } from "../../auth/AuthProvider";
-import { api } from "../../services/http";
+import { api, getAllPages } from "../../services/http";
 import { Link } from "react-router-dom";
 import "../../styles/petowner.css";
 
@@ -48,8 +48,7 @@ export default function AssistantDashboard() {
         } catch (err) {
           // Try alternative endpoint
           try {
-            const allVetsRes = await api.get(`/vets`);
-            const allVets = Array.isArray(allVetsRes.data) ? allVetsRes.data : [];
+            const allVets = await getAllPages(`/vets`);
             const userVet = allVets.find((v) => v.user?.id === user.id || v.id === user.id);
             if (userVet) {
               setVet(userVet);
@@ -66,8 +65,7 @@ export default function AssistantDashboard() {
         // Load pet assignments (pets assigned to this clinic)
         if (loadedClinic?.id) {
           try {
-            const petsRes = await api.get(`/pets`);
-            const allPets = Array.isArray(petsRes.data) ? petsRes.data : [];
+            const allPets = await getAllPages(`/pets`);
             // Filter pets by clinic
             const clinicPets = allPets.filter(
               (p) => p.clinicId === loadedClinic.id || p.clinic?.id === loadedClinic.id
@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from "react";
 import { useNavigate, Link } from "react-router-dom";
 import { useAuth } from "../../auth/AuthProvider";
-import { api } from "../../services/http";
+import { api, getAllPages } from "../../services/http";
 import "../../styles/petowner.css";
 
 export default function PetOwnerDashboard() {
@@ -79,7 +79,9 @@ export default function PetOwnerDashboard() {
 
         for (const path of tries) {
           try {
-            const r = await api.get(path);
+            const r = path === "/pets" || path === "/api/pets"
+              ? { status: 200, data: await getAllPages(path, { ownerId: userId }) }
+              : await api.get(path);
             if (r && (r.status === 200 || r.status === 204)) {
               const data = Array.isArray(r.data) ? r.data : r.data?.items || [];
               const filtered = Array.isArray(data)
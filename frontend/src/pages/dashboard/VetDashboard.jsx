@@ -1,7 +1,7 @@
 // src/pages/dashboard/VetDashboard.jsx
 import React, { useEffect, useState } from "react";
 import { useAuth } from "../../auth/AuthProvider";
-import { api, setAuthToken } from "../../services/http";
+import { api, getAllPages, setAuthToken } from "../../services/http";
 import { Link } from "react-router-dom";
 import "../../styles/petowner.css";
 
@@ -65,8 +65,7 @@ export default function VetDashboard() {
         } catch (err) {
           // Try alternative endpoint
           try {
-            const allVetsRes = await api.get(`/vets`);
-            const allVets = Array.isArray(allVetsRes.data) ? allVetsRes.data : [];
+            const allVets = await getAllPages(`/vets`);
             const userVet = allVets.find((v) => v.user?.id === user.id || v.id === user.id);
             if (userVet) {
               setVet(userVet);
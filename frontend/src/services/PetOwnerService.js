@@ -1,5 +1,6 @@
 // src/services/PetOwnerService.js
 import { AuthService } from "./AuthService";
+import { getAllPages } from "./http";
 
 export const PetOwnerService = {
   async getPetOwnerByUserId(userId) {
@@ -16,20 +17,11 @@ export const PetOwnerService = {
         return await response.json();
       }
 
-      // If direct endpoint fails, try getting all and filtering
-      const allResponse = await fetch("/pet-owners", {
-        headers: {
-          "Content-Type": "application/json",
-          ...AuthService.authHeader(),
-        },
+      // If direct endpoint fails, walk the (paged) listing and filter
+      const allPetOwners = await getAllPages("/pet-owners", {}, {
+        headers: AuthService.authHeader(),
       });
-
-      if (allResponse.ok) {
-        const allPetOwners = await allResponse.json();
-        return allPetOwners.find((po) => po.id === userId) || null;
-      }
-
-      return null;
+      return allPetOwners.find((po) => po.id === userId) || null;
     } catch (error) {
       console.error("Error fetching pet owner:", error);
       return null;
@@ -59,3 +59,22 @@ export function setAuthToken(token) {
 export function clearAuthToken() {
   delete api.defaults.headers.common["Authorization"];
 }
+
+// Admin listings (/pets, /vets, /pet-owners, /users, /api/owners) are paged server-side:
+// walk the keyset cursor (X-Next-Cursor) until X-Has-Next is false and return every row.
+export async function getAllPages(path, params = {}, config = {}) {
+  const rows = [];
+  let after;
+  for (;;) {
+    const res = await api.get(path, {
+      ...config,
+      params: { ...params, size: 200, sort: "id", ...(after != null ? { after } : {}) },
+    });
+    const page = Array.isArray(res.data) ? res.data : [];
+    rows.push(...page);
+    after = res.headers?.["x-next-cursor"];
+    if (res.headers?.["x-has-next"] !== "true" || after == null || page.length === 0) {
+      return rows;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Build the JVM jar (optionally with Spring AOT) and record a Class Data Sharing archive from a
+# training run that stops right after the context refresh.
+#
+#   scripts/cds-train.sh          # plain JVM build
+#   scripts/cds-train.sh --aot    # AOT build; run the result with -Dspring.aot.enabled=true
+#
+# Output: target/app/backend.jar + target/app/application.jsa, started with
+#   java -XX:SharedArchiveFile=target/app/application.jsa [-Dspring.aot.enabled=true] -jar target/app/backend.jar
+#
+# The training run uses the prod profile, which skips Hibernate's JDBC metadata lookups, so no
+# database is needed. Re-train whenever dependencies or the JDK change; a stale archive is ignored.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PROFILES=""
+AOT_FLAG=""
+if [[ "${1:-}" == "--aot" ]]; then
+  PROFILES="-Paot"
+  AOT_FLAG="-Dspring.aot.enabled=true"
+fi
+
+./mvnw -B -q -DskipTests $PROFILES package
+
+JAR=$(ls target/backend-*.jar | grep -v original | head -1)
+rm -rf target/app
+java -Djarmode=tools -jar "$JAR" extract --destination target/app
+mv target/app/"$(basename "$JAR")" target/app/backend.jar
+
+java -XX:ArchiveClassesAtExit=target/app/application.jsa \
+     -Dspring.context.exit=onRefresh \
+     $AOT_FLAG \
+     -jar target/app/backend.jar --spring.profiles.active=prod,google
+
+echo "CDS archive: target/app/application.jsa"
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Smoke test for the native build: start the binary against the docker-compose MySQL
+# (docker compose up -d mysql), hit endpoints that go through the filter chain, JPA and Jackson,
+# then report startup time and resident memory. Pass "jvm" to run the same checks on the jar.
+#
+#   ./mvnw -Pnative -DskipTests native:compile && scripts/native-smoke.sh
+#   ./mvnw -DskipTests package && scripts/native-smoke.sh jvm
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+MODE="${1:-native}"
+PORT="${PORT:-8082}"
+case "$MODE" in
+  native) CMD=(target/vetsecure-backend) ;;
+  jvm)    CMD=(java ${JAVA_OPTS:-} -jar "$(ls target/backend-*.jar | grep -v original | head -1)") ;;
+  *) echo "usage: $0 [native|jvm]" >&2; exit 2 ;;
+esac
+
+LOG="target/smoke-$MODE.log"
+start=$(date +%s%N)
+"${CMD[@]}" --server.port="$PORT" > "$LOG" 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null || true' EXIT
+
+until curl -sf -o /dev/null "http://localhost:$PORT/health"; do
+  kill -0 "$pid" 2>/dev/null || { echo "backend exited, see $LOG" >&2; exit 1; }
+  sleep 0.05
+done
+ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+
+fail=0
+expect() { # expect <status> <method> <path> [json body]
+  local code
+  if [[ -n "${4:-}" ]]; then
+    code=$(curl -s -o /dev/null -w '%{http_code}' -X "$2" -H 'Content-Type: application/json' -d "$4" "http://localhost:$PORT$3")
+  else
+    code=$(curl -s -o /dev/null -w '%{http_code}' -X "$2" "http://localhost:$PORT$3")
+  fi
+  if [[ "$code" == "$1" ]]; then echo "ok   $2 $3 -> $code"; else echo "FAIL $2 $3 -> $code (expected $1)"; fail=1; fi
+}
+
+expect 200 GET  /health
+expect 200 GET  /actuator/health
+expect 401 POST /api/auth/login '{"email":"smoke@vetsecure.invalid","password":"nope"}'
+
+rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+echo "$MODE: first request after ${ready_ms} ms, RSS $(( rss_kb / 1024 )) MB"
+exit $fail
@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Time-to-first-request: launch the backend, poll GET /health until it answers 200, print the
+# elapsed wall time, stop it. Repeats RUNS times and prints min/median/max.
+#
+#   scripts/startup-bench.sh jar     # target/backend-*.jar as packaged
+#   scripts/startup-bench.sh cds     # target/app from scripts/cds-train.sh
+#   scripts/startup-bench.sh aot     # target/app from scripts/cds-train.sh --aot (CDS + AOT)
+#
+# Needs the database from docker-compose (the app pings it on startup). Env: RUNS (default 5),
+# PORT (default 8082), SPRING_PROFILES_ACTIVE (default prod,google), JAVA_OPTS.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+MODE="${1:-jar}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-8082}"
+PROFILES="${SPRING_PROFILES_ACTIVE:-prod,google}"
+
+case "$MODE" in
+  jar) CMD=(java ${JAVA_OPTS:-} -jar "$(ls target/backend-*.jar | grep -v original | head -1)") ;;
+  cds) CMD=(java ${JAVA_OPTS:-} -XX:SharedArchiveFile=target/app/application.jsa -jar target/app/backend.jar) ;;
+  aot) CMD=(java ${JAVA_OPTS:-} -XX:SharedArchiveFile=target/app/application.jsa -Dspring.aot.enabled=true -jar target/app/backend.jar) ;;
+  *) echo "usage: $0 jar|cds|aot" >&2; exit 2 ;;
+esac
+
+results=()
+for i in $(seq 1 "$RUNS"); do
+  start=$(date +%s%N)
+  "${CMD[@]}" --server.port="$PORT" --spring.profiles.active="$PROFILES" > "target/startup-bench-$i.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$PORT/health"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "run $i: backend exited, see target/startup-bench-$i.log" >&2; exit 1
+    fi
+    sleep 0.05
+  done
+  ms=$(( ($(date +%s%N) - start) / 1000000 ))
+  results+=("$ms")
+  echo "run $i: first request after ${ms} ms"
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+echo "$MODE: min ${sorted[0]} ms, median ${sorted[$(( ${#sorted[@]} / 2 ))]} ms, max ${sorted[-1]} ms"
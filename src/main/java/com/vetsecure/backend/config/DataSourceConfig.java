@@ -0,0 +1,79 @@
+package com.vetsecure.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Two Hikari pools behind one routing DataSource.
+ *
+ * Transactions marked {@code @Transactional(readOnly = true)} borrow from the replica pool, everything
+ * else (writes, and repository calls made outside a transaction) from the primary. Both pools are tuned
+ * under spring.datasource.hikari / app.datasource.replica.hikari and report hikaricp_* metrics
+ * tagged pool=vetsecure-primary / vetsecure-replica. In dev the replica points at the same MySQL.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    enum Route { PRIMARY, REPLICA }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(@Qualifier("primaryDataSourceProperties") DataSourceProperties props) {
+        return props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaPool(@Qualifier("replicaDataSourceProperties") DataSourceProperties props) {
+        HikariDataSource pool = props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    /**
+     * The lazy proxy matters: JpaTransactionManager asks for a connection when the transaction begins,
+     * before the read-only flag is visible to the router. The proxy defers the real checkout to the
+     * first statement, by which point the routing key is settled.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryPool") HikariDataSource primary,
+                                 @Qualifier("replicaPool") HikariDataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    static class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+        }
+    }
+}
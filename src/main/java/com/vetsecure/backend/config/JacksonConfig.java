@@ -0,0 +1,41 @@
+package com.vetsecure.backend.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Extra module for the one ObjectMapper Boot builds and shares between MVC and actuator.
+ * Blackbird replaces reflective getter/setter/field access with generated lambdas, which is
+ * what the big appointment/clinic lists spend most of their serialization time on.
+ * Feature flags live under spring.jackson.* in application.properties.
+ *
+ * Binary formats: clients sending Accept: application/cbor or application/x-jackson-smile get the same
+ * documents in CBOR / Smile. The converters are built from Boot's builder so they share modules and
+ * spring.jackson.* settings; they replace Spring's defaults in place, after JSON, so Accept: *&#47;* still
+ * gets JSON.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
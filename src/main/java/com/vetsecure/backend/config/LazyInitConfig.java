@@ -0,0 +1,79 @@
+package com.vetsecure.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Selective lazy initialization for third-party beans we can't annotate with @Lazy.
+ *
+ * Every bean whose class (or declaring @Configuration class) lives under one of
+ * app.lazy-init.packages is created on first use instead of at startup. Springdoc is the main
+ * customer: its controllers are registered by bean name, so nothing touches them until the first
+ * /v3/api-docs or /swagger-ui request. Global spring.main.lazy-initialization stays off so
+ * misconfiguration in the core beans still fails the boot.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor selectiveLazyInit() {
+        return new SelectiveLazyInit();
+    }
+
+    static class SelectiveLazyInit implements BeanFactoryPostProcessor, EnvironmentAware {
+
+        private static final Logger log = LoggerFactory.getLogger(SelectiveLazyInit.class);
+
+        private List<String> packages = List.of();
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            packages = Binder.get(environment)
+                    .bind("app.lazy-init.packages", String[].class)
+                    .map(List::of)
+                    .orElse(List.of());
+        }
+
+        @Override
+        public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+            if (packages.isEmpty()) return;
+            int marked = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition bd = beanFactory.getBeanDefinition(name);
+                if (bd.isLazyInit() || bd.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) continue;
+                if (matches(origin(bd))) {
+                    bd.setLazyInit(true);
+                    marked++;
+                }
+            }
+            log.debug("Marked {} bean definitions lazy under {}", marked, packages);
+        }
+
+        /** Class name for component beans, declaring class for @Bean factory methods */
+        private static String origin(BeanDefinition bd) {
+            if (bd instanceof AnnotatedBeanDefinition abd && abd.getFactoryMethodMetadata() != null) {
+                return abd.getFactoryMethodMetadata().getDeclaringClassName();
+            }
+            return bd.getBeanClassName();
+        }
+
+        private boolean matches(String className) {
+            if (className == null) return false;
+            for (String p : packages) {
+                if (className.startsWith(p + ".")) return true;
+            }
+            return false;
+        }
+    }
+}
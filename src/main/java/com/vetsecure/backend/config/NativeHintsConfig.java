@@ -0,0 +1,136 @@
+package com.vetsecure.backend.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection, proxy and resource hints for the native-image build (mvn -Pnative native:compile).
+ * Only consulted during AOT processing; on the JVM this class does nothing.
+ *
+ * Spring's own AOT covers beans, @ConfigurationProperties and controller signatures. What it can't see:
+ * entities and enums Hibernate builds reflectively, the DTOs and UserContext created through JPQL
+ * "select new", request/response records hidden behind ResponseEntity<?>, jjwt's implementation classes
+ * (loaded by name from jjwt-api), Hibernate's session listener, and CountingDataSource's JDK proxies.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        private static final MemberCategory[] ALL = {
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS
+        };
+
+        /** Everything in these packages (entities, nested enums, DTOs) */
+        private static final List<String> WHOLE_PACKAGES = List.of(
+                "com.vetsecure.backend.model",
+                "com.vetsecure.backend.dto",
+                "com.vetsecure.backend.web.dto"
+        );
+
+        /** Only the records in these packages (request/response bodies) */
+        private static final List<String> RECORD_PACKAGES = List.of(
+                "com.vetsecure.backend.controller",
+                "com.vetsecure.backend.security",
+                "com.vetsecure.backend.scheduling"
+        );
+
+        private static final List<String> JJWT = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        );
+
+        private static final List<String> TOTP_AND_QR = List.of(
+                "dev.samstevens.totp.code.DefaultCodeGenerator",
+                "dev.samstevens.totp.code.DefaultCodeVerifier",
+                "dev.samstevens.totp.qr.ZxingPngQrGenerator",
+                "dev.samstevens.totp.secret.DefaultSecretGenerator",
+                "com.google.zxing.qrcode.QRCodeWriter",
+                "com.google.zxing.client.j2se.MatrixToImageWriter"
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String pkg : WHOLE_PACKAGES) {
+                for (String type : typesIn(pkg, classLoader, false)) {
+                    hints.reflection().registerType(TypeReference.of(type), ALL);
+                }
+            }
+            for (String pkg : RECORD_PACKAGES) {
+                for (String type : typesIn(pkg, classLoader, true)) {
+                    hints.reflection().registerType(TypeReference.of(type), ALL);
+                }
+            }
+
+            for (String type : JJWT) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            for (String type : TOTP_AND_QR) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+
+            hints.reflection().registerType(
+                    TypeReference.of("com.vetsecure.backend.observability.FlushTimingListener"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            for (Class<?> jdbc : List.of(Connection.class, Statement.class, PreparedStatement.class,
+                    CallableStatement.class, ResultSet.class)) {
+                hints.proxies().registerJdkProxy(jdbc);
+                hints.reflection().registerType(jdbc, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            hints.resources().registerPattern("db/migration/*.sql");
+        }
+
+        private static List<String> typesIn(String pkg, ClassLoader classLoader, boolean recordsOnly) {
+            var resolver = new PathMatchingResourcePatternResolver(classLoader);
+            var readers = new CachingMetadataReaderFactory(resolver);
+            String pattern = "classpath*:" + ClassUtils.convertClassNameToResourcePath(pkg) + "/**/*.class";
+            try {
+                var types = new ArrayList<String>();
+                for (Resource r : resolver.getResources(pattern)) {
+                    MetadataReader reader = readers.getMetadataReader(r);
+                    var meta = reader.getClassMetadata();
+                    if (recordsOnly && !"java.lang.Record".equals(meta.getSuperClassName())) continue;
+                    types.add(meta.getClassName());
+                }
+                return types;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not scan " + pkg + " for native hints", e);
+            }
+        }
+    }
+}
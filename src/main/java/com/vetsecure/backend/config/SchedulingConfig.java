@@ -0,0 +1,27 @@
+package com.vetsecure.backend.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * The one scheduler for in-process background work: hold sweeps, waitlist reloads and matching, vet
+ * assignment passes, the outbox relay, SSE heartbeats and the lockout / revocation flushes.
+ *
+ * Components schedule on it from their ApplicationReadyEvent listener and cancel their own futures on
+ * shutdown. A periodic task never overlaps itself; different tasks share spring.task.scheduling.pool.size
+ * threads (named spring.task.scheduling.thread-name-prefix). Named taskScheduler so @Scheduled would
+ * use it too.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        ThreadPoolTaskScheduler scheduler = builder.build();
+        scheduler.setDaemon(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
@@ -1,30 +1,41 @@
 package com.vetsecure.backend.controller;
 
 import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.dto.AppointmentColumnsDto;
 import com.vetsecure.backend.dto.AppointmentDto;
-import com.vetsecure.backend.dto.PetDto;
-import com.vetsecure.backend.dto.OwnerDto;
 import com.vetsecure.backend.service.AppointmentService;
+import com.vetsecure.backend.events.AppointmentEvents;
 import com.vetsecure.backend.model.Pet;
 import com.vetsecure.backend.model.ClinicSchedule;
 import com.vetsecure.backend.repository.AppointmentRepository;
 import com.vetsecure.backend.repository.PetRepository;
 import com.vetsecure.backend.repository.VetRepository;
-import com.vetsecure.backend.repository.UserRepository;
 import com.vetsecure.backend.repository.ClinicScheduleRepository;
-
+import com.vetsecure.backend.observability.DomainMetrics;
+import com.vetsecure.backend.scheduling.BookedInterval;
+import com.vetsecure.backend.scheduling.VetAssigner;
+import com.vetsecure.backend.scheduling.VetAssignmentRunner;
+import com.vetsecure.backend.scheduling.SlotHolds;
+import com.vetsecure.backend.scheduling.VetDayBookings;
+import com.vetsecure.backend.scheduling.Weekdays;
+import com.vetsecure.backend.security.UserContextService;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import jakarta.validation.Valid;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/appointments")
@@ -34,39 +45,66 @@ public class AppointmentController {
     // repositories used throughout the controller
     private final AppointmentRepository appointmentRepository;
     private final PetRepository petRepository;
-    private final UserRepository userRepository;
     private final VetRepository vetRepository;
     private final ClinicScheduleRepository clinicScheduleRepository;
+    private final UserContextService userContexts;
+    private final DomainMetrics metrics;
+    private final AppointmentEvents events;
+    private final VetDayBookings dayBookings;
+    private final VetAssigner assigner;
+    private final VetAssignmentRunner assignmentRunner;
+    private final boolean assignOnBooking;
+    private final SlotHolds slotHolds;
 
     public AppointmentController(
             AppointmentService appointmentService,
             AppointmentRepository appointmentRepository,
             PetRepository petRepository,
-            UserRepository userRepository,
             VetRepository vetRepository,
-            ClinicScheduleRepository clinicScheduleRepository
+            ClinicScheduleRepository clinicScheduleRepository,
+            UserContextService userContexts,
+            DomainMetrics metrics,
+            AppointmentEvents events,
+            VetDayBookings dayBookings,
+            VetAssigner assigner,
+            VetAssignmentRunner assignmentRunner,
+            SlotHolds slotHolds,
+            @Value("${app.assignment.on-booking:true}") boolean assignOnBooking
     ) {
         this.appointmentService = appointmentService;
         this.appointmentRepository = appointmentRepository;
         this.petRepository = petRepository;
-        this.userRepository = userRepository;
         this.vetRepository = vetRepository;
         this.clinicScheduleRepository = clinicScheduleRepository;
+        this.userContexts = userContexts;
+        this.metrics = metrics;
+        this.events = events;
+        this.dayBookings = dayBookings;
+        this.assigner = assigner;
+        this.assignmentRunner = assignmentRunner;
+        this.assignOnBooking = assignOnBooking;
+        this.slotHolds = slotHolds;
     }
 
-    // Create appointment (Pet owner only). Payload: { petId, clinicId, vetId?, date: "yyyy-MM-dd", time: "HH:mm", reason }
+    // Create appointment (Pet owner only). Payload: { petId, clinicId, vetId?, date: "yyyy-MM-dd", time: "HH:mm", reason, serviceType?, holdToken? }
     @PostMapping
+    @Transactional
     @org.springframework.security.access.prepost.PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> createAppointment(@RequestBody Map<String, Object> payload, Authentication auth) {
         if (auth == null || !auth.isAuthenticated()) {
             return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
         }
+        metrics.bookingAttempt(DomainMetrics.SOURCE_CONTROLLER);
+        var sample = metrics.start();
         try {
             Long petId = payload.get("petId") instanceof Number ? ((Number) payload.get("petId")).longValue() : Long.valueOf(payload.get("petId").toString());
             Long clinicId = payload.get("clinicId") == null ? null : (payload.get("clinicId") instanceof Number ? ((Number) payload.get("clinicId")).longValue() : Long.valueOf(payload.get("clinicId").toString()));
             LocalDate date = LocalDate.parse(payload.get("date").toString());
             LocalTime time = LocalTime.parse(payload.get("time").toString());
             String reason = payload.get("reason") == null ? null : payload.get("reason").toString();
+            Appointment.ServiceType serviceType = payload.get("serviceType") == null
+                    ? Appointment.ServiceType.CONSULTATION
+                    : Appointment.ServiceType.valueOf(payload.get("serviceType").toString());
 
             // accept vetId or vet_id (optional)
             Object vetObj = payload.get("vetId");
@@ -77,34 +115,37 @@ public class AppointmentController {
             }
 
             // verify pet belongs to authenticated user
-            String userEmail = auth.getName();
-            var userOpt = userRepository.findByEmail(userEmail);
-            if (userOpt.isEmpty()) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+            var ctx = userContexts.forAuthentication(auth).orElse(null);
+            if (ctx == null) return reject(sample, "unknown_user", ResponseEntity.status(401).body(Map.of("error", "User not found")));
 
             Optional<Pet> petOpt = petRepository.findById(petId);
-            if (petOpt.isEmpty()) return ResponseEntity.badRequest().body(Map.of("error", "Pet not found"));
+            if (petOpt.isEmpty()) return reject(sample, "pet_not_found", ResponseEntity.badRequest().body(Map.of("error", "Pet not found")));
             Pet pet = petOpt.get();
-            if (pet.getOwner() == null || !pet.getOwner().getId().equals(userOpt.get().getId())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Pet does not belong to current user"));
+            if (pet.getOwner() == null || !pet.getOwner().getId().equals(ctx.ownerId())) {
+                return reject(sample, "not_owner", ResponseEntity.status(403).body(Map.of("error", "Pet does not belong to current user")));
             }
 
             // If clinicId provided, validate against clinic schedules
             if (clinicId != null) {
                 List<ClinicSchedule> scheds = clinicScheduleRepository.findByClinicId(clinicId);
                 if (scheds == null || scheds.isEmpty()) {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Clinic has no schedules"));
+                    return reject(sample, "no_schedule", ResponseEntity.badRequest().body(Map.of("error", "Clinic has no schedules")));
                 }
-                int weekday = date.getDayOfWeek().getValue(); // 1 = Monday
-                boolean ok = scheds.stream().anyMatch(s -> {
+                int weekday = Weekdays.of(date.getDayOfWeek());
+                // the whole visit has to fit, as in VetAssigner / AvailabilitySearch; past midnight never does
+                LocalDateTime endsAt = date.atTime(time).plusMinutes(serviceType.minutes());
+                LocalTime end = endsAt.toLocalTime();
+                boolean sameDay = endsAt.toLocalDate().equals(date);
+                boolean ok = sameDay && scheds.stream().anyMatch(s -> {
                     Integer w = s.getWeekday() == null ? null : Byte.toUnsignedInt(s.getWeekday());
                     if (w == null) return false;
                     if (w != weekday) return false;
                     LocalTime open = s.getOpenTime();
                     LocalTime close = s.getCloseTime();
-                    return open != null && close != null && !time.isBefore(open) && !time.isAfter(close);
+                    return open != null && close != null && !time.isBefore(open) && !end.isAfter(close);
                 });
                 if (!ok) {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Chosen time is outside clinic working hours"));
+                    return reject(sample, "outside_hours", ResponseEntity.badRequest().body(Map.of("error", "Chosen time is outside clinic working hours")));
                 }
             }
 
@@ -113,121 +154,78 @@ public class AppointmentController {
             if (vetId != null) {
                 var vetOpt = vetRepository.findById(vetId);
                 if (vetOpt.isEmpty()) {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Vet not found"));
+                    return reject(sample, "vet_not_found", ResponseEntity.badRequest().body(Map.of("error", "Vet not found")));
+                }
+                var vet = vetOpt.get();
+                if (clinicId != null && vet.getClinic() != null && !clinicId.equals(vet.getClinic().getId())) {
+                    return reject(sample, "vet_clinic_mismatch", ResponseEntity.badRequest().body(Map.of("error", "Vet does not work at this clinic")));
                 }
-                apt.setVet(vetOpt.get());
+                apt.setVet(vet); // also sets clinicId from the vet
             } else {
                 apt.setVet(null);
+                apt.setClinicId(clinicId);
             }
             apt.setPet(pet);
             apt.setDate(date);
             apt.setTime(time);
+            apt.setServiceType(serviceType);
             apt.setReason(reason);
             apt.setDiagnosis(null);
             apt.setPrescription(null);
             apt.setStatus(Appointment.AppointmentStatus.PENDING);
 
+            if (vetId != null) {
+                // locks the vet, checks bookings and other owners' holds, and consumes our hold if we have one
+                String holdToken = payload.get("holdToken") == null ? null : payload.get("holdToken").toString();
+                var conflict = slotHolds.claimForBooking(vetId, apt.getStartsAt(), apt.getEndsAt(), holdToken, ctx.userId(), null);
+                if (conflict.isPresent()) {
+                    return reject(sample, "conflict", ResponseEntity.badRequest().body(Map.of("error", conflict.get())));
+                }
+            }
+            if (vetId == null && clinicId != null && assignOnBooking) {
+                assigner.assign(apt); // may leave it unassigned; the background pass retries
+            }
+
             Appointment saved = appointmentRepository.save(apt);
-            return ResponseEntity.ok(saved);
+            metrics.bookingSucceeded(sample, DomainMetrics.SOURCE_CONTROLLER);
+            events.created(saved.getId());
+            return dto(saved.getId());
         } catch (Exception e) {
-            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+            return reject(sample, "invalid_request", ResponseEntity.status(400).body(Map.of("error", e.getMessage())));
         }
     }
 
-    /**
-     * Get appointment by ID (safe: return minimal fields to avoid lazy-loading / serialization issues)
-     */
-    @GetMapping("/{id}")
-    @org.springframework.security.access.prepost.PreAuthorize("@authz.canAccessAppointment(authentication, #id)")
-    public ResponseEntity<?> getAppointmentById(@PathVariable Long id) {
-        try {
-            Optional<Appointment> opt = appointmentRepository.findById(id);
-            if (opt.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-            Appointment a = opt.get();
-
-            // Build a minimal safe response map (avoid deep object graph)
-            var pet = a.getPet();
-            java.util.Map<String, Object> petMap = null;
-            if (pet != null) {
-                petMap = new java.util.LinkedHashMap<>();
-                petMap.put("id", safeGet(() -> pet.getId()));
-                petMap.put("name", safeGet(() -> pet.getName()));
-                petMap.put("species", safeGet(() -> pet.getSpecies()));
-                petMap.put("breed", safeGet(() -> pet.getBreed()));
-                // prefer dateOfBirth, fallback to born (frontend checks both)
-                Object dob = safeGet(() -> pet.getDateOfBirth());
-                if (dob == null) {
-                    // try alternate getter names via reflection (avoids compile-time dependency on method names)
-                    dob = reflectiveGet(pet, "getBorn", "getBirthDate", "getDob", "getDateOfBirth");
-                }
-                petMap.put("dateOfBirth", dob);
-
-                // owner details (nested)
-                java.util.Map<String, Object> ownerMap = null;
-                if (safeGet(() -> pet.getOwner()) != null) {
-                    var owner = safeGet(() -> pet.getOwner());
-                    ownerMap = new java.util.LinkedHashMap<>();
-                    ownerMap.put("id", safeGet(() -> owner.getId()));
-                    ownerMap.put("firstName", safeGet(() -> owner.getFirstName()));
-                    ownerMap.put("lastName", safeGet(() -> owner.getLastName()));
-                    ownerMap.put("phone", safeGet(() -> owner.getPhone()));
-                    // use reflection to fetch email-like getter to avoid compile error if getEmail() is absent
-                    ownerMap.put("email", reflectiveGet(owner, "getEmail", "getEmailAddress", "getContactEmail", "getEmailContact"));
-                }
-                petMap.put("owner", ownerMap);
-            }
-
-            var resp = new java.util.LinkedHashMap<String, Object>();
-            resp.put("id", safeGet(() -> a.getId()));
-            resp.put("date", safeGet(() -> a.getDate()));
-            resp.put("time", safeGet(() -> a.getTime()));
-            resp.put("status", a.getStatus() != null ? a.getStatus().name() : null);
-            resp.put("reason", safeGet(() -> a.getReason()));
-            resp.put("diagnosis", safeGet(() -> a.getDiagnosis()));
-            resp.put("prescription", safeGet(() -> a.getPrescription()));
-            resp.put("pet", petMap);
-
-            return ResponseEntity.ok(resp);
-        } catch (Exception ex) {
-            // ensure full stacktrace is logged for debugging
-            ex.printStackTrace();
-            return ResponseEntity.status(500).body(Map.of("error", ex.getClass().getSimpleName(), "message", ex.getMessage()));
-        }
+    /** Writes answer with the same projection the reads use, never the entity graph (the query flushes first) */
+    private ResponseEntity<?> dto(Long id) {
+        return appointmentRepository.findDtoById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    // small helper to safely call getters without throwing (keeps compilation compatible)
-    private static <T> T safeGet(SupplierWithException<T> s) {
-        try {
-            return s.get();
-        } catch (Throwable t) {
-            return null;
-        }
+    /** Error response from a @Transactional handler that already touched a managed entity: don't flush it */
+    private static ResponseEntity<?> discard(ResponseEntity<?> response) {
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        return response;
     }
 
-    @FunctionalInterface
-    private interface SupplierWithException<T> {
-        T get() throws Exception;
+    /**
+     * Rejected booking: nothing of it may commit, and marking the transaction ourselves also covers the
+     * catch-all path, where a proxied call has already marked it rollback-only
+     */
+    private ResponseEntity<?> reject(Timer.Sample sample, String reason, ResponseEntity<?> response) {
+        metrics.bookingRejected(sample, DomainMetrics.SOURCE_CONTROLLER, reason);
+        return discard(response);
     }
 
     /**
-     * Reflectively try a list of zero-arg getter names on target and return the first successful result.
-     * Returns null if target is null or none of the methods exist / succeed.
+     * Get appointment by ID (projection: pet + owner + vet columns only, no entity graph)
      */
-    private static Object reflectiveGet(Object target, String... candidateNames) {
-        if (target == null || candidateNames == null) return null;
-        for (String name : candidateNames) {
-            try {
-                var m = target.getClass().getMethod(name);
-                if (m != null) {
-                    return m.invoke(target);
-                }
-            } catch (Throwable ignored) {
-                // try next candidate
-            }
-        }
-        return null;
+    @GetMapping("/{id}")
+    @org.springframework.security.access.prepost.PreAuthorize("@authz.canAccessAppointment(authentication, #id)")
+    public ResponseEntity<AppointmentDto> getAppointmentById(@PathVariable Long id) {
+        return appointmentRepository.findDtoById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -236,39 +234,14 @@ public class AppointmentController {
     @GetMapping("/vet/{vetId}")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
     public List<AppointmentDto> getAppointmentsForVet(@PathVariable Long vetId) {
-        // use repository method (defined with fetch-joins) to avoid lazy-init / serialization issues
-        List<Appointment> list = appointmentRepository.findByVetId(vetId);
-        return list.stream().map(this::toDto).collect(Collectors.toList());
+        return appointmentRepository.findDtosByVetId(vetId);
     }
 
-    private AppointmentDto toDto(Appointment a) {
-        AppointmentDto dto = new AppointmentDto();
-        dto.id = a.getId();
-        dto.date = a.getDate();
-        dto.time = a.getTime();
-        // avoid calling getStartsAt() if model doesn't expose it
-        dto.startsAt = null;
-        dto.status = a.getStatus() != null ? a.getStatus().name() : null;
-        dto.reason = a.getReason();
-        dto.diagnosis = a.getDiagnosis();
-        dto.prescription = a.getPrescription();
-
-        if (a.getPet() != null) {
-            PetDto pd = new PetDto();
-            pd.id = a.getPet().getId();
-            // map only commonly-present pet fields to avoid compile errors if some getters differ
-            try { pd.name = a.getPet().getName(); } catch (Throwable t) { pd.name = null; }
-            try { pd.species = a.getPet().getSpecies(); } catch (Throwable t) { pd.species = null; }
-            try { pd.breed = a.getPet().getBreed(); } catch (Throwable t) { pd.breed = null; }
-            // Owner: include id only to avoid depending on owner getter names
-            if (a.getPet().getOwner() != null) {
-                OwnerDto od = new OwnerDto();
-                try { od.id = a.getPet().getOwner().getId(); } catch (Throwable t) { od.id = null; }
-                pd.owner = od;
-            }
-            dto.pet = pd;
-        }
-        return dto;
+    /** Same list in columnar form for dashboards that ask for it via Accept */
+    @GetMapping(value = "/vet/{vetId}", produces = AppointmentColumnsDto.MEDIA_TYPE)
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
+    public AppointmentColumnsDto getAppointmentsForVetColumnar(@PathVariable Long vetId) {
+        return AppointmentColumnsDto.of(appointmentRepository.findDtosByVetId(vetId));
     }
 
     /**
@@ -276,12 +249,8 @@ public class AppointmentController {
      */
     @GetMapping("/pet/{petId}")
     @org.springframework.security.access.prepost.PreAuthorize("@authz.canAccessPet(authentication, #petId)")
-    public ResponseEntity<List<Appointment>> getAppointmentsByPetId(@PathVariable Long petId) {
-        List<Appointment> appointments = appointmentRepository.findAll()
-                .stream()
-                .filter(a -> a.getPet() != null && a.getPet().getId() != null && a.getPet().getId().equals(petId))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(appointments);
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByPetId(@PathVariable Long petId) {
+        return ResponseEntity.ok(appointmentRepository.findDtosByPetId(petId));
     }
 
     /**
@@ -289,9 +258,8 @@ public class AppointmentController {
      */
     @GetMapping("/owner/{ownerId}")
     @org.springframework.security.access.prepost.PreAuthorize("@authz.isSelfOwner(authentication, #ownerId) or hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
-    public ResponseEntity<List<Appointment>> getAppointmentsByOwnerId(@PathVariable Long ownerId) {
-        List<Appointment> appointments = appointmentRepository.findByPetOwnerId(ownerId);
-        return ResponseEntity.ok(appointments);
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByOwnerId(@PathVariable Long ownerId) {
+        return ResponseEntity.ok(appointmentRepository.findDtosByPetOwnerId(ownerId));
     }
 
     /**
@@ -299,23 +267,15 @@ public class AppointmentController {
      */
     @GetMapping("/clinic/{clinicId}")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
-    public ResponseEntity<List<Appointment>> getAppointmentsByClinicId(@PathVariable Long clinicId) {
-        List<Appointment> appointments = appointmentRepository.findAll()
-                .stream()
-                .filter(a -> {
-                    try {
-                        // Prefer clinic association via the assigned vet (most common).
-                        if (a.getVet() != null && a.getVet().getClinic() != null && a.getVet().getClinic().getId() != null) {
-                            return a.getVet().getClinic().getId().equals(clinicId);
-                        }
-                        // Fallback: if Pet model ever stores clinic info in future, handle here safely.
-                        return false;
-                    } catch (Exception ex) {
-                        return false;
-                    }
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(appointments);
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByClinicId(@PathVariable Long clinicId) {
+        // filters on appointments.clinic_id, so requests without a vet yet are included
+        return ResponseEntity.ok(appointmentRepository.findDtosByClinicId(clinicId));
+    }
+
+    @GetMapping(value = "/clinic/{clinicId}", produces = AppointmentColumnsDto.MEDIA_TYPE)
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
+    public AppointmentColumnsDto getAppointmentsByClinicIdColumnar(@PathVariable Long clinicId) {
+        return AppointmentColumnsDto.of(appointmentRepository.findDtosByClinicId(clinicId));
     }
 
     /**
@@ -323,23 +283,62 @@ public class AppointmentController {
      */
     @GetMapping("/vet/{vetId}/date/{date}")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
-    public ResponseEntity<List<Appointment>> getAppointmentsByVetIdAndDate(
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByVetIdAndDate(
             @PathVariable Long vetId,
             @PathVariable String date
     ) {
         LocalDate localDate = LocalDate.parse(date);
-        List<Appointment> appointments = appointmentRepository.findAll()
-                .stream()
-                .filter(a -> a.getVet() != null && a.getVet().getId() != null && a.getVet().getId().equals(vetId)
-                        && a.getDate() != null && a.getDate().equals(localDate))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(appointments);
+        return ResponseEntity.ok(appointmentRepository.findDtosByVetIdAndDate(vetId, localDate));
+    }
+
+    /**
+     * Would [date time, + duration of serviceType) be free for this vet? Answered from the cached
+     * day index, so it can lag writes on other instances by a few seconds; booking re-checks.
+     */
+    @GetMapping("/vet/{vetId}/availability")
+    @org.springframework.security.access.prepost.PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> checkVetAvailability(
+            @PathVariable Long vetId,
+            @RequestParam String date,
+            @RequestParam String time,
+            @RequestParam(defaultValue = "CONSULTATION") String serviceType
+    ) {
+        try {
+            Appointment.ServiceType type = Appointment.ServiceType.valueOf(serviceType);
+            var start = LocalDate.parse(date).atTime(LocalTime.parse(time));
+            var end = start.plusMinutes(type.minutes());
+            List<BookedInterval> conflicts = dayBookings.day(vetId, start.toLocalDate()).conflicts(start, end);
+            return ResponseEntity.ok(Map.of(
+                    "available", conflicts.isEmpty(),
+                    "startsAt", start,
+                    "endsAt", end,
+                    // times only: the caller may not be allowed to see whose appointments these are
+                    "busy", conflicts.stream().map(b -> Map.of("startsAt", b.startsAt(), "endsAt", b.endsAt())).toList()));
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid availability query", "message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Run the vet assignment pass now for one clinic (or all, for SUPER_ADMIN without clinicId)
+     */
+    @PostMapping("/assign-pending")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('SUPER_ADMIN') or (#clinicId != null and hasRole('CLINIC_ADMIN'))")
+    public ResponseEntity<?> assignPending(@RequestParam(required = false) Long clinicId, Authentication auth) {
+        var ctx = userContexts.forAuthentication(auth).orElse(null);
+        if (ctx == null) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+        if (!ctx.isSuperAdmin() && !ctx.administers(clinicId)) {
+            return ResponseEntity.status(403).body(Map.of("error", "You do not administer this clinic"));
+        }
+        int assigned = assignmentRunner.runPass(clinicId);
+        return ResponseEntity.ok(Map.of("assigned", assigned, "policy", assigner.policy().name()));
     }
 
     /**
      * Update appointment status
      */
     @PatchMapping("/{id}/status")
+    @Transactional
     @org.springframework.security.access.prepost.PreAuthorize("@authz.canAccessAppointment(authentication, #id)")
     public ResponseEntity<?> updateAppointmentStatus(
             @PathVariable Long id,
@@ -352,7 +351,8 @@ public class AppointmentController {
             Appointment appointment = opt.get();
             appointment.setStatus(status);
             appointmentRepository.save(appointment);
-            return ResponseEntity.ok(appointment);
+            events.statusChanged(id, status);
+            return dto(id);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "Failed to update status", "message", e.getMessage()));
@@ -363,6 +363,7 @@ public class AppointmentController {
      * Complete appointment with diagnosis and prescription
      */
     @PatchMapping("/{id}/complete")
+    @Transactional
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN')")
     public ResponseEntity<?> completeAppointment(
             @PathVariable Long id,
@@ -375,13 +376,15 @@ public class AppointmentController {
         appointment.setPrescription(request.prescription());
         appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
         appointmentRepository.save(appointment);
-        return ResponseEntity.ok(appointment);
+        events.statusChanged(id, Appointment.AppointmentStatus.COMPLETED);
+        return dto(id);
     }
 
     /**
      * Cancel an appointment
      */
     @PatchMapping("/{id}/cancel")
+    @Transactional
     @org.springframework.security.access.prepost.PreAuthorize("@authz.canAccessAppointment(authentication, #id)")
     public ResponseEntity<?> cancelAppointment(@PathVariable Long id) {
         Optional<Appointment> opt = appointmentRepository.findById(id);
@@ -389,13 +392,15 @@ public class AppointmentController {
         Appointment appointment = opt.get();
         appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
         appointmentRepository.save(appointment);
-        return ResponseEntity.ok(appointment);
+        events.statusChanged(id, Appointment.AppointmentStatus.CANCELLED);
+        return dto(id);
     }
 
     /**
      * Update appointment
      */
     @PutMapping("/{id}")
+    @Transactional
     @org.springframework.security.access.prepost.PreAuthorize("@authz.canAccessAppointment(authentication, #id)")
     public ResponseEntity<?> updateAppointment(
             @PathVariable Long id,
@@ -412,7 +417,7 @@ public class AppointmentController {
                 try {
                     appointment.setDate(LocalDate.parse(dateStr));
                 } catch (java.time.format.DateTimeParseException ex) {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid date", "message", dateStr));
+                    return discard(ResponseEntity.badRequest().body(Map.of("error", "Invalid date", "message", dateStr)));
                 }
             }
 
@@ -422,7 +427,7 @@ public class AppointmentController {
                 try {
                     appointment.setTime(LocalTime.parse(timeStr));
                 } catch (java.time.format.DateTimeParseException ex) {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid time", "message", timeStr));
+                    return discard(ResponseEntity.badRequest().body(Map.of("error", "Invalid time", "message", timeStr)));
                 }
             }
 
@@ -439,22 +444,40 @@ public class AppointmentController {
                 appointment.setPrescription(request.get("prescription") == null ? null : request.get("prescription").toString());
             }
 
+            if (request.containsKey("serviceType") && request.get("serviceType") != null) {
+                String typeStr = request.get("serviceType").toString();
+                try {
+                    appointment.setServiceType(Appointment.ServiceType.valueOf(typeStr));
+                } catch (IllegalArgumentException ex) {
+                    return discard(ResponseEntity.badRequest().body(Map.of("error", "Invalid serviceType", "message", typeStr)));
+                }
+            }
+
             // status - validate enum explicitly
             if (request.containsKey("status") && request.get("status") != null) {
                 String statusStr = request.get("status").toString();
                 try {
                     appointment.setStatus(Appointment.AppointmentStatus.valueOf(statusStr));
                 } catch (IllegalArgumentException ex) {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid status", "message", statusStr));
+                    return discard(ResponseEntity.badRequest().body(Map.of("error", "Invalid status", "message", statusStr)));
+                }
+            }
+
+            if (appointment.getVet() != null && appointment.getStatus() != Appointment.AppointmentStatus.CANCELLED) {
+                var conflict = slotHolds.claimForBooking(appointment.getVet().getId(),
+                        appointment.getStartsAt(), appointment.getEndsAt(), null, null, id);
+                if (conflict.isPresent()) {
+                    return discard(ResponseEntity.badRequest().body(Map.of("error", conflict.get())));
                 }
             }
 
             appointmentRepository.save(appointment);
-            return ResponseEntity.ok(appointment);
+            events.updated(id);
+            return dto(id);
         } catch (Exception e) {
             // log full stack trace so you can inspect server logs
             e.printStackTrace();
-            return ResponseEntity.status(500).body(Map.of("error", "Failed to update appointment", "message", e.getClass().getSimpleName() + ": " + e.getMessage()));
+            return discard(ResponseEntity.status(500).body(Map.of("error", "Failed to update appointment", "message", e.getClass().getSimpleName() + ": " + e.getMessage())));
         }
     }
 
@@ -462,12 +485,14 @@ public class AppointmentController {
      * Delete an appointment (admin only)
      */
     @DeleteMapping("/{id}")
+    @Transactional
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('SUPER_ADMIN', 'CLINIC_ADMIN')")
     public ResponseEntity<?> deleteAppointment(@PathVariable Long id) {
         try {
             if (!appointmentRepository.existsById(id)) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Appointment not found"));
             }
+            events.deleting(id);
             appointmentRepository.deleteById(id);
             return ResponseEntity.ok(Map.of("message", "Appointment deleted successfully"));
         } catch (IllegalArgumentException e) {
@@ -481,9 +506,8 @@ public class AppointmentController {
      */
     @GetMapping
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
-    public ResponseEntity<List<Appointment>> getAllAppointments() {
-        List<Appointment> all = appointmentRepository.findAllWithFetch();
-        return ResponseEntity.ok(all);
+    public ResponseEntity<List<AppointmentDto>> getAllAppointments() {
+        return ResponseEntity.ok(appointmentRepository.findAllDtos());
     }
 
     // Request DTOs
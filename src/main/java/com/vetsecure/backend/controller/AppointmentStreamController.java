@@ -0,0 +1,38 @@
+package com.vetsecure.backend.controller;
+
+import com.vetsecure.backend.events.AppointmentEventHub;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live appointment changes for the clinic and vet dashboards (text/event-stream).
+ * Events: created, updated, status_changed, cancelled, deleted, each carrying the AppointmentDto;
+ * "reset" means events were missed (or the server restarted) and the list should be fetched again.
+ * Browsers resume automatically with the Last-Event-ID header.
+ */
+@RestController
+@RequestMapping("/api/appointments/stream")
+public class AppointmentStreamController {
+
+    private final AppointmentEventHub hub;
+
+    public AppointmentStreamController(AppointmentEventHub hub) {
+        this.hub = hub;
+    }
+
+    @GetMapping(value = "/clinic/{clinicId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
+    public SseEmitter clinic(@PathVariable Long clinicId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return hub.subscribe(AppointmentEventHub.Scope.CLINIC, clinicId, lastEventId);
+    }
+
+    @GetMapping(value = "/vet/{vetId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
+    public SseEmitter vet(@PathVariable Long vetId,
+                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return hub.subscribe(AppointmentEventHub.Scope.VET, vetId, lastEventId);
+    }
+}
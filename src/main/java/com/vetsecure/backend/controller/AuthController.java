@@ -1,8 +1,14 @@
 package com.vetsecure.backend.controller;
 
 import com.vetsecure.backend.model.User;
+import com.vetsecure.backend.observability.DomainMetrics;
 import com.vetsecure.backend.repository.UserRepository;
 import com.vetsecure.backend.security.JwtService;
+import com.vetsecure.backend.security.LoginFailures;
+import com.vetsecure.backend.security.RateLimiter;
+import com.vetsecure.backend.security.RefreshTokens;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.*;
@@ -10,10 +16,12 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.Locale;
 import java.util.Map;
 
 record LoginRequest(String email, String password) {}
-record TokenResponse(String token) {}                         // <-- unchanged
+record TokenResponse(String token, String refreshToken) {}    // token unchanged; refreshToken for /refresh
+record RefreshRequest(String refreshToken) {}
 record MfaChallengeResponse(boolean mfaRequired, String mfaToken, long expiresInSeconds) {}
 @RestController
 @RequestMapping("/api/auth")
@@ -22,15 +30,28 @@ public class AuthController {
     private final AuthenticationManager authManager;
     private final JwtService jwt;
     private final UserRepository users;                       // <-- NEW
+    private final DomainMetrics metrics;
+    private final RateLimiter rateLimiter;
+    private final LoginFailures failures;
+    private final RefreshTokens refreshTokens;
 
-    public AuthController(AuthenticationManager am, JwtService jwt, UserRepository users) {
+    public AuthController(AuthenticationManager am, JwtService jwt, UserRepository users, DomainMetrics metrics,
+                          RateLimiter rateLimiter, LoginFailures failures, RefreshTokens refreshTokens) {
         this.authManager = am;
         this.jwt = jwt;
         this.users = users;                                   // <-- NEW
+        this.metrics = metrics;
+        this.rateLimiter = rateLimiter;
+        this.failures = failures;
+        this.refreshTokens = refreshTokens;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest req) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest req, HttpServletRequest http) {
+        var sample = metrics.start();
+        String outcome = "error";
+        String ip = http.getRemoteAddr();
+        String account = req.email();
         try {
             logger.info("Login attempt for identifier={}", req.email());
 
@@ -50,6 +71,28 @@ public class AuthController {
                 }
             }
 
+            // locked accounts / IPs are turned away before BCrypt runs
+            account = principalForAuth;
+            long lockedFor = failures.lockedFor(LoginFailures.LOGIN, account, ip);
+            if (lockedFor > 0) {
+                outcome = "locked";
+                return ResponseEntity.status(429)
+                        .header("Retry-After", Long.toString(lockedFor))
+                        .body(Map.of("error", "Too many failed attempts, try again later"));
+            }
+
+            // per-account bucket on top of RateLimitFilter's per-IP one: spreading guesses over many IPs
+            // still can't make BCrypt run more than app.rate-limit.routes.login-account allows. Keyed on the
+            // resolved email, so alternating username/email or letter case shares one bucket.
+            long retryAfter = rateLimiter.tryAcquire("login-account",
+                    principalForAuth == null ? null : principalForAuth.trim().toLowerCase(Locale.ROOT));
+            if (retryAfter > 0) {
+                outcome = "rate_limited";
+                return ResponseEntity.status(429)
+                        .header("Retry-After", Long.toString(retryAfter))
+                        .body(Map.of("error", "Too many login attempts, try again later"));
+            }
+
             // 1) password auth (use resolved principal — our UserDetailsService expects an email)
             authManager.authenticate(new UsernamePasswordAuthenticationToken(principalForAuth, req.password()));
 
@@ -57,21 +100,52 @@ public class AuthController {
             User u = users.findByEmail(principalForAuth).orElse(null);
             if (u == null) {
                 logger.warn("Login failed: user not found for principal={}", principalForAuth);
+                failures.failure(LoginFailures.LOGIN, account, ip);
+                outcome = "bad_credentials";
                 return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
             }
 
+            failures.success(LoginFailures.LOGIN, account);
+
             // 3) if MFA is enabled, return short-lived mfaToken (no final token yet)
             if (u.isMfaEnabled()) {
                 String mfaToken = jwt.generateMfaToken(u.getId());     // requires updated JwtService
+                outcome = "mfa_required";
                 return ResponseEntity.ok(new MfaChallengeResponse(true, mfaToken, 120));
             }
 
-            // 4) MFA OFF: preserve old behavior exactly -> { "token": "<jwt>" }
-            return ResponseEntity.ok(new TokenResponse(jwt.generateAccessToken(u)));
+            // 4) MFA OFF: same "token" as before, plus a refreshToken for POST /api/auth/refresh
+            outcome = "success";
+            var tokens = refreshTokens.issue(u);
+            return ResponseEntity.ok(new TokenResponse(tokens.accessToken(), tokens.refreshToken()));
 
         } catch (AuthenticationException e) {
             logger.warn("Authentication failed for email={}: {}", req.email(), e.getMessage());
+            failures.failure(LoginFailures.LOGIN, account, ip);
+            outcome = "bad_credentials";
             return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
+        } finally {
+            metrics.login(sample, outcome);
+        }
+    }
+
+    /**
+     * Exchanges a refresh token for a new access + refresh pair (the old refresh token stops working).
+     * Reusing an old refresh token revokes the whole session: both parties have to sign in again.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest req) {
+        if (req == null || req.refreshToken() == null || req.refreshToken().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "refreshToken is required"));
+        }
+        try {
+            var tokens = refreshTokens.rotate(req.refreshToken());
+            return ResponseEntity.ok(Map.of(
+                    "token", tokens.accessToken(),
+                    "accessToken", tokens.accessToken(),
+                    "refreshToken", tokens.refreshToken()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.status(401).body(Map.of("error", e.getMessage()));
         }
     }
 }
@@ -0,0 +1,64 @@
+package com.vetsecure.backend.controller;
+
+import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.scheduling.AvailabilitySearch;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/availability")
+public class AvailabilityController {
+
+    static final int MAX_LIMIT = 20;
+
+    private final AvailabilitySearch search;
+
+    public AvailabilityController(AvailabilitySearch search) {
+        this.search = search;
+    }
+
+    /**
+     * GET /api/availability/earliest?city=&species=&from=&serviceType=&limit=
+     * Earliest free slots (one per vet and day) at approved clinics in the city, earliest first.
+     * from accepts a date or a date-time and defaults to now. species is accepted for the booking UI but
+     * does not filter yet: clinics and vets carry no species information.
+     * X-Availability-Partial: true means the latency budget ran out before every clinic was checked.
+     */
+    @GetMapping("/earliest")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> earliest(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String species,
+            @RequestParam(required = false) String from,
+            @RequestParam(defaultValue = "CONSULTATION") String serviceType,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        LocalDateTime start;
+        Appointment.ServiceType type;
+        try {
+            start = parseFrom(from);
+            type = Appointment.ServiceType.valueOf(serviceType);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid availability query", "message", e.getMessage()));
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be between 1 and " + MAX_LIMIT));
+        }
+
+        var result = search.earliest(city == null || city.isBlank() ? null : city.trim(), start, type, limit);
+        return ResponseEntity.ok()
+                .header("X-Availability-Partial", Boolean.toString(result.partial()))
+                .body(result.slots());
+    }
+
+    private static LocalDateTime parseFrom(String from) {
+        if (from == null || from.isBlank()) return null;
+        return from.length() <= 10 ? LocalDate.parse(from).atStartOfDay() : LocalDateTime.parse(from);
+    }
+}
@@ -2,6 +2,8 @@ package com.vetsecure.backend.controller;
 
 import com.vetsecure.backend.model.Clinic;
 import com.vetsecure.backend.repository.ClinicRepository;
+import com.vetsecure.backend.security.UserContextService;
+import com.vetsecure.backend.web.dto.ClinicDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -18,16 +20,19 @@ public class ClinicController {
     @Autowired
     private ClinicRepository clinicRepository;
 
+    @Autowired
+    private UserContextService userContexts;
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public List<Clinic> getAllClinics() {
-        return clinicRepository.findAll();
+    public List<ClinicDTO> getAllClinics() {
+        return clinicRepository.findAllDtos();
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public Optional<Clinic> getClinic(@PathVariable Long id) {
-        return clinicRepository.findById(id);
+    public Optional<ClinicDTO> getClinic(@PathVariable Long id) {
+        return clinicRepository.findDtoById(id);
     }
 
     @PostMapping
@@ -57,6 +62,7 @@ public class ClinicController {
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public void deleteClinic(@PathVariable Long id) {
         clinicRepository.deleteById(id);
+        userContexts.invalidateAll(); // drop cached clinic membership/admin ids
     }
 
     /**
@@ -6,6 +6,7 @@ import com.vetsecure.backend.model.ClinicSchedule;
 import com.vetsecure.backend.repository.ClinicRepository;
 import com.vetsecure.backend.repository.ClinicRequestRepository;
 import com.vetsecure.backend.repository.ClinicScheduleRepository;
+import com.vetsecure.backend.security.UserContextService;
 import com.vetsecure.backend.web.dto.ClinicDTO;
 import com.vetsecure.backend.web.dto.ClinicRequestDTO;
 import com.vetsecure.backend.web.dto.ClinicScheduleDTO;
@@ -36,15 +37,18 @@ public class ClinicPublicController {
     private final ClinicRequestRepository repo;
     private final com.vetsecure.backend.repository.UserRepository userRepository;
     private final ClinicScheduleRepository clinicScheduleRepository;
+    private final UserContextService userContexts;
 
     public ClinicPublicController(ClinicRepository clinicRepository,
                                   ClinicRequestRepository repo,
                                   com.vetsecure.backend.repository.UserRepository userRepository,
-                                  ClinicScheduleRepository clinicScheduleRepository) {
+                                  ClinicScheduleRepository clinicScheduleRepository,
+                                  UserContextService userContexts) {
         this.clinicRepository = clinicRepository;
         this.repo = repo;
         this.userRepository = userRepository;
         this.clinicScheduleRepository = clinicScheduleRepository;
+        this.userContexts = userContexts;
     }
 
     @PostMapping
@@ -91,6 +95,7 @@ public class ClinicPublicController {
                 clinic.setEmail(body.getAdminEmail());
                 clinic.setStatus(Clinic.Status.PENDING);
                 clinicRepository.save(clinic);
+                userContexts.invalidate(user.getId());
             }, () -> {
                 System.err.println("[ClinicRequest] No user found for adminEmail=" + body.getAdminEmail());
             });
@@ -238,22 +243,13 @@ public class ClinicPublicController {
                                           @RequestBody ClinicUpdateDto dto,
                                           Authentication auth) {
         return clinicRepository.findById(id).map(clinic -> {
-            String currentUser = auth != null ? auth.getName() : null;
             boolean isSuperAdmin = auth != null && auth.getAuthorities().stream()
                     .anyMatch(a -> "ROLE_SUPER_ADMIN".equals(a.getAuthority()) || "SUPER_ADMIN".equals(a.getAuthority()));
 
-            // Owner check: only when clinic.getClinicAdmin() is present we compare; otherwise require SUPER_ADMIN
-            boolean isOwner = false;
-            if (currentUser != null && clinic.getClinicAdmin() != null) {
-                try {
-                    var admin = clinic.getClinicAdmin();
-                    if (admin.getEmail() != null && currentUser.equalsIgnoreCase(admin.getEmail())) isOwner = true;
-                    if (!isOwner && admin.getUsername() != null && currentUser.equalsIgnoreCase(admin.getUsername()))
-                        isOwner = true;
-                    if (!isOwner && admin.getId() != null && currentUser.equals(String.valueOf(admin.getId())))
-                        isOwner = true;
-                } catch (Exception ignored) {}
-            }
+            // Owner check: the caller must be this clinic's clinicAdmin; otherwise require SUPER_ADMIN
+            boolean isOwner = userContexts.forAuthentication(auth)
+                    .map(ctx -> ctx.administers(id))
+                    .orElse(false);
 
             if (!isOwner && !isSuperAdmin) {
                 return ResponseEntity.status(403).build();
@@ -4,6 +4,7 @@ import com.vetsecure.backend.model.Clinic;
 import com.vetsecure.backend.model.ClinicSchedule;
 import com.vetsecure.backend.repository.ClinicRepository;
 import com.vetsecure.backend.repository.ClinicScheduleRepository;
+import com.vetsecure.backend.security.UserContextService;
 import com.vetsecure.backend.service.ClinicScheduleService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,13 +23,16 @@ public class ClinicScheduleController {
     private final ClinicScheduleRepository clinicScheduleRepository;
     private final ClinicRepository clinicRepository;
     private final ClinicScheduleService clinicScheduleService;
+    private final UserContextService userContexts;
 
     public ClinicScheduleController(ClinicScheduleRepository clinicScheduleRepository,
                                     ClinicRepository clinicRepository,
-                                    ClinicScheduleService clinicScheduleService) {
+                                    ClinicScheduleService clinicScheduleService,
+                                    UserContextService userContexts) {
         this.clinicScheduleRepository = clinicScheduleRepository;
         this.clinicRepository = clinicRepository;
         this.clinicScheduleService = clinicScheduleService;
+        this.userContexts = userContexts;
     }
 
     /**
@@ -151,21 +155,12 @@ public class ClinicScheduleController {
         if (!oc.isPresent()) return ResponseEntity.notFound().build();
         Clinic clinic = oc.get();
 
-        String currentUser = auth != null ? auth.getName() : null;
         boolean isSuperAdmin = auth != null && auth.getAuthorities().stream()
                 .anyMatch(a -> "ROLE_SUPER_ADMIN".equals(a.getAuthority()) || "SUPER_ADMIN".equals(a.getAuthority()));
 
-        boolean isOwner = false;
-        if (currentUser != null && clinic.getClinicAdmin() != null) {
-            var admin = clinic.getClinicAdmin();
-            try {
-                if (admin.getEmail() != null && currentUser.equalsIgnoreCase(admin.getEmail())) isOwner = true;
-                if (!isOwner && admin.getUsername() != null && currentUser.equalsIgnoreCase(admin.getUsername()))
-                    isOwner = true;
-                if (!isOwner && admin.getId() != null && currentUser.equals(String.valueOf(admin.getId()))) isOwner = true;
-            } catch (Exception ignored) {
-            }
-        }
+        boolean isOwner = userContexts.forAuthentication(auth)
+                .map(ctx -> ctx.administers(id))
+                .orElse(false);
 
         if (!isOwner && !isSuperAdmin) {
             return ResponseEntity.status(403).body("Forbidden");
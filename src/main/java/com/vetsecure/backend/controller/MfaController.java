@@ -3,8 +3,14 @@ package com.vetsecure.backend.controller;
 import com.vetsecure.backend.model.User;
 import com.vetsecure.backend.repository.UserRepository;
 import com.vetsecure.backend.security.JwtService;              // ✅ add
+import com.vetsecure.backend.security.LoginFailures;
+import com.vetsecure.backend.security.RateLimiter;
+import com.vetsecure.backend.security.RefreshTokens;
+import com.vetsecure.backend.security.UserContext;
+import com.vetsecure.backend.security.UserContextService;
 import com.vetsecure.backend.security.mfa.MfaService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -26,29 +32,28 @@ public class MfaController {
     private final UserRepository users;
     private final MfaService mfa;
     private final JwtService jwtService;                       // ✅ add
+    private final UserContextService userContexts;
+    private final RateLimiter rateLimiter;
+    private final LoginFailures failures;
+    private final RefreshTokens refreshTokens;
     private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
 
     // ✅ updated constructor to include JwtService
-    public MfaController(UserRepository users, MfaService mfa, JwtService jwtService) {
+    public MfaController(UserRepository users, MfaService mfa, JwtService jwtService,
+                         UserContextService userContexts, RateLimiter rateLimiter, LoginFailures failures,
+                         RefreshTokens refreshTokens) {
         this.users = users;
         this.mfa = mfa;
         this.jwtService = jwtService;
+        this.userContexts = userContexts;
+        this.rateLimiter = rateLimiter;
+        this.failures = failures;
+        this.refreshTokens = refreshTokens;
     }
 
-    // Helper: resolve userId from Authentication. Accept numeric subject or email username.
+    // Helper: resolve userId from Authentication (numeric subject or email), via the cached UserContext
     private Long resolveUserId(Authentication auth) {
-        if (auth == null) return null;
-        String name = auth.getName();
-        if (name == null) return null;
-        // try numeric first
-        try {
-            return Long.valueOf(name);
-        } catch (NumberFormatException ignored) {}
-
-        // try looking up by email/username
-        return users.findByEmail(name).map(User::getId)
-                .or(() -> users.findByUsername(name).map(User::getId))
-                .orElse(null);
+        return userContexts.forAuthentication(auth).map(UserContext::userId).orElse(null);
     }
 
     /** Step 1: generate secret + QR (user must be logged in) */
@@ -127,23 +132,42 @@ public class MfaController {
 
     /** Second step of login: exchange mfaToken + 6-digit code for final tokens */
     @PostMapping("/verify-login")
-    public ResponseEntity<?> verifyDuringLogin(@RequestBody Map<String, String> body) {
+    public ResponseEntity<?> verifyDuringLogin(@RequestBody Map<String, String> body,
+                                               HttpServletRequest http) {
         String mfaToken = body.get("mfaToken");
         String code = body.get("code");
 
         Long userId = jwtService.parseMfaToken(mfaToken);       // ✅ use JwtService
         if (userId == null) return ResponseEntity.status(401).body("Invalid or expired mfaToken");
 
+        // per-account: a 6-digit code must not be guessable by rotating IPs within one mfaToken's life
+        long retryAfter = rateLimiter.tryAcquire("mfa-verify-account", userId.toString());
+        if (retryAfter > 0) {
+            return ResponseEntity.status(429)
+                    .header("Retry-After", Long.toString(retryAfter))
+                    .body(Map.of("error", "Too many attempts, try again later"));
+        }
+        String account = userId.toString();
+        long lockedFor = failures.lockedFor(LoginFailures.MFA, account, http.getRemoteAddr());
+        if (lockedFor > 0) {
+            return ResponseEntity.status(429)
+                    .header("Retry-After", Long.toString(lockedFor))
+                    .body(Map.of("error", "Too many failed codes, try again later"));
+        }
+
         User user = users.findById(userId).orElseThrow();
         if (!user.isMfaEnabled()) return ResponseEntity.badRequest().body("MFA not enabled");
 
         if (mfa.verify(user.getMfaSecret(), code)) {
-            // ✅ issue real tokens
+            failures.success(LoginFailures.MFA, account);
+            // ✅ issue real tokens (one session family, see RefreshTokens)
+            var issued = refreshTokens.issue(user);
             Map<String,Object> tokens = new HashMap<>();
-            tokens.put("accessToken", jwtService.generateAccessToken(user));
-            tokens.put("refreshToken", jwtService.generateRefreshToken(user));
+            tokens.put("accessToken", issued.accessToken());
+            tokens.put("refreshToken", issued.refreshToken());
             return ResponseEntity.ok(tokens);
         }
+        failures.failure(LoginFailures.MFA, account, http.getRemoteAddr());
         return ResponseEntity.status(400).body(Map.of("error","Invalid code"));
     }
 
@@ -1,10 +1,15 @@
 package com.vetsecure.backend.controller;
 
+import com.vetsecure.backend.dto.OwnerDto;
 import com.vetsecure.backend.model.PetOwner;
 import com.vetsecure.backend.model.User;
 import com.vetsecure.backend.repository.PetOwnerRepository;
 import com.vetsecure.backend.repository.UserRepository;
+import com.vetsecure.backend.security.UserContextService;
+import com.vetsecure.backend.web.Paging;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -18,24 +23,32 @@ public class OwnerController {
 
     private final PetOwnerRepository owners;
     private final UserRepository users;
+    private final UserContextService userContexts;
 
-    public OwnerController(PetOwnerRepository owners, UserRepository users) {
+    public OwnerController(PetOwnerRepository owners, UserRepository users, UserContextService userContexts) {
         this.owners = owners;
         this.users = users;
+        this.userContexts = userContexts;
     }
 
-    /** List all owners – clinic staff/admin/vet/assistant (hierarchy allows SUPER_ADMIN too) */
+    /** List owners, paged (?q=&page=&size=&sort=&after=) – clinic staff/admin/vet/assistant (hierarchy allows SUPER_ADMIN too) */
     @GetMapping
     @PreAuthorize("hasAnyRole('CLINIC_ADMIN','VET','ASSISTANT','SUPER_ADMIN')")
-    public List<PetOwner> all() {
-        return owners.findAll();
+    public ResponseEntity<List<OwnerDto>> all(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long after,
+            @PageableDefault(size = Paging.DEFAULT_SIZE) Pageable pageable
+    ) {
+        var slice = owners.findDtoSlice(Paging.prefix(q), after,
+                Paging.sanitize(pageable, after, PetOwnerController.SORTABLE));
+        return Paging.ok(slice, o -> o.id);
     }
 
     /** Get one owner – allowed to clinic staff/admin/vet/assistant OR the owner themself */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('CLINIC_ADMIN','VET','ASSISTANT','SUPER_ADMIN') or @authz.isSelfOwner(authentication, #id)")
-    public ResponseEntity<PetOwner> one(@PathVariable Long id) {
-        return owners.findById(id).map(ResponseEntity::ok)
+    public ResponseEntity<OwnerDto> one(@PathVariable Long id) {
+        return owners.findDtoById(id).map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -44,7 +57,7 @@ public class OwnerController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> me(org.springframework.security.core.Authentication auth) {
         String email = auth.getName();
-        return owners.findByUser_EmailIgnoreCase(email)
+        return owners.findDtoByEmail(email)
                 .<ResponseEntity<?>>map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -74,6 +87,7 @@ public class OwnerController {
         po.setPhone(phone);
 
         PetOwner saved = owners.save(po);
+        userContexts.invalidate(user.getId()); // now has an owner id
         return ResponseEntity.created(URI.create("/api/owners/" + saved.getId()))
                 .body(saved);
     }
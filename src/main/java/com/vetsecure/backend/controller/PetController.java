@@ -1,9 +1,15 @@
 package com.vetsecure.backend.controller;
 
+import com.vetsecure.backend.dto.PetDto;
 import com.vetsecure.backend.model.Pet;
 import com.vetsecure.backend.model.PetOwner;
 import com.vetsecure.backend.repository.PetOwnerRepository;
 import com.vetsecure.backend.repository.PetRepository;
+import com.vetsecure.backend.security.UserContext;
+import com.vetsecure.backend.security.UserContextService;
+import com.vetsecure.backend.web.Paging;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -11,11 +17,10 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import jakarta.validation.Valid;
 
-import java.lang.reflect.Method;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping({"/pets", "/api/pets"})
@@ -27,56 +32,32 @@ public class PetController {
     @Autowired
     private PetOwnerRepository ownerRepository;
 
+    @Autowired
+    private UserContextService userContexts;
+
+    private static final Set<String> SORTABLE = Set.of("id", "name", "species");
+
+    /** GET /pets?species=&ownerId=&q=&page=&size=&sort=&after= - bounded listing, see {@link Paging} for headers */
     @GetMapping
     @PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
-    public List<Pet> getAllPets() {
-        return petRepository.findAll();
+    public ResponseEntity<List<PetDto>> getAllPets(
+            @RequestParam(required = false) String species,
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long after,
+            @PageableDefault(size = Paging.DEFAULT_SIZE) Pageable pageable
+    ) {
+        var slice = petRepository.findDtoSlice(Paging.value(species), ownerId, Paging.prefix(q), after,
+                Paging.sanitize(pageable, after, SORTABLE));
+        return Paging.ok(slice, p -> p.id);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("@authz.canAccessPet(authentication, #id)")
-    public ResponseEntity<?> getPet(@PathVariable Long id) {
-        Optional<Pet> pet = petRepository.findById(id);
-        if (pet.isEmpty()) return ResponseEntity.notFound().build();
-        pet = petRepository.findById(id);
-
-        // Build a minimal map of pet fields (no owner)
-        Map<String, Object> m = new LinkedHashMap<>();
-        m.put("id", reflectiveGet(pet, "getId", "id"));
-        m.put("name", reflectiveGet(pet, "getName", "name"));
-        m.put("species", reflectiveGet(pet, "getSpecies", "species"));
-        m.put("breed", reflectiveGet(pet, "getBreed", "breed"));
-        m.put("sex", reflectiveGet(pet, "getSex", "sex"));
-        m.put("age", reflectiveGet(pet, "getAge", "age"));
-        m.put("microchip", reflectiveGet(pet, "getMicrochip", "microchip"));
-        m.put("dateOfBirth", reflectiveGet(pet, "getDateOfBirth", "getBorn", "born", "dateOfBirth"));
-
-        return ResponseEntity.ok(m);
-    }
-
-    private static Object reflectiveGet(Object target, String... candidateNames) {
-        if (target == null || candidateNames == null) return null;
-        Class<?> cls = target.getClass();
-        for (String name : candidateNames) {
-            try {
-                // try zero-arg method first
-                Method m = cls.getMethod(name);
-                if (m != null) {
-                    return m.invoke(target);
-                }
-            } catch (NoSuchMethodException ignored) {
-                // try field access getter style fallback via method with "get" prefix if not provided
-                try {
-                    String alt = name;
-                    if (!name.startsWith("get")) alt = "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
-                    Method m2 = cls.getMethod(alt);
-                    if (m2 != null) return m2.invoke(target);
-                } catch (Throwable ignored2) {
-                }
-            } catch (Throwable ignored) {
-            }
-        }
-        return null;
+    public ResponseEntity<PetDto> getPet(@PathVariable Long id) {
+        return petRepository.findDtoById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -87,7 +68,8 @@ public class PetController {
         if (pet.getOwner() == null || pet.getOwner().getId() == null) {
             if (auth != null && auth.isAuthenticated()) {
                 String email = auth.getName();
-                Optional<PetOwner> po = ownerRepository.findByUser_EmailIgnoreCase(email);
+                Long ownerId = userContexts.forAuthentication(auth).map(UserContext::ownerId).orElse(null);
+                Optional<PetOwner> po = ownerId == null ? Optional.empty() : ownerRepository.findById(ownerId);
                 if (po.isPresent()) {
                     pet.setOwner(po.get());
                 } else {
@@ -102,7 +84,7 @@ public class PetController {
         }
         try {
             Pet saved = petRepository.save(pet);
-            return ResponseEntity.ok(saved);
+            return dto(saved.getId());
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "Failed to save pet", "message", e.getMessage()));
@@ -111,7 +93,7 @@ public class PetController {
 
     @PutMapping("/{id}")
     @PreAuthorize("@authz.canAccessPet(authentication, #id)")
-    public Pet updatePet(@PathVariable Long id, @Valid @RequestBody Pet petDetails) {
+    public ResponseEntity<PetDto> updatePet(@PathVariable Long id, @Valid @RequestBody Pet petDetails) {
         Pet pet = petRepository.findById(id).orElseThrow();
         pet.setName(petDetails.getName());
         pet.setSpecies(petDetails.getSpecies());
@@ -120,7 +102,15 @@ public class PetController {
         pet.setWeight(petDetails.getWeight());
         pet.setDateOfBirth(petDetails.getDateOfBirth());
         pet.setOwner(petDetails.getOwner());
-        return petRepository.save(pet);
+        petRepository.save(pet);
+        return dto(id);
+    }
+
+    // writes answer with the same projection as GET /pets/{id}
+    private ResponseEntity<PetDto> dto(Long id) {
+        return petRepository.findDtoById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -132,20 +122,15 @@ public class PetController {
     /** GET /pets/owner/{ownerId} - Get pets by owner ID */
     @GetMapping("/owner/{ownerId}")
     @PreAuthorize("@authz.isSelfOwner(authentication, #ownerId) or hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
-    public List<Pet> getPetsByOwner(@PathVariable Long ownerId, Authentication auth) {
+    public List<PetDto> getPetsByOwner(@PathVariable Long ownerId, Authentication auth) {
         // Allow if user is the owner or has pets:read scope
-        return petRepository.findByOwnerId(ownerId);
+        return petRepository.findDtosByOwnerId(ownerId);
     }
 
     /** GET /pets/owner/me - Get current user's pets */
     @GetMapping("/owner/me")
     @PreAuthorize("isAuthenticated()")
-    public List<Pet> getMyPets(Authentication auth) {
-        String email = auth.getName();
-        Optional<PetOwner> owner = ownerRepository.findByUser_EmailIgnoreCase(email);
-        if (owner.isPresent()) {
-            return petRepository.findByOwnerId(owner.get().getId());
-        }
-        return java.util.Collections.emptyList();
+    public List<PetDto> getMyPets(Authentication auth) {
+        return petRepository.findDtosByOwnerEmail(auth.getName());
     }
 }
\ No newline at end of file
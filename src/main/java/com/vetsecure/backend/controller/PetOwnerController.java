@@ -1,20 +1,25 @@
 package com.vetsecure.backend.controller;
 
-import com.vetsecure.backend.model.Pet;
+import com.vetsecure.backend.dto.OwnerDto;
 import com.vetsecure.backend.model.PetOwner;
 import com.vetsecure.backend.model.User;
 import com.vetsecure.backend.repository.PetOwnerRepository;
 import com.vetsecure.backend.repository.UserRepository;
+import com.vetsecure.backend.security.UserContextService;
+import com.vetsecure.backend.web.Paging;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/pet-owners")
@@ -26,16 +31,28 @@ public class PetOwnerController {
     @Autowired
     private PetOwnerRepository petOwnerRepository;
 
+    @Autowired
+    private UserContextService userContexts;
+
+    static final Set<String> SORTABLE = Set.of("id", "lastName", "firstName");
+
+    /** GET /pet-owners?q=&page=&size=&sort=&after= - bounded listing, see {@link Paging} for headers */
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'CLINIC_ADMIN', 'VET', 'ASSISTANT')")
-    public List<PetOwner> getAllPetOwners() {
-        return petOwnerRepository.findAll();
+    public ResponseEntity<List<OwnerDto>> getAllPetOwners(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long after,
+            @PageableDefault(size = Paging.DEFAULT_SIZE) Pageable pageable
+    ) {
+        var slice = petOwnerRepository.findDtoSlice(Paging.prefix(q), after,
+                Paging.sanitize(pageable, after, SORTABLE));
+        return Paging.ok(slice, o -> o.id);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("@authz.isSelfOwner(authentication, #id) or hasAnyRole('SUPER_ADMIN', 'CLINIC_ADMIN', 'VET', 'ASSISTANT')")
-    public Optional<PetOwner> getPetOwner(@PathVariable Long id) {
-        return petOwnerRepository.findById(id);
+    public Optional<OwnerDto> getPetOwner(@PathVariable Long id) {
+        return petOwnerRepository.findDtoById(id);
     }
 
     @PostMapping
@@ -50,7 +67,9 @@ public class PetOwnerController {
         po.setUser(existingUser);
 
         // 3. Save PetOwner (Hibernate now knows user already exists)
-        return petOwnerRepository.save(po);
+        PetOwner saved = petOwnerRepository.save(po);
+        userContexts.invalidate(existingUser.getId());
+        return saved;
     }
 
     @PutMapping("/{id}")
@@ -68,5 +87,6 @@ public class PetOwnerController {
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public void deletePetOwner(@PathVariable Long id) {
         petOwnerRepository.deleteById(id);
+        userContexts.invalidate(id); // owner id == user id
     }
 }
\ No newline at end of file
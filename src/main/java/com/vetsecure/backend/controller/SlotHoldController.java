@@ -0,0 +1,71 @@
+package com.vetsecure.backend.controller;
+
+import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.scheduling.SlotHolds;
+import com.vetsecure.backend.security.UserContextService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Short-lived slot holds for the booking form: hold the slot when the owner picks a time, send the
+ * returned token as holdToken with POST /api/appointments, or release it if they back out.
+ * Holds expire on their own after app.holds.ttl.
+ */
+@RestController
+@RequestMapping("/api/slot-holds")
+public class SlotHoldController {
+
+    private final SlotHolds holds;
+    private final UserContextService userContexts;
+
+    public SlotHoldController(SlotHolds holds, UserContextService userContexts) {
+        this.holds = holds;
+        this.userContexts = userContexts;
+    }
+
+    // Payload: { vetId, date: "yyyy-MM-dd", time: "HH:mm", serviceType? }
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> hold(@RequestBody HoldRequest request, Authentication auth) {
+        var ctx = userContexts.forAuthentication(auth).orElse(null);
+        if (ctx == null) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+        if (request.vetId() == null || request.date() == null || request.time() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "vetId, date and time are required"));
+        }
+        try {
+            var type = request.serviceType() == null
+                    ? Appointment.ServiceType.CONSULTATION
+                    : Appointment.ServiceType.valueOf(request.serviceType());
+            var start = LocalDate.parse(request.date()).atTime(LocalTime.parse(request.time()));
+            var hold = holds.place(ctx.userId(), request.vetId(), start, start.plusMinutes(type.minutes()));
+            return ResponseEntity.ok(Map.of(
+                    "token", hold.token(),
+                    "vetId", hold.vetId(),
+                    "startsAt", hold.startsAt(),
+                    "endsAt", hold.endsAt(),
+                    "expiresAt", hold.expiresAt()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid hold request", "message", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{token}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> release(@PathVariable String token, Authentication auth) {
+        var ctx = userContexts.forAuthentication(auth).orElse(null);
+        if (ctx == null) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+        if (!holds.release(token, ctx.userId())) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(Map.of("message", "Hold released"));
+    }
+
+    public record HoldRequest(Long vetId, String date, String time, String serviceType) {}
+}
@@ -1,7 +1,13 @@
 package com.vetsecure.backend.controller;
 
+import com.vetsecure.backend.dto.UserDto;
+import com.vetsecure.backend.model.Role;
 import com.vetsecure.backend.model.User;
 import com.vetsecure.backend.repository.UserRepository;
+import com.vetsecure.backend.security.UserContextService;
+import com.vetsecure.backend.web.Paging;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -10,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import jakarta.validation.Valid;
 
@@ -21,31 +28,43 @@ public class UserController {
     private UserRepository userRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UserContextService userContexts;
+
+    private static final Set<String> SORTABLE = Set.of("id", "username", "email");
 
+    /** GET /users?role=&q=&page=&size=&sort=&after= - bounded listing, see {@link Paging} for headers */
     @GetMapping
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public ResponseEntity<List<UserDto>> getAllUsers(
+            @RequestParam(required = false) Role.RoleType role,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long after,
+            @PageableDefault(size = Paging.DEFAULT_SIZE) Pageable pageable
+    ) {
+        var slice = userRepository.findDtoSlice(role, Paging.prefix(q), after,
+                Paging.sanitize(pageable, after, SORTABLE));
+        return Paging.ok(slice, u -> u.id);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('SUPER_ADMIN') or @authz.isSelf(authentication, #id)")
-    public Optional<User> getUser(@PathVariable Long id) {
-        return userRepository.findById(id);
+    public Optional<UserDto> getUser(@PathVariable Long id) {
+        return userRepository.findDtoById(id);
     }
 
     /** GET /users/me - Get current authenticated user */
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<User> getCurrentUser(org.springframework.security.core.Authentication auth) {
+    public ResponseEntity<UserDto> getCurrentUser(org.springframework.security.core.Authentication auth) {
         String email = auth.getName(); // email from JWT
-        User user = userRepository.findByEmail(email)
+        UserDto user = userRepository.findDtoByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return ResponseEntity.ok(user);
     }
 
     @PostMapping
-    public User createUser(@Valid @RequestBody User user, org.springframework.security.core.Authentication auth) {
+    public UserDto createUser(@Valid @RequestBody User user, org.springframework.security.core.Authentication auth) {
         // If authenticated, require SUPER_ADMIN role for creating users
         if (auth != null && auth.isAuthenticated()) {
             boolean isSuperAdmin = auth.getAuthorities().stream()
@@ -60,12 +79,12 @@ public class UserController {
         if (user.getPasswordHash() != null && !user.getPasswordHash().isBlank()) {
             user.setPasswordHash(passwordEncoder.encode(user.getPasswordHash()));
         }
-        return userRepository.save(user);
+        return UserDto.from(userRepository.save(user));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('SUPER_ADMIN') or @authz.isSelf(authentication, #id)")
-    public User updateUser(@PathVariable Long id, @RequestBody User userDetails) {
+    public UserDto updateUser(@PathVariable Long id, @RequestBody User userDetails) {
         User user = userRepository.findById(id).orElseThrow();
         user.setUsername(userDetails.getUsername());
         user.setEmail(userDetails.getEmail());
@@ -78,13 +97,16 @@ public class UserController {
                 .anyMatch(a -> a.getAuthority().equals("ROLE_SUPER_ADMIN"))) {
             user.setRole(userDetails.getRole());
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userContexts.invalidate(id); // email and/or role may have changed
+        return UserDto.from(saved);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public void deleteUser(@PathVariable Long id) {
         userRepository.deleteById(id);
+        userContexts.invalidate(id);
     }
 
     /**
@@ -93,7 +115,7 @@ public class UserController {
      */
     @PatchMapping("/{id}/profile-picture")
     @PreAuthorize("@authz.isSelf(authentication, #id) or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<User> updateProfilePicture(
+    public ResponseEntity<UserDto> updateProfilePicture(
             @PathVariable Long id,
             @RequestBody UpdateProfilePictureRequest request
     ) {
@@ -101,7 +123,7 @@ public class UserController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setProfilePictureUrl(request.imageUrl());
         User updatedUser = userRepository.save(user);
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok(UserDto.from(updatedUser));
     }
 
     // Request DTO
@@ -1,19 +1,26 @@
 package com.vetsecure.backend.controller;
 
+import com.vetsecure.backend.dto.VetDto;
 import com.vetsecure.backend.model.Clinic;
 import com.vetsecure.backend.model.User;
 import com.vetsecure.backend.model.Vet;
 import com.vetsecure.backend.repository.ClinicRepository;
 import com.vetsecure.backend.repository.UserRepository;
 import com.vetsecure.backend.repository.VetRepository;
+import com.vetsecure.backend.security.UserContextService;
+import com.vetsecure.backend.web.Paging;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/vets")
@@ -28,16 +35,30 @@ public class VetController {
     @Autowired
     private VetRepository vetRepository;
 
+    @Autowired
+    private UserContextService userContexts;
+
+    private static final Set<String> SORTABLE = Set.of("id", "lastName", "firstName");
+
+    /** GET /vets?clinicId=&role=&q=&page=&size=&sort=&after= - bounded listing, see {@link Paging} for headers */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public List<Vet> getAllVets() {
-        return vetRepository.findAll();
+    public ResponseEntity<List<VetDto>> getAllVets(
+            @RequestParam(required = false) Long clinicId,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long after,
+            @PageableDefault(size = Paging.DEFAULT_SIZE) Pageable pageable
+    ) {
+        var slice = vetRepository.findDtoSlice(clinicId, Paging.value(role), Paging.prefix(q), after,
+                Paging.sanitize(pageable, after, SORTABLE));
+        return Paging.ok(slice, v -> v.id);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public Optional<Vet> getVet(@PathVariable Long id) {
-        return vetRepository.findById(id);
+    public Optional<VetDto> getVet(@PathVariable Long id) {
+        return vetRepository.findDtoById(id);
     }
 
     @PostMapping
@@ -56,7 +77,9 @@ public class VetController {
         vet.setUser(existingUser);
         vet.setClinic(existingClinic);
 
-        return vetRepository.save(vet);
+        Vet saved = vetRepository.save(vet);
+        userContexts.invalidate(existingUser.getId());
+        return saved;
     }
 
 
@@ -77,12 +100,15 @@ public class VetController {
             vet.setClinic(clinic);
         }
 
-        return vetRepository.save(vet);
+        Vet saved = vetRepository.save(vet);
+        userContexts.invalidate(id); // clinic may have changed
+        return saved;
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'CLINIC_ADMIN')")
     public void deleteVet(@PathVariable Long id) {
         vetRepository.deleteById(id);
+        userContexts.invalidate(id); // vet id == user id
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.vetsecure.backend.controller;
+
+import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.model.WaitlistEntry;
+import com.vetsecure.backend.repository.PetRepository;
+import com.vetsecure.backend.repository.WaitlistEntryRepository;
+import com.vetsecure.backend.scheduling.Waitlist;
+import com.vetsecure.backend.security.UserContextService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Waitlist: an owner asks for any slot at a clinic (optionally with one vet) within a time window.
+ * When a matching appointment is cancelled the slot is booked for them automatically and shows up as a
+ * normal appointment (and appointment event); the entry then reads BOOKED with its appointmentId.
+ */
+@RestController
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+
+    private final Waitlist waitlist;
+    private final WaitlistEntryRepository entries;
+    private final PetRepository pets;
+    private final UserContextService userContexts;
+
+    public WaitlistController(Waitlist waitlist, WaitlistEntryRepository entries, PetRepository pets,
+                              UserContextService userContexts) {
+        this.waitlist = waitlist;
+        this.entries = entries;
+        this.pets = pets;
+        this.userContexts = userContexts;
+    }
+
+    // Payload: { petId, clinicId, vetId?, serviceType?, from: "yyyy-MM-ddTHH:mm", to: "yyyy-MM-ddTHH:mm" }
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> join(@RequestBody JoinRequest request, Authentication auth) {
+        var ctx = userContexts.forAuthentication(auth).orElse(null);
+        if (ctx == null) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+        if (request.petId() == null || request.clinicId() == null || request.from() == null || request.to() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "petId, clinicId, from and to are required"));
+        }
+        var pet = pets.findById(request.petId()).orElse(null);
+        if (pet == null) return ResponseEntity.badRequest().body(Map.of("error", "Pet not found"));
+        if (pet.getOwner() == null || !pet.getOwner().getId().equals(ctx.ownerId())) {
+            return ResponseEntity.status(403).body(Map.of("error", "Pet does not belong to current user"));
+        }
+        try {
+            var type = request.serviceType() == null
+                    ? Appointment.ServiceType.CONSULTATION
+                    : Appointment.ServiceType.valueOf(request.serviceType());
+            var entry = waitlist.join(ctx.userId(), pet.getId(), request.clinicId(), request.vetId(), type,
+                    LocalDateTime.parse(request.from()), LocalDateTime.parse(request.to()));
+            return ResponseEntity.ok(entry);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid waitlist request", "message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/mine")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> mine(Authentication auth) {
+        var ctx = userContexts.forAuthentication(auth).orElse(null);
+        if (ctx == null) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+        List<WaitlistEntry> list = entries.findByOwnerUserIdOrderByIdDesc(ctx.userId());
+        return ResponseEntity.ok(list);
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> leave(@PathVariable Long id, Authentication auth) {
+        var ctx = userContexts.forAuthentication(auth).orElse(null);
+        if (ctx == null) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+        if (!waitlist.cancel(id, ctx.userId())) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(Map.of("message", "Removed from waitlist"));
+    }
+
+    // Payload: { priority } — higher goes first
+    @PatchMapping("/{id}/priority")
+    @PreAuthorize("hasAnyRole('VET', 'CLINIC_ADMIN', 'SUPER_ADMIN', 'ASSISTANT')")
+    public ResponseEntity<?> prioritize(@PathVariable Long id, @RequestBody Map<String, Object> payload,
+                                        Authentication auth) {
+        var ctx = userContexts.forAuthentication(auth).orElse(null);
+        if (ctx == null) return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+        var entry = entries.findById(id).orElse(null);
+        if (entry == null) return ResponseEntity.notFound().build();
+        if (!ctx.isSuperAdmin() && !ctx.administers(entry.getClinicId()) && !entry.getClinicId().equals(ctx.clinicId())) {
+            return ResponseEntity.status(403).body(Map.of("error", "Entry belongs to another clinic"));
+        }
+        if (!(payload.get("priority") instanceof Number n)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "priority must be a number"));
+        }
+        var updated = waitlist.reprioritize(id, n.intValue());
+        if (updated == null) return ResponseEntity.status(409).body(Map.of("error", "Entry is no longer waiting"));
+        return ResponseEntity.ok(updated);
+    }
+
+    public record JoinRequest(Long petId, Long clinicId, Long vetId, String serviceType, String from, String to) {}
+}
@@ -0,0 +1,107 @@
+package com.vetsecure.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar form of an AppointmentDto list for dashboards that opt in with
+ * Accept: application/vnd.vetsecure.columnar+json.
+ * Field names are sent once in "columns"; each row is a plain array in that order, nulls included:
+ *
+ *   {"columns":["id","date",...,"clinicId"],"rows":[[12,"2025-03-04","09:30:00","PENDING",...],...]}
+ */
+public class AppointmentColumnsDto {
+
+    public static final String MEDIA_TYPE = "application/vnd.vetsecure.columnar+json";
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "date", "time", "status", "reason", "diagnosis", "prescription",
+            "pet.id", "pet.name", "pet.species", "pet.breed", "pet.gender", "pet.dateOfBirth",
+            "pet.owner.id", "pet.owner.firstName", "pet.owner.lastName", "pet.owner.phone",
+            "vet.id", "vet.firstName", "vet.lastName", "vet.clinicId", "clinicId");
+
+    public final List<String> columns = COLUMNS;
+    public final List<Row> rows;
+
+    public AppointmentColumnsDto(List<Row> rows) {
+        this.rows = rows;
+    }
+
+    public static AppointmentColumnsDto of(List<AppointmentDto> appointments) {
+        List<Row> rows = new ArrayList<>(appointments.size());
+        for (AppointmentDto a : appointments) {
+            rows.add(new Row(a));
+        }
+        return new AppointmentColumnsDto(rows);
+    }
+
+    /** Serialized as a JSON array; property order must match COLUMNS */
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({
+            "id", "date", "time", "status", "reason", "diagnosis", "prescription",
+            "petId", "petName", "petSpecies", "petBreed", "petGender", "petDateOfBirth",
+            "ownerId", "ownerFirstName", "ownerLastName", "ownerPhone",
+            "vetId", "vetFirstName", "vetLastName", "vetClinicId", "clinicId"})
+    public static class Row {
+        public Long id;
+        public LocalDate date;
+        public LocalTime time;
+        public String status;
+        public String reason;
+        public String diagnosis;
+        public String prescription;
+        public Long petId;
+        public String petName;
+        public String petSpecies;
+        public String petBreed;
+        public String petGender;
+        public LocalDate petDateOfBirth;
+        public Long ownerId;
+        public String ownerFirstName;
+        public String ownerLastName;
+        public String ownerPhone;
+        public Long vetId;
+        public String vetFirstName;
+        public String vetLastName;
+        public Long vetClinicId;
+        public Long clinicId;
+
+        public Row() {}
+
+        Row(AppointmentDto a) {
+            this.id = a.id;
+            this.date = a.date;
+            this.time = a.time;
+            this.status = a.status;
+            this.reason = a.reason;
+            this.diagnosis = a.diagnosis;
+            this.prescription = a.prescription;
+            this.clinicId = a.clinicId;
+            if (a.pet != null) {
+                this.petId = a.pet.id;
+                this.petName = a.pet.name;
+                this.petSpecies = a.pet.species;
+                this.petBreed = a.pet.breed;
+                this.petGender = a.pet.gender;
+                this.petDateOfBirth = a.pet.dateOfBirth;
+                if (a.pet.owner != null) {
+                    this.ownerId = a.pet.owner.id;
+                    this.ownerFirstName = a.pet.owner.firstName;
+                    this.ownerLastName = a.pet.owner.lastName;
+                    this.ownerPhone = a.pet.owner.phone;
+                }
+            }
+            if (a.vet != null) {
+                this.vetId = a.vet.id;
+                this.vetFirstName = a.vet.firstName;
+                this.vetLastName = a.vet.lastName;
+                this.vetClinicId = a.vet.clinicId;
+            }
+        }
+    }
+}
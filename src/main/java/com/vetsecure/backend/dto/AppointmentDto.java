@@ -1,5 +1,7 @@
 package com.vetsecure.backend.dto;
 
+import com.vetsecure.backend.model.Appointment;
+
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -12,5 +14,32 @@ public class AppointmentDto {
     public String reason;
     public String diagnosis;
     public String prescription;
+    public Long clinicId;
     public PetDto pet;
-}
\ No newline at end of file
+    public VetDto vet;
+
+    public AppointmentDto() {}
+
+    // used by constructor-expression queries (select new ...AppointmentDto(...)); vet columns are null when unassigned
+    public AppointmentDto(Long id, LocalDate date, LocalTime time, Appointment.AppointmentStatus status,
+                          String reason, String diagnosis, String prescription,
+                          Long petId, String petName, String petSpecies, String petBreed, String petGender,
+                          LocalDate petDateOfBirth,
+                          Long ownerId, String ownerFirstName, String ownerLastName, String ownerPhone,
+                          Long vetId, String vetFirstName, String vetLastName, Long vetClinicId,
+                          Long clinicId) {
+        this.id = id;
+        this.date = date;
+        this.time = time;
+        this.status = status != null ? status.name() : null;
+        this.reason = reason;
+        this.diagnosis = diagnosis;
+        this.prescription = prescription;
+        this.clinicId = clinicId;
+        this.pet = new PetDto(petId, petName, petSpecies, petBreed, petGender, null, petDateOfBirth,
+                ownerId, ownerFirstName, ownerLastName, ownerPhone);
+        if (vetId != null) {
+            this.vet = new VetDto(vetId, vetFirstName, vetLastName, null, null, vetClinicId, null, null);
+        }
+    }
+}
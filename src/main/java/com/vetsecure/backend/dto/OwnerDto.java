@@ -3,6 +3,26 @@ package com.vetsecure.backend.dto;
 public class OwnerDto {
     public Long id;
     public String name;
+    public String firstName;
+    public String lastName;
     public String email;
     public String phone;
-}
\ No newline at end of file
+
+    public OwnerDto() {}
+
+    // used by constructor-expression queries (select new ...OwnerDto(...))
+    public OwnerDto(Long id, String firstName, String lastName, String phone, String email) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.name = joinName(firstName, lastName);
+        this.phone = phone;
+        this.email = email;
+    }
+
+    static String joinName(String firstName, String lastName) {
+        if (firstName == null) return lastName;
+        if (lastName == null) return firstName;
+        return firstName + " " + lastName;
+    }
+}
@@ -1,12 +1,36 @@
 package com.vetsecure.backend.dto;
 
+import java.time.LocalDate;
+
 public class PetDto {
     public Long id;
     public String name;
     public String species;
     public String breed;
     public String sex;
+    public String gender;
+    public Double weight;
+    public LocalDate dateOfBirth;
     public Integer age;
     public String microchip;
     public OwnerDto owner;
-}
\ No newline at end of file
+
+    public PetDto() {}
+
+    // used by constructor-expression queries (select new ...PetDto(...))
+    public PetDto(Long id, String name, String species, String breed, String gender,
+                  Double weight, LocalDate dateOfBirth,
+                  Long ownerId, String ownerFirstName, String ownerLastName, String ownerPhone) {
+        this.id = id;
+        this.name = name;
+        this.species = species;
+        this.breed = breed;
+        this.gender = gender;
+        this.sex = gender;
+        this.weight = weight;
+        this.dateOfBirth = dateOfBirth;
+        if (ownerId != null) {
+            this.owner = new OwnerDto(ownerId, ownerFirstName, ownerLastName, ownerPhone, null);
+        }
+    }
+}
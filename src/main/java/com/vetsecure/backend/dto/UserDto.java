@@ -0,0 +1,51 @@
+package com.vetsecure.backend.dto;
+
+import com.vetsecure.backend.model.AuthProvider;
+import com.vetsecure.backend.model.Role;
+import com.vetsecure.backend.model.User;
+
+/**
+ * Read model for users. Never carries passwordHash, mfaSecret or recovery hashes.
+ * role keeps the { id, name } shape the frontend reads (user.role.name).
+ */
+public class UserDto {
+    public Long id;
+    public String username;
+    public String email;
+    public RoleRef role;
+    public boolean mfaEnabled;
+    public String profilePictureUrl;
+    public AuthProvider authProvider;
+
+    public static class RoleRef {
+        public Long id;
+        public Role.RoleType name;
+
+        public RoleRef(Long id, Role.RoleType name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    public UserDto() {}
+
+    // used by constructor-expression queries (select new ...UserDto(...))
+    public UserDto(Long id, String username, String email, Long roleId, Role.RoleType roleName,
+                   boolean mfaEnabled, String profilePictureUrl, AuthProvider authProvider) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.role = roleId == null ? null : new RoleRef(roleId, roleName);
+        this.mfaEnabled = mfaEnabled;
+        this.profilePictureUrl = profilePictureUrl;
+        this.authProvider = authProvider;
+    }
+
+    /** For write endpoints that already hold a managed User. */
+    public static UserDto from(User u) {
+        Role r = u.getRole();
+        return new UserDto(u.getId(), u.getUsername(), u.getEmail(),
+                r == null ? null : r.getId(), r == null ? null : r.getName(),
+                u.isMfaEnabled(), u.getProfilePictureUrl(), u.getAuthProvider());
+    }
+}
@@ -0,0 +1,27 @@
+package com.vetsecure.backend.dto;
+
+public class VetDto {
+    public Long id;
+    public String firstName;
+    public String lastName;
+    public String license;
+    public String role;
+    public Long clinicId;
+    public String clinicName;
+    public String email;
+
+    public VetDto() {}
+
+    // used by constructor-expression queries (select new ...VetDto(...))
+    public VetDto(Long id, String firstName, String lastName, String license, String role,
+                  Long clinicId, String clinicName, String email) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.license = license;
+        this.role = role;
+        this.clinicId = clinicId;
+        this.clinicName = clinicName;
+        this.email = email;
+    }
+}
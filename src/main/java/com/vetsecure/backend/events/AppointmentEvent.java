@@ -0,0 +1,27 @@
+package com.vetsecure.backend.events;
+
+import com.vetsecure.backend.dto.AppointmentDto;
+
+/**
+ * An appointment changed. Published in-process (ApplicationEventPublisher) by the appointment write paths
+ * and fanned out to dashboards by {@link AppointmentEventHub} once the transaction commits.
+ *
+ * appointment is the post-change projection as of the publishing transaction; for DELETED it is the last
+ * state before deletion. When it is null the hub loads it after commit.
+ */
+public record AppointmentEvent(Type type, Long appointmentId, AppointmentDto appointment) {
+
+    public enum Type { CREATED, UPDATED, STATUS_CHANGED, CANCELLED, DELETED }
+
+    public AppointmentEvent withAppointment(AppointmentDto dto) {
+        return new AppointmentEvent(type, appointmentId, dto);
+    }
+
+    public Long vetId() {
+        return appointment != null && appointment.vet != null ? appointment.vet.id : null;
+    }
+
+    public Long clinicId() {
+        return appointment != null ? appointment.clinicId : null;
+    }
+}
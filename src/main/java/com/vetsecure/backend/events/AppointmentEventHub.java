@@ -0,0 +1,268 @@
+package com.vetsecure.backend.events;
+
+import com.vetsecure.backend.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of {@link AppointmentEvent}s to Server-Sent Event streams, one stream per clinic or vet.
+ *
+ * - Every committed event gets a global sequence number and goes into a small ring buffer. The SSE id is
+ *   "<epoch>-<seq>", the epoch being fixed per boot. A reconnecting client sends Last-Event-ID and is
+ *   replayed what it missed; if that id has already fallen out of the ring, or comes from another boot
+ *   (sequence numbers restart at 1), it gets a single "reset" event and should re-fetch its list once.
+ * - Each subscriber has a bounded queue drained by a shared sender pool, so one slow connection never
+ *   blocks publishers or other dashboards. A subscriber whose queue is full is dropped (the browser
+ *   reconnects and resumes from its last id).
+ * - A heartbeat comment keeps idle connections open through proxies.
+ *
+ * State is per instance; with several instances behind a load balancer each one only sees its own writes.
+ */
+@Component
+public class AppointmentEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentEventHub.class);
+
+    public enum Scope { CLINIC, VET }
+
+    private final AppointmentRepository appointments;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    // distinguishes ids handed out before a restart from this boot's, which start at 1 again
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // ring buffer of the last ring.length events; guarded by "this"
+    private final Envelope[] ring;
+    private long nextId = 1;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService senders;
+    private final ScheduledFuture<?> heartbeat;
+    private final Map<String, Counter> dropped = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public AppointmentEventHub(
+            AppointmentRepository appointments,
+            TaskScheduler scheduler,
+            MeterRegistry registry,
+            @Value("${app.sse.replay-size:512}") int replaySize,
+            @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+            @Value("${app.sse.timeout:30m}") Duration timeout,
+            @Value("${app.sse.heartbeat:20s}") Duration heartbeatEvery,
+            @Value("${app.sse.sender-threads:4}") int senderThreads
+    ) {
+        this.appointments = appointments;
+        this.registry = registry;
+        this.ring = new Envelope[Math.max(replaySize, 1)];
+        this.queueCapacity = Math.max(queueCapacity, 1);
+        this.timeoutMillis = timeout.toMillis();
+
+        AtomicInteger n = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(senderThreads, 1), r -> {
+            Thread t = new Thread(r, "sse-sender-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.heartbeat = scheduler.scheduleAtFixedRate(this::ping, Instant.now().plus(heartbeatEvery), heartbeatEvery);
+
+        Gauge.builder("vetsecure.sse.subscribers", subscribers, Set::size)
+                .description("Open appointment event streams")
+                .register(registry);
+    }
+
+    /** Runs after the publishing transaction commits, or immediately when there is none */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AppointmentEvent event) {
+        AppointmentEvent resolved = event.appointment() != null
+                ? event
+                : appointments.findDtoById(event.appointmentId()).map(event::withAppointment).orElse(null);
+        if (resolved == null) return; // gone again before we got to it
+        publish(resolved);
+    }
+
+    void publish(AppointmentEvent event) {
+        List<Subscriber> slow = new ArrayList<>();
+        synchronized (this) {
+            Envelope env = new Envelope(nextId++, event);
+            ring[(int) (env.id % ring.length)] = env;
+            for (Subscriber s : subscribers) {
+                if (s.matches(event) && !s.queue.offer(env)) slow.add(s);
+            }
+        }
+        for (Subscriber s : slow) drop(s, "slow");
+        for (Subscriber s : subscribers) {
+            if (!s.queue.isEmpty()) s.schedule();
+        }
+    }
+
+    public SseEmitter subscribe(Scope scope, Long id, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber sub = new Subscriber(scope, id, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        emitter.onCompletion(() -> subscribers.remove(sub));
+        emitter.onTimeout(() -> subscribers.remove(sub));
+        emitter.onError(e -> subscribers.remove(sub));
+
+        Long lastSeq = lastEventId == null || lastEventId.isBlank() ? null : sequenceOf(lastEventId);
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                long oldest = Math.max(1, nextId - ring.length);
+                // another boot's (or malformed) id, fell out of the ring, or not handed out yet
+                if (lastSeq == null || lastSeq + 1 < oldest || lastSeq >= nextId) {
+                    sub.queue.offer(Envelope.RESET);
+                } else {
+                    for (long i = Math.max(lastSeq + 1, oldest); i < nextId; i++) {
+                        Envelope env = ring[(int) (i % ring.length)];
+                        if (env != null && env.id == i && sub.matches(env.event) && !sub.queue.offer(env)) {
+                            sub.queue.clear(); // too much to replay: let the client re-fetch instead
+                            sub.queue.offer(Envelope.RESET);
+                            break;
+                        }
+                    }
+                }
+            }
+            subscribers.add(sub);
+        }
+        if (!sub.queue.isEmpty()) sub.schedule();
+        return emitter;
+    }
+
+    /** Sequence number of an id from this boot, or null */
+    private Long sequenceOf(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash <= 0 || !eventId.substring(0, dash).equals(epoch)) return null;
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void ping() {
+        for (Subscriber s : subscribers) {
+            if (!s.queue.offer(Envelope.PING)) {
+                drop(s, "slow");
+            } else {
+                s.schedule();
+            }
+        }
+    }
+
+    private void drop(Subscriber s, String reason) {
+        if (!subscribers.remove(s)) return;
+        dropped.computeIfAbsent(reason, r -> Counter.builder("vetsecure.sse.dropped")
+                        .description("Appointment event streams closed by the server")
+                        .tag("reason", r)
+                        .register(registry))
+                .increment();
+        log.debug("Dropping SSE subscriber {}:{} ({})", s.scope, s.id, reason);
+        try {
+            s.emitter.complete();
+        } catch (Exception ignored) {
+            // already closed by the container
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.cancel(false);
+        senders.shutdownNow();
+        for (Subscriber s : subscribers) {
+            try {
+                s.emitter.complete();
+            } catch (Exception ignored) {
+                // shutting down anyway
+            }
+        }
+        subscribers.clear();
+    }
+
+    private record Envelope(long id, AppointmentEvent event) {
+        static final Envelope PING = new Envelope(-1, null);
+        static final Envelope RESET = new Envelope(-2, null);
+    }
+
+    private final class Subscriber {
+        final Scope scope;
+        final Long id;
+        final SseEmitter emitter;
+        final BlockingQueue<Envelope> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(Scope scope, Long id, SseEmitter emitter, BlockingQueue<Envelope> queue) {
+            this.scope = scope;
+            this.id = id;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        boolean matches(AppointmentEvent e) {
+            return id.equals(scope == Scope.CLINIC ? e.clinicId() : e.vetId());
+        }
+
+        void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (Exception e) {
+                    draining.set(false); // pool shut down
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Envelope env;
+                while ((env = queue.poll()) != null) {
+                    send(env);
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(this, "disconnected");
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) schedule(); // raced with a publisher
+        }
+
+        private void send(Envelope env) throws IOException {
+            if (env == Envelope.PING) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } else if (env == Envelope.RESET) {
+                emitter.send(SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(epoch + "-" + env.id)
+                        .name(env.event.type().name().toLowerCase(Locale.ROOT))
+                        .data(env.event, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.vetsecure.backend.events;
+
+import com.vetsecure.backend.dto.AppointmentDto;
+import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.outbox.Outbox;
+import com.vetsecure.backend.repository.AppointmentRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Thin publisher used by AppointmentController / AppointmentService after each write.
+ * Each call also records the event in the outbox, so it has to run inside the writing transaction.
+ */
+@Component
+public class AppointmentEvents {
+
+    private final ApplicationEventPublisher publisher;
+    private final AppointmentRepository appointments;
+    private final Outbox outbox;
+
+    public AppointmentEvents(ApplicationEventPublisher publisher, AppointmentRepository appointments, Outbox outbox) {
+        this.publisher = publisher;
+        this.appointments = appointments;
+        this.outbox = outbox;
+    }
+
+    public void created(Long id) {
+        publish(AppointmentEvent.Type.CREATED, id);
+    }
+
+    public void updated(Long id) {
+        publish(AppointmentEvent.Type.UPDATED, id);
+    }
+
+    public void statusChanged(Long id, Appointment.AppointmentStatus status) {
+        publish(status == Appointment.AppointmentStatus.CANCELLED
+                ? AppointmentEvent.Type.CANCELLED
+                : AppointmentEvent.Type.STATUS_CHANGED, id);
+    }
+
+    /** Call before deleting: the routing (vet/clinic) can't be looked up afterwards */
+    public void deleting(Long id) {
+        appointments.findDtoById(id).ifPresent(dto -> {
+            outbox.record(Outbox.APPOINTMENT, id, eventType(AppointmentEvent.Type.DELETED), dto);
+            publisher.publishEvent(new AppointmentEvent(AppointmentEvent.Type.DELETED, id, dto));
+        });
+    }
+
+    private void publish(AppointmentEvent.Type type, Long id) {
+        if (id == null) return;
+        // payload is the state as of this transaction (the query flushes the pending write first)
+        AppointmentDto dto = appointments.findDtoById(id).orElse(null);
+        outbox.record(Outbox.APPOINTMENT, id, eventType(type), dto != null ? dto : Map.of("id", id));
+        publisher.publishEvent(new AppointmentEvent(type, id, dto));
+    }
+
+    /** e.g. appointment.status_changed */
+    private static String eventType(AppointmentEvent.Type type) {
+        return Outbox.APPOINTMENT + "." + type.name().toLowerCase(Locale.ROOT);
+    }
+}
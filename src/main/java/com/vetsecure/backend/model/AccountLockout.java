@@ -0,0 +1,44 @@
+package com.vetsecure.backend.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Persisted lockout state of one account for one kind of check, e.g. "login|jane@example.com" (V13).
+ * Written in batches by LoginFailures only when an account gets locked or is cleared, never per failure.
+ */
+@Entity
+@Table(name = "account_lockouts", indexes = {
+        // mirrored by V13 migration
+        @Index(name = "idx_account_lockouts_updated", columnList = "updated_at")
+})
+public class AccountLockout {
+
+    @Id
+    @Column(length = 191)
+    private String subject;
+
+    // consecutive lockouts, drives the exponential backoff
+    @Column(nullable = false)
+    private int lockouts;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public AccountLockout() {}
+
+    public AccountLockout(String subject, int lockouts, Instant lockedUntil, Instant updatedAt) {
+        this.subject = subject;
+        this.lockouts = lockouts;
+        this.lockedUntil = lockedUntil;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getSubject() { return subject; }
+    public int getLockouts() { return lockouts; }
+    public Instant getLockedUntil() { return lockedUntil; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
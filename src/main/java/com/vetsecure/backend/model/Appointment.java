@@ -4,10 +4,16 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        // clinic dashboards: range scan on (clinic_id, date, time), mirrored by V9 migration
+        @Index(name = "idx_appointments_clinic_date_time", columnList = "clinic_id, date, time"),
+        // vet overlap checks: starts_at range per vet, mirrored by V10 migration
+        @Index(name = "idx_appointments_vet_interval", columnList = "vet_id, starts_at, ends_at")
+})
 public class Appointment {
 
     @Id
@@ -20,6 +26,11 @@ public class Appointment {
     @JsonIgnoreProperties({"clinic", "user", "schedules"})
     private Vet vet;
 
+    // Denormalized owning clinic: set from the booking request, or from the vet once one is assigned.
+    // Lets clinic-scoped queries skip the join through vets and covers requests that have no vet yet.
+    @Column(name = "clinic_id")
+    private Long clinicId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pet_id", nullable = false)
     @NotNull(message = "Pet is required")
@@ -35,6 +46,18 @@ public class Appointment {
     @NotNull(message = "Appointment time is required")
     private LocalTime time;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "service_type", nullable = false, length = 20)
+    private ServiceType serviceType = ServiceType.CONSULTATION;
+
+    // [startsAt, endsAt) is derived from date + time + serviceType (see syncInterval) and is what
+    // conflict checks compare; date/time stay the API-facing fields
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
     @Column(length = 500)
     @Size(max = 500, message = "Reason cannot exceed 500 characters")
     private String reason;
@@ -57,16 +80,49 @@ public class Appointment {
         CANCELLED
     }
 
+    /** What the visit is for; decides how long the vet is blocked */
+    public enum ServiceType {
+        CONSULTATION(30),
+        VACCINATION(15),
+        CHECKUP(30),
+        FOLLOW_UP(15),
+        DENTAL(60),
+        SURGERY(120);
+
+        /** Longest duration of any type; bounds the starts_at range scanned by overlap queries */
+        public static final int MAX_MINUTES = 120;
+
+        private final int minutes;
+
+        ServiceType(int minutes) {
+            this.minutes = minutes;
+        }
+
+        public int minutes() {
+            return minutes;
+        }
+    }
+
     // Constructors
     public Appointment() {}
 
     public Appointment(Vet vet, Pet pet, LocalDate date, LocalTime time, String reason) {
-        this.vet = vet;
+        setVet(vet);
         this.pet = pet;
         this.date = date;
         this.time = time;
         this.reason = reason;
         this.status = AppointmentStatus.PENDING;
+        syncInterval();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncInterval() {
+        if (date == null || time == null) return;
+        ServiceType type = serviceType != null ? serviceType : ServiceType.CONSULTATION;
+        this.startsAt = date.atTime(time);
+        this.endsAt = startsAt.plusMinutes(type.minutes());
     }
 
     // Getters and Setters
@@ -82,8 +138,20 @@ public class Appointment {
         return vet;
     }
 
+    /** Assigning a vet also moves the appointment to the vet's clinic; unassigning keeps the clinic */
     public void setVet(Vet vet) {
         this.vet = vet;
+        if (vet != null && vet.getClinic() != null) {
+            this.clinicId = vet.getClinic().getId();
+        }
+    }
+
+    public Long getClinicId() {
+        return clinicId;
+    }
+
+    public void setClinicId(Long clinicId) {
+        this.clinicId = clinicId;
     }
 
     public Pet getPet() {
@@ -100,6 +168,7 @@ public class Appointment {
 
     public void setDate(LocalDate date) {
         this.date = date;
+        syncInterval();
     }
 
     public LocalTime getTime() {
@@ -108,6 +177,24 @@ public class Appointment {
 
     public void setTime(LocalTime time) {
         this.time = time;
+        syncInterval();
+    }
+
+    public ServiceType getServiceType() {
+        return serviceType;
+    }
+
+    public void setServiceType(ServiceType serviceType) {
+        this.serviceType = serviceType;
+        syncInterval();
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public LocalDateTime getEndsAt() {
+        return endsAt;
     }
 
     public String getReason() {
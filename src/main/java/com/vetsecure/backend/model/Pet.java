@@ -6,7 +6,11 @@ import jakarta.validation.constraints.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "pets")
+@Table(name = "pets", indexes = {
+        // mirrored in V7__admin_listing_indexes.sql
+        @Index(name = "idx_pets_species_name", columnList = "species, name"),
+        @Index(name = "idx_pets_name", columnList = "name")
+})
 public class Pet {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -6,7 +6,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 
 @Entity
-@Table(name = "pet_owners")
+@Table(name = "pet_owners", indexes = {
+        @Index(name = "idx_pet_owners_last_name", columnList = "last_name")
+})
 public class PetOwner {
     @Id
     private Long id; // same as user.id
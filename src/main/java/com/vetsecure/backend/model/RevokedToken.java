@@ -0,0 +1,45 @@
+package com.vetsecure.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Generated;
+
+import java.time.Instant;
+
+/** A revoked token id (jti) or token family, kept until expires_at; see TokenRevocations (V14, V15) */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        // mirrored by V14/V15 migrations
+        @Index(name = "idx_revoked_tokens_expires", columnList = "expires_at"),
+        @Index(name = "idx_revoked_tokens_created", columnList = "created_at")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    // set by the database on insert; other instances sync on it, not on the writer's revokedAt
+    @Generated
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant createdAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String id, Instant expiresAt, Instant revokedAt) {
+        this.id = id;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    public String getId() { return id; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public Instant getRevokedAt() { return revokedAt; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,58 @@
+package com.vetsecure.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/** A short-lived reservation of [startsAt, endsAt) with a vet while an owner finishes booking (V11) */
+@Entity
+@Table(name = "slot_holds", indexes = {
+        // mirrored by V11 migration
+        @Index(name = "idx_slot_holds_vet_interval", columnList = "vet_id, starts_at, ends_at"),
+        @Index(name = "idx_slot_holds_expires", columnList = "expires_at"),
+        @Index(name = "idx_slot_holds_user", columnList = "user_id, expires_at")
+})
+public class SlotHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String token;
+
+    @Column(name = "vet_id", nullable = false)
+    private Long vetId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at", nullable = false)
+    private LocalDateTime endsAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public SlotHold() {}
+
+    public SlotHold(String token, Long vetId, Long userId, LocalDateTime startsAt, LocalDateTime endsAt,
+                    LocalDateTime expiresAt) {
+        this.token = token;
+        this.vetId = vetId;
+        this.userId = userId;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getToken() { return token; }
+    public Long getVetId() { return vetId; }
+    public Long getUserId() { return userId; }
+    public LocalDateTime getStartsAt() { return startsAt; }
+    public LocalDateTime getEndsAt() { return endsAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_id", columnList = "role_id, id")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
 @Entity
-@Table(name = "vets")
+@Table(name = "vets", indexes = {
+        @Index(name = "idx_vets_clinic_last_name", columnList = "clinic_id, last_name"),
+        @Index(name = "idx_vets_last_name", columnList = "last_name")
+})
 public class Vet {
     @Id
     private Long id; // same as user.id
@@ -0,0 +1,88 @@
+package com.vetsecure.backend.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * An owner waiting for a slot at a clinic (optionally with one vet) for one pet. Any freed slot starting
+ * inside [windowStart, windowEnd] and long enough for serviceType can be booked for them automatically.
+ * Higher priority first, then first come first served. V12 migration.
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        // mirrored by V12 migration
+        @Index(name = "idx_waitlist_clinic_status", columnList = "clinic_id, status, window_end"),
+        @Index(name = "idx_waitlist_owner", columnList = "owner_user_id, status")
+})
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_user_id", nullable = false)
+    private Long ownerUserId;
+
+    @Column(name = "pet_id", nullable = false)
+    private Long petId;
+
+    @Column(name = "clinic_id", nullable = false)
+    private Long clinicId;
+
+    // null = any doctor at the clinic
+    @Column(name = "vet_id")
+    private Long vetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "service_type", nullable = false, length = 20)
+    private Appointment.ServiceType serviceType = Appointment.ServiceType.CONSULTATION;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    private LocalDateTime windowEnd;
+
+    @Column(nullable = false)
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.WAITING;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    public enum Status { WAITING, BOOKED, CANCELLED }
+
+    public WaitlistEntry() {}
+
+    // Getters & setters
+    public Long getId() { return id; }
+    public Long getOwnerUserId() { return ownerUserId; }
+    public void setOwnerUserId(Long ownerUserId) { this.ownerUserId = ownerUserId; }
+    public Long getPetId() { return petId; }
+    public void setPetId(Long petId) { this.petId = petId; }
+    public Long getClinicId() { return clinicId; }
+    public void setClinicId(Long clinicId) { this.clinicId = clinicId; }
+    public Long getVetId() { return vetId; }
+    public void setVetId(Long vetId) { this.vetId = vetId; }
+    public Appointment.ServiceType getServiceType() { return serviceType; }
+    public void setServiceType(Appointment.ServiceType serviceType) { this.serviceType = serviceType; }
+    public LocalDateTime getWindowStart() { return windowStart; }
+    public void setWindowStart(LocalDateTime windowStart) { this.windowStart = windowStart; }
+    public LocalDateTime getWindowEnd() { return windowEnd; }
+    public void setWindowEnd(LocalDateTime windowEnd) { this.windowEnd = windowEnd; }
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+}
@@ -0,0 +1,100 @@
+package com.vetsecure.backend.observability;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Thin JDBC wrapper that adds execution time and rows read/updated to the current {@link QueryStats}.
+ * (A StatementInspector only sees SQL text, not timing or result sizes.) Outside a request it is a pass-through.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection c) {
+        return proxy(Connection.class, c, (p, m, args) -> {
+            Object r = invoke(c, m, args);
+            if (r instanceof CallableStatement cs) return wrapStatement(CallableStatement.class, cs);
+            if (r instanceof PreparedStatement ps) return wrapStatement(PreparedStatement.class, ps);
+            if (r instanceof Statement st) return wrapStatement(Statement.class, st);
+            return r;
+        });
+    }
+
+    private static <S extends Statement> S wrapStatement(Class<S> type, S st) {
+        return proxy(type, st, (p, m, args) -> {
+            String name = m.getName();
+            QueryStats stats = QueryStats.current();
+            if (stats == null || !name.startsWith("execute")) {
+                Object r = invoke(st, m, args);
+                return (r instanceof ResultSet rs && stats != null) ? wrapResultSet(rs, stats) : r;
+            }
+            long t0 = System.nanoTime();
+            try {
+                Object r = invoke(st, m, args);
+                if (r instanceof ResultSet rs) return wrapResultSet(rs, stats);
+                if (r instanceof Integer n && n > 0) stats.rows += n;
+                if (r instanceof Long n && n > 0) stats.rows += n;
+                return r;
+            } finally {
+                stats.jdbcNanos += System.nanoTime() - t0;
+            }
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet rs, QueryStats stats) {
+        return proxy(ResultSet.class, rs, (p, m, args) -> {
+            if (!"next".equals(m.getName())) return invoke(rs, m, args);
+            long t0 = System.nanoTime(); // row fetches are JDBC time too
+            try {
+                Object r = invoke(rs, m, args);
+                if (Boolean.TRUE.equals(r)) stats.rows++;
+                return r;
+            } finally {
+                stats.jdbcNanos += System.nanoTime() - t0;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler h) {
+        // equals/hashCode stay identity-based on the proxy so pools and Hibernate can track the wrapped objects
+        InvocationHandler handler = (p, m, args) -> switch (m.getName()) {
+            case "equals" -> args != null && args.length == 1 && p == args[0];
+            case "hashCode" -> System.identityHashCode(p);
+            default -> h.invoke(p, m, args);
+        };
+        return (T) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method m, Object[] args) throws Throwable {
+        try {
+            return m.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
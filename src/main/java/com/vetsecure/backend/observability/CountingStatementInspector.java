@@ -0,0 +1,61 @@
+package com.vetsecure.backend.observability;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.regex.Pattern;
+
+/**
+ * Sees every SQL string Hibernate prepares. Counts statements per request and groups them by
+ * "shape" (literals and IN-lists collapsed) so a loop issuing the same query N times stands out.
+ * In FAIL mode an over-budget request is aborted right here, before the offending statement runs.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(CountingStatementInspector.class);
+
+    private static final Pattern WS = Pattern.compile("\\s+");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern STRING = Pattern.compile("'[^']*'");
+    private static final Pattern IN_LIST = Pattern.compile("in\\s*\\((\\s*\\?\\s*,)*\\s*\\?\\s*\\)", Pattern.CASE_INSENSITIVE);
+
+    private final QueryBudgetProperties props;
+
+    public CountingStatementInspector(QueryBudgetProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStats.current();
+        if (stats == null) return sql;
+
+        stats.statements++;
+        int repeats = stats.shapes.merge(shape(sql), 1, Integer::sum);
+
+        if (props.getMode() == QueryBudgetProperties.Mode.OFF) return sql;
+
+        String handler = QueryBudgetFilter.currentHandler(stats);
+        int budget = props.budgetFor(handler);
+        if (stats.statements > budget && props.getMode() == QueryBudgetProperties.Mode.FAIL) {
+            throw new IllegalStateException("Query budget exceeded for " + handler + ": "
+                    + stats.statements + " statements (budget " + budget + ")");
+        }
+        if (repeats == props.getMaxRepeats() + 1 && !stats.repeatReported) {
+            stats.repeatReported = true;
+            String msg = "Possible N+1 in " + handler + ": same statement ran " + repeats + " times: " + shape(sql);
+            if (props.getMode() == QueryBudgetProperties.Mode.FAIL) throw new IllegalStateException(msg);
+            log.warn(msg);
+        }
+        return sql;
+    }
+
+    static String shape(String sql) {
+        String s = WS.matcher(sql.trim()).replaceAll(" ");
+        s = STRING.matcher(s).replaceAll("?");
+        s = NUMBER.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("in (?)");
+        return s;
+    }
+}
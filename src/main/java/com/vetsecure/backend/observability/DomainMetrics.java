@@ -0,0 +1,82 @@
+package com.vetsecure.backend.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters for the domain hot paths (scraped from /actuator/prometheus).
+ *
+ *   vetsecure.booking.attempts{source}                 counter
+ *   vetsecure.booking{source,outcome,reason}          timer, outcome = success | rejected
+ *   vetsecure.login{outcome}                           timer, outcome = success | mfa_required | bad_credentials | error
+ *   vetsecure.mfa.verify{method,outcome}               timer, method = totp | recovery
+ *   vetsecure.jwt.parse.failures{reason}               counter
+ *
+ * Timers publish percentile histograms so SLOs can be computed server-side (histogram_quantile).
+ */
+@Component
+public class DomainMetrics {
+
+    public static final String SOURCE_CONTROLLER = "controller";
+    public static final String SOURCE_SERVICE = "service";
+
+    private final MeterRegistry registry;
+
+    public DomainMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    // ---------- booking ----------
+
+    public void bookingAttempt(String source) {
+        Counter.builder("vetsecure.booking.attempts")
+                .description("Appointment booking attempts")
+                .tag("source", source)
+                .register(registry)
+                .increment();
+    }
+
+    public void bookingSucceeded(Timer.Sample sample, String source) {
+        sample.stop(timer("vetsecure.booking", "Appointment booking latency",
+                "source", source, "outcome", "success", "reason", "none"));
+    }
+
+    /** reason is a short fixed token (outside_hours, conflict, not_owner, ...), never free text */
+    public void bookingRejected(Timer.Sample sample, String source, String reason) {
+        sample.stop(timer("vetsecure.booking", "Appointment booking latency",
+                "source", source, "outcome", "rejected", "reason", reason));
+    }
+
+    // ---------- auth ----------
+
+    public void login(Timer.Sample sample, String outcome) {
+        sample.stop(timer("vetsecure.login", "Password login latency", "outcome", outcome));
+    }
+
+    public void mfaVerify(Timer.Sample sample, String method, boolean ok) {
+        sample.stop(timer("vetsecure.mfa.verify", "MFA code verification latency",
+                "method", method, "outcome", ok ? "success" : "failure"));
+    }
+
+    public void jwtParseFailure(String reason) {
+        Counter.builder("vetsecure.jwt.parse.failures")
+                .description("Bearer tokens rejected by JwtAuthFilter")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,81 @@
+package com.vetsecure.backend.observability;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-session Hibernate listener (hibernate.session.events.auto) that records the CPU time of each
+ * flush and of the dirty-checking inside it:
+ *
+ *   vetsecure.hibernate.flush.cpu{kind}     kind = full | partial
+ *   vetsecure.hibernate.dirty_check         wall time spent deciding which entities are dirty
+ *
+ * Compare these before and after building with -Penhance: with bytecode dirty tracking the dirty check
+ * no longer compares every managed entity's state field by field.
+ *
+ * Hibernate instantiates this class itself, so it records into the global registry that Boot bridges
+ * to the Prometheus registry.
+ */
+public class FlushTimingListener implements SessionEventListener {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private long flushCpuStart = -1;
+    private long dirtyStart = -1;
+
+    @Override
+    public void flushStart() {
+        flushCpuStart = cpuNanos();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        record("full");
+    }
+
+    @Override
+    public void partialFlushStart() {
+        flushCpuStart = cpuNanos();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        record("partial");
+    }
+
+    @Override
+    public void dirtyCalculationStart() {
+        dirtyStart = System.nanoTime();
+    }
+
+    @Override
+    public void dirtyCalculationEnd(boolean dirty) {
+        if (dirtyStart < 0) return;
+        Timer.builder("vetsecure.hibernate.dirty_check")
+                .description("Time spent in Hibernate dirty checking")
+                .register(Metrics.globalRegistry)
+                .record(System.nanoTime() - dirtyStart, TimeUnit.NANOSECONDS);
+        dirtyStart = -1;
+    }
+
+    private void record(String kind) {
+        if (flushCpuStart < 0) return;
+        long cpu = cpuNanos() - flushCpuStart;
+        flushCpuStart = -1;
+        if (cpu < 0) return;
+        Timer.builder("vetsecure.hibernate.flush.cpu")
+                .description("Thread CPU time per Hibernate flush")
+                .tag("kind", kind)
+                .register(Metrics.globalRegistry)
+                .record(cpu, TimeUnit.NANOSECONDS);
+    }
+
+    private static long cpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+}
@@ -0,0 +1,76 @@
+package com.vetsecure.backend.observability;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs what the JPA bootstrap cost once the application is ready:
+ *
+ *   JPA bootstrap: entityManagerFactory built in 1843 ms (14 entities, ddl-auto=update, enhanced=0/14); app ready in 6.1 s
+ *
+ * and exposes the EMF build time as the gauge vetsecure.startup.jpa (seconds), next to Boot's own
+ * application.ready.time. "enhanced" counts entity classes woven by the -Penhance build.
+ */
+@Component
+public class JpaBootstrapReport implements BeanPostProcessor, ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(JpaBootstrapReport.class);
+    private static final String EMF_BEAN = "entityManagerFactory";
+
+    private long emfStart = -1;
+    private long emfNanos = -1;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (EMF_BEAN.equals(beanName) && emfStart < 0) emfStart = System.nanoTime();
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (EMF_BEAN.equals(beanName) && emfStart >= 0 && emfNanos < 0) emfNanos = System.nanoTime() - emfStart;
+        return bean;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (emfNanos < 0) return;
+        ConfigurableApplicationContext ctx = event.getApplicationContext();
+
+        int entities = 0;
+        int enhanced = 0;
+        var emf = ctx.getBeanProvider(EntityManagerFactory.class).getIfAvailable();
+        if (emf != null) {
+            for (EntityType<?> type : emf.getMetamodel().getEntities()) {
+                entities++;
+                if (ManagedEntity.class.isAssignableFrom(type.getJavaType())) enhanced++;
+            }
+        }
+        String ddlAuto = ctx.getEnvironment().getProperty("spring.jpa.hibernate.ddl-auto", "none");
+        double emfMillis = emfNanos / 1_000_000.0;
+        String ready = event.getTimeTaken() != null
+                ? String.format("%.1f s", event.getTimeTaken().toMillis() / 1000.0)
+                : "n/a";
+
+        log.info("JPA bootstrap: {} built in {} ms ({} entities, ddl-auto={}, enhanced={}/{}); app ready in {}",
+                EMF_BEAN, Math.round(emfMillis), entities, ddlAuto, enhanced, entities, ready);
+
+        ctx.getBeanProvider(MeterRegistry.class).ifAvailable(registry ->
+                Gauge.builder("vetsecure.startup.jpa", () -> emfNanos / (double) TimeUnit.SECONDS.toNanos(1))
+                        .description("Time to build the JPA EntityManagerFactory at startup")
+                        .baseUnit("seconds")
+                        .register(registry));
+    }
+}
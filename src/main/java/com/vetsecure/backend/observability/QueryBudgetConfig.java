@@ -0,0 +1,35 @@
+package com.vetsecure.backend.observability;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/** Wires the per-request SQL instrumentation into Hibernate and the JDBC DataSource */
+@Configuration
+public class QueryBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(QueryBudgetProperties props) {
+        return hibernateProps -> hibernateProps.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new CountingStatementInspector(props));
+    }
+
+    // static: BeanPostProcessors must not drag other beans into early initialization.
+    // Only the application-facing "dataSource" is wrapped; the pools behind it would double count.
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource ds && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(ds);
+                }
+                return bean;
+            }
+        };
+    }
+}
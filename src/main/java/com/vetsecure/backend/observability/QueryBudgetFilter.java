@@ -0,0 +1,85 @@
+package com.vetsecure.backend.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds a {@link QueryStats} to each request and, once the request completes, publishes
+ * statements / rows / JDBC time per handler method:
+ *   http.server.sql.statements, http.server.sql.rows (distribution summaries)
+ *   http.server.sql.time (timer)
+ *   http.server.sql.budget.violations (counter, type=statements|repeats)
+ * Budgets and the N+1 check are configured in {@link QueryBudgetProperties}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // outside the security chain, so JwtAuthFilter lookups are counted too
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final MeterRegistry registry;
+    private final QueryBudgetProperties props;
+
+    public QueryBudgetFilter(MeterRegistry registry, QueryBudgetProperties props) {
+        this.registry = registry;
+        this.props = props;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin(req);
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            QueryStats.end();
+            record(stats);
+        }
+    }
+
+    private void record(QueryStats stats) {
+        String handler = currentHandler(stats);
+        if (handler == null) return; // static resources, 404s, filter-only endpoints
+
+        registry.summary("http.server.sql.statements", "handler", handler).record(stats.statements);
+        registry.summary("http.server.sql.rows", "handler", handler).record(stats.rows);
+        registry.timer("http.server.sql.time", "handler", handler).record(stats.jdbcNanos, TimeUnit.NANOSECONDS);
+
+        if (props.getMode() == QueryBudgetProperties.Mode.OFF) return;
+
+        int budget = props.budgetFor(handler);
+        if (stats.statements > budget) {
+            registry.counter("http.server.sql.budget.violations", "handler", handler, "type", "statements").increment();
+            log.warn("Query budget exceeded in {}: {} statements, {} rows, {} ms JDBC (budget {})",
+                    handler, stats.statements, stats.rows, TimeUnit.NANOSECONDS.toMillis(stats.jdbcNanos), budget);
+        }
+        if (stats.maxRepeats() > props.getMaxRepeats()) {
+            registry.counter("http.server.sql.budget.violations", "handler", handler, "type", "repeats").increment();
+        }
+    }
+
+    /** "AppointmentController#getAllAppointments", or null before the handler is resolved */
+    static String currentHandler(QueryStats stats) {
+        if (stats.handler == null) {
+            Object h = stats.request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+            if (h instanceof HandlerMethod hm) {
+                stats.handler = hm.getBeanType().getSimpleName() + "#" + hm.getMethod().getName();
+            }
+        }
+        return stats.handler;
+    }
+}
@@ -0,0 +1,39 @@
+package com.vetsecure.backend.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * app.query-budget.* settings.
+ *
+ * mode: off (metrics only), warn (log violations) or fail (throw, meant for dev/test runs).
+ * max-statements is the default per-request budget; endpoints.[Controller#method] overrides it.
+ * max-repeats flags a likely N+1: the same statement shape executed more than N times in one request.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.query-budget")
+public class QueryBudgetProperties {
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    private Mode mode = Mode.OFF;
+    private int maxStatements = 50;
+    private int maxRepeats = 10;
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+    public int getMaxStatements() { return maxStatements; }
+    public void setMaxStatements(int maxStatements) { this.maxStatements = maxStatements; }
+    public int getMaxRepeats() { return maxRepeats; }
+    public void setMaxRepeats(int maxRepeats) { this.maxRepeats = maxRepeats; }
+    public Map<String, Integer> getEndpoints() { return endpoints; }
+    public void setEndpoints(Map<String, Integer> endpoints) { this.endpoints = endpoints; }
+
+    public int budgetFor(String handler) {
+        return handler == null ? maxStatements : endpoints.getOrDefault(handler, maxStatements);
+    }
+}
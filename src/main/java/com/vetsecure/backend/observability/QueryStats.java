@@ -0,0 +1,51 @@
+package com.vetsecure.backend.observability;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL activity of the current request, bound to the request thread by {@link QueryBudgetFilter}
+ * and fed by {@link CountingStatementInspector} (statements/shapes) and {@link CountingDataSource} (rows/time).
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    int statements;
+    long rows;
+    long jdbcNanos;
+    final Map<String, Integer> shapes = new HashMap<>();
+    final HttpServletRequest request;
+    String handler;
+    boolean repeatReported;
+
+    private QueryStats(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    static QueryStats begin(HttpServletRequest request) {
+        QueryStats s = new QueryStats(request);
+        CURRENT.set(s);
+        return s;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /** Stats for the current request thread, or null outside a request */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public int statements() { return statements; }
+    public long rows() { return rows; }
+    public long jdbcNanos() { return jdbcNanos; }
+
+    /** How many times the most repeated statement shape ran */
+    public int maxRepeats() {
+        return shapes.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+}
@@ -0,0 +1,46 @@
+package com.vetsecure.backend.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetsecure.backend.model.OutboxEvent;
+import com.vetsecure.backend.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Write side of the transactional outbox: records a domain event as a row in outbox_events, in the
+ * same transaction as the business change it describes. Either both commit or neither does, so
+ * downstream consumers never hear about a write that rolled back and never miss one that committed.
+ * Delivery happens later, from {@link OutboxRelay}.
+ */
+@Component
+public class Outbox {
+
+    public static final String APPOINTMENT = "appointment";
+    public static final String CLINIC = "clinic";
+    public static final String CLINIC_REQUEST = "clinic_request";
+
+    private final OutboxEventRepository repo;
+    private final ObjectMapper mapper;
+
+    public Outbox(OutboxEventRepository repo, ObjectMapper mapper) {
+        this.repo = repo;
+        this.mapper = mapper;
+    }
+
+    /** Must be called inside the writing transaction; fails fast when there is none */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        if (aggregateId == null) throw new IllegalArgumentException("aggregateId is required");
+        String json;
+        try {
+            json = payload == null ? null : mapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " payload", e);
+        }
+        repo.save(new OutboxEvent(aggregateType, aggregateId, eventType, json, Instant.now()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.vetsecure.backend.outbox;
+
+import java.time.Instant;
+
+/**
+ * An outbox row as handed to consumers by {@link OutboxRelay}, via ApplicationEventPublisher
+ * (listen with @EventListener). Delivery is at-least-once: a consumer may see the same id again after
+ * a crash or a failed attempt and should be idempotent on it. Events of one aggregate arrive in order.
+ * A listener that throws fails the attempt and the event is retried with backoff.
+ */
+public record OutboxMessage(
+        Long id,
+        String aggregateType,
+        Long aggregateId,
+        String eventType,
+        String payload,
+        Instant createdAt,
+        int attempt
+) {}
@@ -0,0 +1,238 @@
+package com.vetsecure.backend.outbox;
+
+import com.vetsecure.backend.model.OutboxEvent;
+import com.vetsecure.backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers outbox_events rows to in-process consumers as {@link OutboxMessage}s.
+ *
+ * Each pass claims a batch of due events in a short transaction (FOR UPDATE SKIP LOCKED, so several
+ * instances can run side by side) and leases them by pushing next_attempt_at forward; delivery then runs
+ * outside any transaction, and the outcome is written back in a second short transaction. If the
+ * instance dies mid-delivery the lease simply expires and another pass picks the event up again,
+ * which is why delivery is at-least-once.
+ *
+ * Only the oldest pending event of an aggregate is ever eligible, so a failing event holds back the
+ * later events of the same appointment/clinic (ordering) without affecting anyone else. Failures are
+ * retried with exponential backoff and jitter; after app.outbox.max-attempts the event is marked DEAD
+ * and the aggregate moves on.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository repo;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate tx;
+    private final MeterRegistry registry;
+
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final TaskScheduler scheduler;
+    private final List<ScheduledFuture<?>> tasks = new CopyOnWriteArrayList<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Map<String, Counter> delivered = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failed = new ConcurrentHashMap<>();
+    private final Counter dead;
+    private final Timer deliveryDelay;
+
+    public OutboxRelay(
+            OutboxEventRepository repo,
+            ApplicationEventPublisher publisher,
+            PlatformTransactionManager txManager,
+            TaskScheduler scheduler,
+            MeterRegistry registry,
+            @Value("${app.outbox.enabled:true}") boolean enabled,
+            @Value("${app.outbox.poll-interval:1s}") Duration pollInterval,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.lease:30s}") Duration lease,
+            @Value("${app.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${app.outbox.max-backoff:5m}") Duration maxBackoff,
+            @Value("${app.outbox.retention:7d}") Duration retention
+    ) {
+        this.repo = repo;
+        this.publisher = publisher;
+        this.tx = new TransactionTemplate(txManager);
+        this.registry = registry;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+
+        this.scheduler = scheduler;
+
+        Gauge.builder("vetsecure.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting for delivery")
+                .register(registry);
+        Gauge.builder("vetsecure.outbox.lag", lagMillis, v -> v.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(registry);
+        this.dead = Counter.builder("vetsecure.outbox.dead")
+                .description("Outbox events given up on after max attempts")
+                .register(registry);
+        this.deliveryDelay = Timer.builder("vetsecure.outbox.delivery.delay")
+                .description("Time from commit of the write to successful delivery")
+                .register(registry);
+    }
+
+    /** Starts after the context is fully up, so listeners exist and startup isn't slowed down */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox relay disabled (app.outbox.enabled=false)");
+            return;
+        }
+        Instant now = Instant.now();
+        tasks.add(scheduler.scheduleWithFixedDelay(this::tick, now.plus(pollInterval), pollInterval));
+        tasks.add(scheduler.scheduleWithFixedDelay(this::purge, now.plus(Duration.ofMinutes(1)), Duration.ofHours(1)));
+    }
+
+    private void tick() {
+        try {
+            // keep going while there is work: delivering an aggregate's head unblocks its next event
+            while (runBatch() > 0) {
+                if (Thread.currentThread().isInterrupted()) return;
+            }
+            refreshStats();
+        } catch (Exception e) {
+            // database down etc.; try again next tick
+            log.warn("Outbox relay pass failed: {}", e.toString());
+        }
+    }
+
+    /** One claim/deliver/record cycle; returns the number of events claimed */
+    int runBatch() {
+        List<OutboxEvent> batch = tx.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> claimed = repo.claimDue(now, batchSize);
+            for (OutboxEvent e : claimed) {
+                e.setNextAttemptAt(now.plus(lease));
+            }
+            return claimed;
+        });
+        if (batch == null || batch.isEmpty()) return 0;
+
+        List<OutboxEvent> done = new ArrayList<>(batch.size());
+        Map<OutboxEvent, Exception> errors = new HashMap<>();
+        for (OutboxEvent e : batch) {
+            try {
+                publisher.publishEvent(new OutboxMessage(e.getId(), e.getAggregateType(), e.getAggregateId(),
+                        e.getEventType(), e.getPayload(), e.getCreatedAt(), e.getAttempts() + 1));
+                done.add(e);
+            } catch (Exception ex) {
+                errors.put(e, ex);
+            }
+        }
+
+        tx.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            for (OutboxEvent e : done) {
+                e.setStatus(OutboxEvent.Status.PUBLISHED);
+                e.setPublishedAt(now);
+                e.setAttempts(e.getAttempts() + 1);
+                e.setLastError(null);
+                counter(delivered, "vetsecure.outbox.delivered", "Outbox events delivered", e.getEventType()).increment();
+                deliveryDelay.record(Duration.between(e.getCreatedAt(), now));
+            }
+            errors.forEach((e, ex) -> {
+                int attempts = e.getAttempts() + 1;
+                e.setAttempts(attempts);
+                e.setLastError(truncate(ex.toString()));
+                counter(failed, "vetsecure.outbox.failures", "Failed outbox delivery attempts", e.getEventType()).increment();
+                if (attempts >= maxAttempts) {
+                    e.setStatus(OutboxEvent.Status.DEAD);
+                    dead.increment();
+                    log.error("Outbox event {} ({} {}#{}) is dead after {} attempts: {}",
+                            e.getId(), e.getEventType(), e.getAggregateType(), e.getAggregateId(), attempts, ex.toString());
+                } else {
+                    e.setNextAttemptAt(now.plus(backoff(attempts)));
+                    log.warn("Outbox event {} ({}) failed, attempt {}/{}: {}",
+                            e.getId(), e.getEventType(), attempts, maxAttempts, ex.toString());
+                }
+            });
+            repo.saveAll(batch);
+        });
+        return batch.size();
+    }
+
+    /** initial * 2^(attempts-1), capped, with +/-20% jitter so retries of one burst spread out */
+    Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+
+    private void refreshStats() {
+        pending.set(repo.countByStatus(OutboxEvent.Status.PENDING));
+        Instant oldest = repo.oldestPendingCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis()));
+    }
+
+    private void purge() {
+        try {
+            Integer removed = tx.execute(status -> repo.deletePublishedBefore(Instant.now().minus(retention)));
+            if (removed != null && removed > 0) log.debug("Purged {} published outbox events", removed);
+        } catch (Exception e) {
+            log.warn("Outbox purge failed: {}", e.toString());
+        }
+    }
+
+    private Counter counter(Map<String, Counter> cache, String name, String description, String eventType) {
+        return cache.computeIfAbsent(eventType, t -> Counter.builder(name)
+                .description(description)
+                .tag("event", t)
+                .register(registry));
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= 500 ? s : s.substring(0, 500);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        tasks.forEach(t -> t.cancel(false));
+    }
+}
@@ -0,0 +1,13 @@
+package com.vetsecure.backend.repository;
+
+import com.vetsecure.backend.model.AccountLockout;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface AccountLockoutRepository extends JpaRepository<AccountLockout, String> {
+
+    // startup: lockouts recent enough to still count towards the backoff
+    List<AccountLockout> findByUpdatedAtAfter(Instant since);
+}
@@ -0,0 +1,77 @@
+package com.vetsecure.backend.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills denormalized appointment columns on rows written before they existed.
+ *
+ * Flyway is disabled, so the backfills in the V* scripts never run; ddl-auto=update adds the columns
+ * but leaves legacy rows NULL, and queries filtering on those columns would skip them. This runs once
+ * per boot, after Hibernate has updated the schema and before the web server takes requests. Each
+ * statement only touches rows that are still NULL (idempotent) and works in small batches so no
+ * long-running lock is held.
+ */
+@Component
+public class AppointmentBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentBackfill.class);
+
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+
+    // the EntityManagerFactory is only a dependency: its schema update must have run first
+    public AppointmentBackfill(JdbcTemplate jdbc, EntityManagerFactory schemaReady,
+                               @Value("${app.backfill.batch-size:1000}") int batchSize) {
+        this.jdbc = jdbc;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @PostConstruct
+    void run() {
+        // clinic_id (V9): from the assigned vet; vet-less rows without a clinic have nothing to copy
+        backfill("clinic_id",
+                "UPDATE appointments a SET a.clinic_id = (SELECT v.clinic_id FROM vets v WHERE v.id = a.vet_id) " +
+                "WHERE a.clinic_id IS NULL " +
+                "AND EXISTS (SELECT 1 FROM vets v WHERE v.id = a.vet_id AND v.clinic_id IS NOT NULL) " +
+                "LIMIT " + batchSize);
+
+        // service_type, starts_at/ends_at (V10). ddl-auto adds the NOT NULL service_type column with MySQL's
+        // implicit '' on existing rows, which wouldn't map to the enum.
+        backfill("service_type",
+                "UPDATE appointments SET service_type = 'CONSULTATION' " +
+                "WHERE service_type IS NULL OR service_type = '' LIMIT " + batchSize);
+        // without an interval a row is invisible to every overlap check; durations match Appointment.ServiceType
+        backfill("starts_at/ends_at",
+                "UPDATE appointments " +
+                "SET starts_at = TIMESTAMP(date, time), " +
+                "    ends_at = TIMESTAMP(date, time) + INTERVAL (CASE service_type " +
+                "        WHEN 'VACCINATION' THEN 15 " +
+                "        WHEN 'FOLLOW_UP' THEN 15 " +
+                "        WHEN 'DENTAL' THEN 60 " +
+                "        WHEN 'SURGERY' THEN 120 " +
+                "        ELSE 30 END) MINUTE " +
+                "WHERE starts_at IS NULL AND date IS NOT NULL AND time IS NOT NULL LIMIT " + batchSize);
+    }
+
+    private void backfill(String what, String sql) {
+        long total = 0;
+        try {
+            int n;
+            do {
+                n = jdbc.update(sql);
+                total += n;
+            } while (n == batchSize);
+        } catch (Exception e) {
+            // never block the boot on this; the next start retries
+            log.warn("Appointment backfill of {} stopped after {} rows: {}", what, total, e.getMessage());
+            return;
+        }
+        if (total > 0) log.info("Backfilled {} on {} legacy appointments", what, total);
+    }
+}
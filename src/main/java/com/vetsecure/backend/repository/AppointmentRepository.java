@@ -1,15 +1,63 @@
 package com.vetsecure.backend.repository;
 
+import com.vetsecure.backend.dto.AppointmentDto;
 import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.scheduling.BookedInterval;
+import com.vetsecure.backend.scheduling.VetBusy;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    // Read-side projection: one row per appointment, no entity hydration, no lazy loads during serialization
+    String DTO_SELECT = "select new com.vetsecure.backend.dto.AppointmentDto(" +
+            "a.id, a.date, a.time, a.status, a.reason, a.diagnosis, a.prescription, " +
+            "p.id, p.name, p.species, p.breed, p.gender, p.dateOfBirth, " +
+            "o.id, o.firstName, o.lastName, o.phone, " +
+            "v.id, v.firstName, v.lastName, v.clinic.id, a.clinicId) " +
+            "from Appointment a " +
+            "join a.pet p " +
+            "join p.owner o " +
+            "left join a.vet v ";
+
+    @Query(DTO_SELECT + "order by a.date, a.time")
+    List<AppointmentDto> findAllDtos();
+
+    @Query(DTO_SELECT + "where a.id = :id")
+    Optional<AppointmentDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "where v.id = :vetId order by a.date, a.time")
+    List<AppointmentDto> findDtosByVetId(@Param("vetId") Long vetId);
+
+    @Query(DTO_SELECT + "where p.id = :petId order by a.date, a.time")
+    List<AppointmentDto> findDtosByPetId(@Param("petId") Long petId);
+
+    @Query(DTO_SELECT + "where o.id = :ownerId order by a.date, a.time")
+    List<AppointmentDto> findDtosByPetOwnerId(@Param("ownerId") Long ownerId);
+
+    // served by idx_appointments_clinic_date_time; includes requests that have no vet yet
+    @Query(DTO_SELECT + "where a.clinicId = :clinicId order by a.date, a.time")
+    List<AppointmentDto> findDtosByClinicId(@Param("clinicId") Long clinicId);
+
+    @Query(DTO_SELECT + "where v.id = :vetId and a.date = :date order by a.time")
+    List<AppointmentDto> findDtosByVetIdAndDate(@Param("vetId") Long vetId, @Param("date") LocalDate date);
+
+    // Authz: is the caller the pet's owner or the assigned vet? (ids come from the cached UserContext)
+    @Query("select case when count(a) > 0 then true else false end from Appointment a join a.pet p " +
+           "where a.id = :id and (p.owner.id = :ownerId or a.vet.id = :vetId)")
+    boolean existsForOwnerOrVet(@Param("id") Long id, @Param("ownerId") Long ownerId, @Param("vetId") Long vetId);
+
     // fetch joins to load pet + owner + vet (+ vet.clinic) to avoid LazyInitialization / Jackson issues
     @Query("select a from Appointment a " +
            "join fetch a.pet p " +
@@ -50,7 +98,7 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
            "left join fetch p.owner o " +
            "left join fetch a.vet v " +
            "left join fetch v.clinic c " +
-           "where v.clinic.id = :clinicId")
+           "where a.clinicId = :clinicId")
     List<Appointment> findByClinicId(@Param("clinicId") Long clinicId);
 
     @Query("select a from Appointment a " +
@@ -72,14 +120,68 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
                                                 @Param("to") LocalDate to);
 
     /**
-     * Check if there exists a non-cancelled appointment for the vet at the same date/time.
-     * The service called expects a method named like this; implement with a JPQL query that
-     * treats "CANCELLED" as the excluded status (status stored as STRING in DB).
+     * Does the vet have a non-cancelled appointment overlapping [start, end)? excludeId skips the
+     * appointment being rescheduled (null for new bookings).
+     * earliestStart bounds the scan on idx_appointments_vet_interval: nothing that starts more than
+     * ServiceType.MAX_MINUTES before start can still be running; use the default overload.
      */
     @Query("select case when count(a) > 0 then true else false end from Appointment a " +
-           "where a.vet.id = :vetId and a.date = :date and a.time = :time and a.status <> 'CANCELLED'")
-    boolean existsByVetIdAndDateAndTimeAndStatusNot(@Param("vetId") Long vetId,
-                                                    @Param("date") LocalDate date,
-                                                    @Param("time") LocalTime time);
-}
+           "where a.vet.id = :vetId and a.status <> 'CANCELLED' " +
+           "and a.startsAt > :earliestStart and a.startsAt < :end and a.endsAt > :start " +
+           "and (:excludeId is null or a.id <> :excludeId)")
+    boolean existsOverlapping(@Param("vetId") Long vetId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("earliestStart") LocalDateTime earliestStart,
+                              @Param("excludeId") Long excludeId);
+
+    default boolean existsOverlapping(Long vetId, LocalDateTime start, LocalDateTime end, Long excludeId) {
+        return existsOverlapping(vetId, start, end,
+                start.minusMinutes(Appointment.ServiceType.MAX_MINUTES), excludeId);
+    }
+
+    // Busy intervals of a vet in [from, to) for VetDayBookings
+    @Query("select new com.vetsecure.backend.scheduling.BookedInterval(a.id, a.startsAt, a.endsAt) " +
+           "from Appointment a " +
+           "where a.vet.id = :vetId and a.status <> 'CANCELLED' " +
+           "and a.startsAt >= :from and a.startsAt < :to " +
+           "order by a.startsAt")
+    List<BookedInterval> findBookedIntervals(@Param("vetId") Long vetId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
 
+    /**
+     * Unassigned PENDING requests after the keyset cursor (afterStart, afterId), oldest slot first, for
+     * VetAssignmentRunner; start with (now, 0). Rows are locked with SKIP LOCKED so concurrent passes
+     * (other instances) take disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select a from Appointment a " +
+           "where a.vet is null and a.clinicId is not null and a.status = 'PENDING' " +
+           "and (a.startsAt > :afterStart or (a.startsAt = :afterStart and a.id > :afterId)) " +
+           "and (:clinicId is null or a.clinicId = :clinicId) " +
+           "order by a.startsAt, a.id")
+    List<Appointment> lockUnassigned(@Param("clinicId") Long clinicId,
+                                     @Param("afterStart") LocalDateTime afterStart,
+                                     @Param("afterId") Long afterId,
+                                     Pageable page);
+
+    // [vetId, count] of non-cancelled appointments per vet in [from, to), for the assignment load counters
+    @Query("select a.vet.id, count(a) from Appointment a " +
+           "where a.vet.id in :vetIds and a.status <> 'CANCELLED' " +
+           "and a.startsAt >= :from and a.startsAt < :to " +
+           "group by a.vet.id")
+    List<Object[]> countActiveByVet(@Param("vetIds") Collection<Long> vetIds,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+
+    // Busy intervals of several vets in [from, to) for the availability search; one range scan per vet
+    @Query("select new com.vetsecure.backend.scheduling.VetBusy(a.vet.id, a.startsAt, a.endsAt) " +
+           "from Appointment a " +
+           "where a.vet.id in :vetIds and a.status <> 'CANCELLED' " +
+           "and a.startsAt >= :from and a.startsAt < :to")
+    List<VetBusy> findBusyForVets(@Param("vetIds") Collection<Long> vetIds,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+}
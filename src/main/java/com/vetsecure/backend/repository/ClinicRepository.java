@@ -1,10 +1,14 @@
 package com.vetsecure.backend.repository;
 
 import com.vetsecure.backend.model.Clinic;
+import com.vetsecure.backend.web.dto.ClinicDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 public interface ClinicRepository extends JpaRepository<Clinic, Long> {
     List<Clinic> findByStatus(Clinic.Status status);
@@ -16,4 +20,23 @@ public interface ClinicRepository extends JpaRepository<Clinic, Long> {
     List<Clinic> findByClinicAdminEmailIgnoreCase(String email);
 
     List<Clinic> findByClinicAdminId(Long clinicAdminId);
+
+    @Query("select c.id from Clinic c where c.clinicAdmin.id = :userId")
+    List<Long> findIdsByClinicAdminId(@Param("userId") Long userId);
+
+    // Read-side projection (admin id/email only, never the admin User)
+    String DTO_SELECT = "select new com.vetsecure.backend.web.dto.ClinicDTO(" +
+            "c.id, c.name, c.address, c.city, c.phone, c.email, c.status, c.createdAt, c.description, " +
+            "a.id, a.email) " +
+            "from Clinic c left join c.clinicAdmin a ";
+
+    @Query(DTO_SELECT + "order by c.id")
+    List<ClinicDTO> findAllDtos();
+
+    @Query(DTO_SELECT + "where c.id = :id")
+    Optional<ClinicDTO> findDtoById(@Param("id") Long id);
+
+    // city match is case-insensitive through the column's *_ci collation
+    @Query(DTO_SELECT + "where c.status = :status and (:city is null or c.city = :city) order by c.id")
+    List<ClinicDTO> findDtosByStatusAndCity(@Param("status") Clinic.Status status, @Param("city") String city);
 }
@@ -0,0 +1,41 @@
+package com.vetsecure.backend.repository;
+
+import com.vetsecure.backend.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Next due events, oldest first, at most one per aggregate: an event is only eligible when no earlier
+     * event of the same aggregate is still pending, which keeps per-aggregate order across retries.
+     * SKIP LOCKED lets several relays (instances) drain side by side without handing out the same row.
+     * Must run inside a transaction.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events e
+            WHERE e.status = 'PENDING' AND e.next_attempt_at <= :now
+              AND NOT EXISTS (
+                SELECT 1 FROM outbox_events p
+                WHERE p.aggregate_type = e.aggregate_type AND p.aggregate_id = e.aggregate_id
+                  AND p.status = 'PENDING' AND p.id < e.id)
+            ORDER BY e.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.status = com.vetsecure.backend.model.OutboxEvent.Status.PENDING")
+    Instant oldestPendingCreatedAt();
+
+    long countByStatus(OutboxEvent.Status status);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.status = com.vetsecure.backend.model.OutboxEvent.Status.PUBLISHED and e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
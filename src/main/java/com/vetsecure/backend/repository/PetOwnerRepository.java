@@ -1,13 +1,34 @@
 // com.vetsecure.backend.repository.PetOwnerRepository
 package com.vetsecure.backend.repository;
 
+import com.vetsecure.backend.dto.OwnerDto;
 import com.vetsecure.backend.model.PetOwner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface PetOwnerRepository extends JpaRepository<PetOwner, Long> {
     Optional<PetOwner> findByUser_EmailIgnoreCase(String email);
     boolean existsByUser_EmailIgnoreCase(String email);
     boolean existsByPhone(String phone);
+
+    // Read-side projection
+    String DTO_SELECT = "select new com.vetsecure.backend.dto.OwnerDto(" +
+            "o.id, o.firstName, o.lastName, o.phone, u.email) " +
+            "from PetOwner o join o.user u ";
+
+    @Query(DTO_SELECT + "where (:q is null or o.lastName like concat(:q, '%') escape '!' or o.firstName like concat(:q, '%') escape '!') " +
+            "and (:after is null or o.id > :after)")
+    Slice<OwnerDto> findDtoSlice(@Param("q") String q, @Param("after") Long after, Pageable pageable);
+
+    @Query(DTO_SELECT + "where o.id = :id")
+    Optional<OwnerDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "where lower(u.email) = lower(:email)")
+    Optional<OwnerDto> findDtoByEmail(@Param("email") String email);
 }
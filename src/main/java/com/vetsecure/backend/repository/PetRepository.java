@@ -1,10 +1,41 @@
 package com.vetsecure.backend.repository;
 
+import com.vetsecure.backend.dto.PetDto;
 import com.vetsecure.backend.model.Pet;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface PetRepository extends JpaRepository<Pet, Long> {
     List<Pet> findByOwnerId(Long ownerId);
-}
\ No newline at end of file
+
+    // Authz existence check (single select ... limit 1, nothing loaded)
+    boolean existsByIdAndOwner_Id(Long id, Long ownerId);
+
+    // Read-side projection (owner columns only, never the owner's User)
+    String DTO_SELECT = "select new com.vetsecure.backend.dto.PetDto(" +
+            "p.id, p.name, p.species, p.breed, p.gender, p.weight, p.dateOfBirth, " +
+            "o.id, o.firstName, o.lastName, o.phone) " +
+            "from Pet p join p.owner o ";
+
+    @Query(DTO_SELECT + "where (:species is null or p.species = :species) " +
+            "and (:ownerId is null or o.id = :ownerId) " +
+            "and (:q is null or p.name like concat(:q, '%') escape '!') " +
+            "and (:after is null or p.id > :after)")
+    Slice<PetDto> findDtoSlice(@Param("species") String species, @Param("ownerId") Long ownerId,
+                               @Param("q") String q, @Param("after") Long after, Pageable pageable);
+
+    @Query(DTO_SELECT + "where p.id = :id")
+    Optional<PetDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "where o.id = :ownerId order by p.id")
+    List<PetDto> findDtosByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(DTO_SELECT + "where lower(o.user.email) = lower(:email) order by p.id")
+    List<PetDto> findDtosByOwnerEmail(@Param("email") String email);
+}
@@ -0,0 +1,26 @@
+package com.vetsecure.backend.repository;
+
+import com.vetsecure.backend.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // startup: everything still in force
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    // revocations written by other instances since the last sync (created_at is the database clock)
+    List<RevokedToken> findByCreatedAtAfter(Instant since);
+
+    @Query("select max(r.createdAt) from RevokedToken r")
+    Instant lastCreatedAt();
+
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
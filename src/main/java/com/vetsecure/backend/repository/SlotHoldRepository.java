@@ -0,0 +1,60 @@
+package com.vetsecure.backend.repository;
+
+import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.model.SlotHold;
+import com.vetsecure.backend.scheduling.VetBusy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SlotHoldRepository extends JpaRepository<SlotHold, Long> {
+
+    Optional<SlotHold> findByToken(String token);
+
+    @Query("select count(h) from SlotHold h where h.userId = :userId and h.expiresAt > :now")
+    long countActiveByUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Another unexpired hold overlapping [start, end) with this vet? Same range bound as
+     * AppointmentRepository.existsOverlapping; excludeToken skips the caller's own hold.
+     */
+    @Query("select case when count(h) > 0 then true else false end from SlotHold h " +
+           "where h.vetId = :vetId and h.expiresAt > :now " +
+           "and h.startsAt > :earliestStart and h.startsAt < :end and h.endsAt > :start " +
+           "and (:excludeToken is null or h.token <> :excludeToken)")
+    boolean existsActiveOverlap(@Param("vetId") Long vetId,
+                                @Param("start") LocalDateTime start,
+                                @Param("end") LocalDateTime end,
+                                @Param("earliestStart") LocalDateTime earliestStart,
+                                @Param("now") LocalDateTime now,
+                                @Param("excludeToken") String excludeToken);
+
+    default boolean existsActiveOverlap(Long vetId, LocalDateTime start, LocalDateTime end,
+                                        LocalDateTime now, String excludeToken) {
+        return existsActiveOverlap(vetId, start, end,
+                start.minusMinutes(Appointment.ServiceType.MAX_MINUTES), now, excludeToken);
+    }
+
+    // Unexpired holds of several vets in [from, to), busy time for availability lookups
+    @Query("select new com.vetsecure.backend.scheduling.VetBusy(h.vetId, h.startsAt, h.endsAt) " +
+           "from SlotHold h " +
+           "where h.vetId in :vetIds and h.expiresAt > :now and h.startsAt >= :from and h.startsAt < :to")
+    List<VetBusy> findActiveForVets(@Param("vetIds") Collection<Long> vetIds,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from SlotHold h where h.token = :token")
+    int deleteByToken(@Param("token") String token);
+
+    @Modifying
+    @Query("delete from SlotHold h where h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,12 +1,58 @@
 package com.vetsecure.backend.repository;
 
+import com.vetsecure.backend.dto.UserDto;
+import com.vetsecure.backend.model.Role;
 import com.vetsecure.backend.model.User;
+import com.vetsecure.backend.security.UserContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     Optional<User> findByUsernameOrEmail(String username, String email);
+
+    // Caller identity in one round trip (PetOwner/Vet share the user's id via @MapsId)
+    String CONTEXT_SELECT = "select new com.vetsecure.backend.security.UserContext(" +
+            "u.id, u.email, r.name, po.id, v.id, vc.id) " +
+            "from User u join u.role r " +
+            "left join PetOwner po on po.id = u.id " +
+            "left join Vet v on v.id = u.id left join v.clinic vc ";
+
+    @Query(CONTEXT_SELECT + "where u.email = :email")
+    Optional<UserContext> findContextByEmail(@Param("email") String email);
+
+    @Query(CONTEXT_SELECT + "where u.id = :id")
+    Optional<UserContext> findContextById(@Param("id") Long id);
+
+    // Read-side projection: credentials and MFA secrets are never selected
+    String DTO_SELECT = "select new com.vetsecure.backend.dto.UserDto(" +
+            "u.id, u.username, u.email, r.id, r.name, u.mfaEnabled, u.profilePictureUrl, u.authProvider) " +
+            "from User u join u.role r ";
+
+    // Admin listing: Slice (no count query), prefix filters so the username/email indexes can be used
+    @Query(DTO_SELECT + "where (:role is null or r.name = :role) " +
+            "and (:q is null or u.username like concat(:q, '%') escape '!' or u.email like concat(:q, '%') escape '!') " +
+            "and (:after is null or u.id > :after)")
+    Slice<UserDto> findDtoSlice(@Param("role") Role.RoleType role, @Param("q") String q,
+                                @Param("after") Long after, Pageable pageable);
+
+    @Query(DTO_SELECT + "where u.id = :id")
+    Optional<UserDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "where u.email = :email")
+    Optional<UserDto> findDtoByEmail(@Param("email") String email);
+
+    /**
+     * Row lock on the user for the rest of the transaction. Serializes per-user quota checks (slot holds)
+     * that span several vets; empty if the user doesn't exist.
+     */
+    @Query(value = "SELECT id FROM users WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForQuota(@Param("id") Long id);
 }
@@ -1,10 +1,38 @@
 package com.vetsecure.backend.repository;
 
+import com.vetsecure.backend.dto.VetDto;
 import com.vetsecure.backend.model.Vet;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface VetRepository extends JpaRepository<Vet, Long> {
     List<Vet> findByClinicId(Long clinicId);
+
+    // Read-side projection
+    String DTO_SELECT = "select new com.vetsecure.backend.dto.VetDto(" +
+            "v.id, v.firstName, v.lastName, v.license, v.role, c.id, c.name, u.email) " +
+            "from Vet v join v.clinic c join v.user u ";
+
+    @Query(DTO_SELECT + "where (:clinicId is null or c.id = :clinicId) " +
+            "and (:role is null or v.role = :role) " +
+            "and (:q is null or v.lastName like concat(:q, '%') escape '!' or v.firstName like concat(:q, '%') escape '!') " +
+            "and (:after is null or v.id > :after)")
+    Slice<VetDto> findDtoSlice(@Param("clinicId") Long clinicId, @Param("role") String role,
+                               @Param("q") String q, @Param("after") Long after, Pageable pageable);
+
+    @Query(DTO_SELECT + "where v.id = :id")
+    Optional<VetDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Row lock on the vet for the rest of the transaction. Serializes "check the vet's calendar, then
+     * write a hold or booking" across requests and instances; empty if the vet doesn't exist.
+     */
+    @Query(value = "SELECT id FROM vets WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForScheduling(@Param("id") Long id);
 }
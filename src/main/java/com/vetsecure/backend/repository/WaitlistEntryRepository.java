@@ -0,0 +1,39 @@
+package com.vetsecure.backend.repository;
+
+import com.vetsecure.backend.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @Query("select w from WaitlistEntry w where w.status = 'WAITING' and w.windowEnd > :now")
+    List<WaitlistEntry> findOpen(@Param("now") LocalDateTime now);
+
+    List<WaitlistEntry> findByOwnerUserIdOrderByIdDesc(Long ownerUserId);
+
+    long countByOwnerUserIdAndStatus(Long ownerUserId, WaitlistEntry.Status status);
+
+    /**
+     * WAITING -> BOOKED, only if still waiting: the winner of concurrent matchers (other instances) is
+     * whoever gets 1 back.
+     */
+    @Modifying
+    @Query("update WaitlistEntry w set w.status = 'BOOKED', w.appointmentId = :appointmentId " +
+           "where w.id = :id and w.status = 'WAITING'")
+    int markBooked(@Param("id") Long id, @Param("appointmentId") Long appointmentId);
+
+    // owner leaves; like markBooked only while still waiting, so a backfill that won can't be undone
+    @Modifying
+    @Query("update WaitlistEntry w set w.status = 'CANCELLED' " +
+           "where w.id = :id and w.ownerUserId = :ownerUserId and w.status = 'WAITING'")
+    int cancelWaiting(@Param("id") Long id, @Param("ownerUserId") Long ownerUserId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update WaitlistEntry w set w.priority = :priority where w.id = :id and w.status = 'WAITING'")
+    int updatePriority(@Param("id") Long id, @Param("priority") int priority);
+}
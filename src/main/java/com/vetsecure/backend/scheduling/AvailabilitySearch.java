@@ -0,0 +1,265 @@
+package com.vetsecure.backend.scheduling;
+
+import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.model.Clinic;
+import com.vetsecure.backend.model.ClinicSchedule;
+import com.vetsecure.backend.model.Vet;
+import com.vetsecure.backend.model.VetSchedule;
+import com.vetsecure.backend.repository.AppointmentRepository;
+import com.vetsecure.backend.repository.ClinicRepository;
+import com.vetsecure.backend.repository.ClinicScheduleRepository;
+import com.vetsecure.backend.repository.SlotHoldRepository;
+import com.vetsecure.backend.repository.VetRepository;
+import com.vetsecure.backend.repository.VetScheduleRepository;
+import com.vetsecure.backend.web.dto.ClinicDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Earliest free appointment slots across the approved clinics of a city.
+ *
+ * Per clinic (in parallel, on a small dedicated pool, each in a read-only transaction so it can go to
+ * the replica): load opening hours, doctors' shifts and the doctors' booked and held intervals for the
+ * whole horizon in four queries; turn hours ∩ shift into one {@link SlotBitmap} template per doctor and
+ * weekday; then walk the days, clearing booked intervals from a copy of the template and taking the
+ * first run long enough for the visit. Each doctor contributes at most one slot per day (their
+ * earliest), so results spread across vets instead of listing one vet's consecutive slots.
+ *
+ * Clinics stop early once the shared top-N is full and the day they are on starts after its worst
+ * entry. The whole search is bounded by app.availability.budget: whatever has been found by then is
+ * returned and the result is flagged partial.
+ */
+@Component
+public class AvailabilitySearch {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilitySearch.class);
+
+    public record Result(List<AvailableSlot> slots, boolean partial) {}
+
+    private final ClinicRepository clinics;
+    private final ClinicScheduleRepository clinicSchedules;
+    private final VetRepository vets;
+    private final VetScheduleRepository vetSchedules;
+    private final AppointmentRepository appointments;
+    private final SlotHoldRepository holds;
+    private final TransactionTemplate readOnlyTx;
+
+    private final int slotMinutes;
+    private final int horizonDays;
+    private final Duration budget;
+    private final ExecutorService pool;
+    private final MeterRegistry registry;
+
+    public AvailabilitySearch(
+            ClinicRepository clinics,
+            ClinicScheduleRepository clinicSchedules,
+            VetRepository vets,
+            VetScheduleRepository vetSchedules,
+            AppointmentRepository appointments,
+            SlotHoldRepository holds,
+            PlatformTransactionManager txManager,
+            MeterRegistry registry,
+            @Value("${app.availability.slot-minutes:15}") int slotMinutes,
+            @Value("${app.availability.horizon-days:14}") int horizonDays,
+            @Value("${app.availability.budget:400ms}") Duration budget,
+            @Value("${app.availability.threads:4}") int threads
+    ) {
+        this.clinics = clinics;
+        this.clinicSchedules = clinicSchedules;
+        this.vets = vets;
+        this.vetSchedules = vetSchedules;
+        this.appointments = appointments;
+        this.holds = holds;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.registry = registry;
+        new SlotBitmap(slotMinutes); // validates slot-minutes at startup
+        this.slotMinutes = slotMinutes;
+        this.horizonDays = Math.max(horizonDays, 1);
+        this.budget = budget;
+
+        AtomicInteger n = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(Math.max(threads, 1), r -> {
+            Thread t = new Thread(r, "availability-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public Result earliest(String city, LocalDateTime from, Appointment.ServiceType serviceType, int limit) {
+        long started = System.nanoTime();
+        long deadline = started + budget.toNanos();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from == null || from.isBefore(now) ? now : from;
+        TopN top = new TopN(limit);
+
+        List<ClinicDTO> candidates = clinics.findDtosByStatusAndCity(Clinic.Status.APPROVED, city);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(candidates.size());
+        for (ClinicDTO c : candidates) {
+            tasks.add(CompletableFuture.runAsync(() -> readOnlyTx.executeWithoutResult(
+                    status -> searchClinic(c, start, serviceType, top, deadline)), pool));
+        }
+
+        boolean partial = false;
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                    .get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            partial = true; // stragglers notice the deadline and stop on their own
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            partial = true;
+        } catch (Exception e) {
+            // one clinic failing shouldn't fail the search
+            log.warn("Availability search: a clinic could not be evaluated: {}", e.toString());
+            partial = true;
+        }
+
+        Timer.builder("vetsecure.availability.search")
+                .description("Earliest-slot search latency")
+                .tag("partial", Boolean.toString(partial))
+                .register(registry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return new Result(top.sorted(), partial);
+    }
+
+    private void searchClinic(ClinicDTO clinic, LocalDateTime start, Appointment.ServiceType type,
+                              TopN top, long deadline) {
+        // opening hours per weekday (0 = Sunday, as stored)
+        SlotBitmap[] hours = new SlotBitmap[7];
+        for (ClinicSchedule s : clinicSchedules.findByClinicId(clinic.getId())) {
+            if (s.getWeekday() == null || s.getOpenTime() == null || s.getCloseTime() == null) continue;
+            int w = s.getWeekday();
+            if (hours[w] == null) hours[w] = new SlotBitmap(slotMinutes);
+            hours[w].open(s.getOpenTime(), s.getCloseTime());
+        }
+
+        Map<Long, Vet> doctors = new HashMap<>();
+        for (Vet v : vets.findByClinicId(clinic.getId())) {
+            if (VetAssigner.DOCTOR.equals(v.getRole())) doctors.put(v.getId(), v);
+        }
+        if (doctors.isEmpty()) return;
+
+        // per doctor and weekday: shift ∩ opening hours
+        Map<Long, SlotBitmap[]> templates = new HashMap<>();
+        for (VetSchedule s : vetSchedules.findByVetClinicId(clinic.getId())) {
+            Long vetId = s.getVet().getId();
+            if (!doctors.containsKey(vetId) || s.getWeekday() == null) continue;
+            int w = s.getWeekday();
+            if (hours[w] == null) continue;
+            SlotBitmap[] perDay = templates.computeIfAbsent(vetId, k -> new SlotBitmap[7]);
+            if (perDay[w] == null) perDay[w] = new SlotBitmap(slotMinutes);
+            perDay[w].open(s.getStartTime(), s.getEndTime());
+        }
+        for (SlotBitmap[] perDay : templates.values()) {
+            for (int w = 0; w < 7; w++) {
+                if (perDay[w] != null) perDay[w].intersect(hours[w]);
+            }
+        }
+        if (templates.isEmpty()) return;
+
+        LocalDate firstDay = start.toLocalDate();
+        LocalDateTime horizonEnd = firstDay.plusDays(horizonDays).atStartOfDay();
+        Map<Long, Map<LocalDate, List<VetBusy>>> busy = new HashMap<>();
+        List<VetBusy> taken = new ArrayList<>(appointments.findBusyForVets(templates.keySet(), firstDay.atStartOfDay(), horizonEnd));
+        // slots other owners are holding count as busy
+        taken.addAll(holds.findActiveForVets(templates.keySet(), firstDay.atStartOfDay(), horizonEnd, LocalDateTime.now()));
+        for (VetBusy b : taken) {
+            busy.computeIfAbsent(b.vetId(), k -> new HashMap<>())
+                    .computeIfAbsent(b.startsAt().toLocalDate(), k -> new ArrayList<>())
+                    .add(b);
+        }
+
+        for (int d = 0; d < horizonDays; d++) {
+            if (System.nanoTime() > deadline) return;
+            LocalDate day = firstDay.plusDays(d);
+            LocalDateTime bound = top.bound();
+            if (bound != null && !day.atStartOfDay().isBefore(bound)) return; // can't beat what we have
+
+            int w = Weekdays.of(day.getDayOfWeek());
+            for (Map.Entry<Long, SlotBitmap[]> e : templates.entrySet()) {
+                SlotBitmap template = e.getValue()[w];
+                if (template == null || template.isEmpty()) continue;
+
+                SlotBitmap free = template.copy();
+                for (VetBusy b : busy.getOrDefault(e.getKey(), Map.of()).getOrDefault(day, List.of())) {
+                    free.close(b.startsAt().toLocalTime(), b.endsAt().toLocalTime(),
+                            !b.endsAt().toLocalDate().equals(day));
+                }
+                int fromSlot = d == 0 ? free.slotOf(start.toLocalTime(), true) : 0;
+                int slot = free.firstRun(fromSlot, free.slotsFor(type.minutes()));
+                if (slot < 0) continue;
+
+                LocalDateTime at = day.atTime(free.startOf(slot));
+                Vet v = doctors.get(e.getKey());
+                top.offer(new AvailableSlot(clinic.getId(), clinic.getName(), clinic.getCity(),
+                        v.getId(), v.getFirstName() + " " + v.getLastName(),
+                        at, at.plusMinutes(type.minutes())));
+            }
+        }
+    }
+
+    /** Thread-safe bounded max-heap keeping the N earliest slots */
+    static final class TopN {
+        private static final Comparator<AvailableSlot> EARLIEST = Comparator
+                .comparing(AvailableSlot::startsAt)
+                .thenComparing(AvailableSlot::clinicId)
+                .thenComparing(AvailableSlot::vetId);
+
+        private final int limit;
+        private final PriorityQueue<AvailableSlot> heap;
+
+        TopN(int limit) {
+            this.limit = Math.max(limit, 1);
+            this.heap = new PriorityQueue<>(this.limit + 1, EARLIEST.reversed());
+        }
+
+        synchronized void offer(AvailableSlot slot) {
+            if (heap.size() < limit) {
+                heap.add(slot);
+            } else if (EARLIEST.compare(slot, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(slot);
+            }
+        }
+
+        /** Start of the worst kept slot once full; nothing starting later can get in */
+        synchronized LocalDateTime bound() {
+            return heap.size() < limit ? null : heap.peek().startsAt();
+        }
+
+        synchronized List<AvailableSlot> sorted() {
+            List<AvailableSlot> out = new ArrayList<>(heap);
+            out.sort(EARLIEST);
+            return out;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
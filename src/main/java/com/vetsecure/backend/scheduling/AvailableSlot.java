@@ -0,0 +1,14 @@
+package com.vetsecure.backend.scheduling;
+
+import java.time.LocalDateTime;
+
+/** One bookable start found by {@link AvailabilitySearch}: the earliest free visit for a vet on a day */
+public record AvailableSlot(
+        Long clinicId,
+        String clinicName,
+        String city,
+        Long vetId,
+        String vetName,
+        LocalDateTime startsAt,
+        LocalDateTime endsAt
+) {}
@@ -0,0 +1,11 @@
+package com.vetsecure.backend.scheduling;
+
+import java.time.LocalDateTime;
+
+/** A vet's busy time [startsAt, endsAt) from one non-cancelled appointment (JPQL projection) */
+public record BookedInterval(Long appointmentId, LocalDateTime startsAt, LocalDateTime endsAt) {
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startsAt.isBefore(end) && endsAt.isAfter(start);
+    }
+}
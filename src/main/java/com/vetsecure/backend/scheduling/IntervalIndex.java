@@ -0,0 +1,86 @@
+package com.vetsecure.backend.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable overlap index over one vet's bookings for one day.
+ *
+ * Intervals are sorted by start and carry a running maximum of their ends, which answers the interval
+ * tree question "does anything overlap [start, end)?" with one binary search: among the intervals that
+ * start before end, the one ending last decides. Unlike a floor/ceiling lookup it stays correct when
+ * stored intervals overlap each other (legacy double bookings). Built once per load, O(n log n);
+ * queries are O(log n), listing conflicts is O(log n + k).
+ */
+public final class IntervalIndex {
+
+    private static final IntervalIndex EMPTY = new IntervalIndex(new BookedInterval[0]);
+
+    private final BookedInterval[] byStart;
+    private final LocalDateTime[] maxEndUpTo;
+
+    private IntervalIndex(BookedInterval[] byStart) {
+        this.byStart = byStart;
+        this.maxEndUpTo = new LocalDateTime[byStart.length];
+        LocalDateTime max = null;
+        for (int i = 0; i < byStart.length; i++) {
+            LocalDateTime end = byStart[i].endsAt();
+            if (max == null || end.isAfter(max)) max = end;
+            maxEndUpTo[i] = max;
+        }
+    }
+
+    public static IntervalIndex of(List<BookedInterval> intervals) {
+        if (intervals.isEmpty()) return EMPTY;
+        BookedInterval[] sorted = intervals.toArray(BookedInterval[]::new);
+        Arrays.sort(sorted, Comparator.comparing(BookedInterval::startsAt));
+        return new IntervalIndex(sorted);
+    }
+
+    public int size() {
+        return byStart.length;
+    }
+
+    /** true if any stored interval overlaps [start, end) */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        int last = lastStartingBefore(end);
+        return last >= 0 && maxEndUpTo[last].isAfter(start);
+    }
+
+    /** true if anything other than appointment excludeId overlaps [start, end) (for reschedules) */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end, Long excludeId) {
+        if (excludeId == null) return overlaps(start, end);
+        for (BookedInterval b : conflicts(start, end)) {
+            if (!excludeId.equals(b.appointmentId())) return true;
+        }
+        return false;
+    }
+
+    /** Stored intervals overlapping [start, end), in start order */
+    public List<BookedInterval> conflicts(LocalDateTime start, LocalDateTime end) {
+        List<BookedInterval> out = new ArrayList<>();
+        // walk left while some interval at or before i can still reach past start
+        for (int i = lastStartingBefore(end); i >= 0 && maxEndUpTo[i].isAfter(start); i--) {
+            if (byStart[i].endsAt().isAfter(start)) out.add(0, byStart[i]);
+        }
+        return out;
+    }
+
+    /** Index of the last interval with startsAt < t, or -1 */
+    private int lastStartingBefore(LocalDateTime t) {
+        int lo = 0, hi = byStart.length - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (byStart[mid].startsAt().isBefore(t)) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,98 @@
+package com.vetsecure.backend.scheduling;
+
+import java.time.LocalTime;
+import java.util.BitSet;
+
+/**
+ * One day cut into fixed slots (app.availability.slot-minutes), one bit per slot, set = free.
+ *
+ * A vet's weekly template (shift ∩ clinic opening hours) is built once per search; each day is a copy
+ * of the template with booked intervals cleared. Finding the earliest start for a visit of k slots is
+ * then a walk over runs of set bits (nextSetBit / nextClearBit work a 64-slot word at a time).
+ */
+public final class SlotBitmap {
+
+    private final int slotMinutes;
+    private final int slots;
+    private final BitSet free;
+
+    public SlotBitmap(int slotMinutes) {
+        if (slotMinutes <= 0 || 1440 % slotMinutes != 0) {
+            throw new IllegalArgumentException("slot-minutes must divide a day: " + slotMinutes);
+        }
+        this.slotMinutes = slotMinutes;
+        this.slots = 1440 / slotMinutes;
+        this.free = new BitSet(slots);
+    }
+
+    private SlotBitmap(SlotBitmap other) {
+        this.slotMinutes = other.slotMinutes;
+        this.slots = other.slots;
+        this.free = (BitSet) other.free.clone();
+    }
+
+    public SlotBitmap copy() {
+        return new SlotBitmap(this);
+    }
+
+    public int slotMinutes() {
+        return slotMinutes;
+    }
+
+    public boolean isEmpty() {
+        return free.isEmpty();
+    }
+
+    /** Marks [from, to) free; partial slots at the edges stay closed */
+    public void open(LocalTime from, LocalTime to) {
+        free.set(ceilSlot(from), floorSlot(to, true));
+    }
+
+    /** Keeps only slots free in both */
+    public void intersect(SlotBitmap other) {
+        free.and(other.free);
+    }
+
+    /** Marks [from, to) busy; any slot the interval touches is lost */
+    public void close(LocalTime from, LocalTime to, boolean toIsNextDay) {
+        int end = toIsNextDay ? slots : ceilSlot(to);
+        int start = floorSlot(from, false);
+        if (end > start) free.clear(start, end);
+    }
+
+    /** First slot index >= fromSlot starting k consecutive free slots, or -1 */
+    public int firstRun(int fromSlot, int k) {
+        int i = free.nextSetBit(Math.max(fromSlot, 0));
+        while (i >= 0 && i + k <= slots) {
+            int runEnd = free.nextClearBit(i);
+            if (runEnd - i >= k) return i;
+            i = free.nextSetBit(runEnd);
+        }
+        return -1;
+    }
+
+    /** Slot index containing t, or (roundUp) the first slot starting at or after t */
+    public int slotOf(LocalTime t, boolean roundUp) {
+        return roundUp ? ceilSlot(t) : floorSlot(t, false);
+    }
+
+    public LocalTime startOf(int slot) {
+        return LocalTime.MIN.plusMinutes((long) slot * slotMinutes);
+    }
+
+    public int slotsFor(int minutes) {
+        return (minutes + slotMinutes - 1) / slotMinutes;
+    }
+
+    private int floorSlot(LocalTime t, boolean midnightIsEndOfDay) {
+        int minute = t.getHour() * 60 + t.getMinute();
+        if (midnightIsEndOfDay && minute == 0) return slots;
+        return minute / slotMinutes;
+    }
+
+    private int ceilSlot(LocalTime t) {
+        int seconds = t.toSecondOfDay();
+        int slotSeconds = slotMinutes * 60;
+        return Math.min((seconds + slotSeconds - 1) / slotSeconds, slots);
+    }
+}
@@ -0,0 +1,250 @@
+package com.vetsecure.backend.scheduling;
+
+import com.vetsecure.backend.model.SlotHold;
+import com.vetsecure.backend.repository.AppointmentRepository;
+import com.vetsecure.backend.repository.SlotHoldRepository;
+import com.vetsecure.backend.repository.UserRepository;
+import com.vetsecure.backend.repository.VetRepository;
+import com.vetsecure.backend.service.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Slot holds: an owner who picked a time gets it reserved for app.holds.ttl while filling in the form,
+ * then POST /api/appointments converts the hold into the booking.
+ *
+ * slot_holds is the shared truth across instances. Placing a hold or booking locks the vet row
+ * (VetRepository.lockForScheduling), then checks appointments and other holds and writes, so two
+ * requests for the same vet are serialized and can't both win the slot.
+ *
+ * Each instance also keeps the holds it has seen commit in a concurrent in-memory table (no locks;
+ * ConcurrentHashMap + per-vet concurrent sets), swept for expiry by a background thread. It only serves
+ * to refuse obviously taken slots without queueing on the vet lock; it is never used to say yes. A local
+ * hit is confirmed against slot_holds first, because the hold may have been released or used through
+ * another instance; entries the database no longer has are forgotten.
+ */
+@Component
+public class SlotHolds {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotHolds.class);
+
+    public record Hold(String token, Long vetId, Long userId, LocalDateTime startsAt, LocalDateTime endsAt,
+                       LocalDateTime expiresAt) {
+
+        boolean overlaps(Long vet, LocalDateTime start, LocalDateTime end) {
+            return vetId.equals(vet) && startsAt.isBefore(end) && endsAt.isAfter(start);
+        }
+
+        boolean expired(LocalDateTime now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+
+    private final SlotHoldRepository repo;
+    private final AppointmentRepository appointments;
+    private final VetRepository vets;
+    private final UserRepository users;
+    private final VetDayBookings dayBookings;
+    private final TransactionTemplate tx;
+
+    private final Duration ttl;
+    private final int maxPerUser;
+    private final Duration sweepInterval;
+
+    private final Map<String, Hold> byToken = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Hold>> byVet = new ConcurrentHashMap<>();
+    private final TaskScheduler scheduler;
+    private volatile ScheduledFuture<?> sweeping;
+
+    public SlotHolds(
+            SlotHoldRepository repo,
+            AppointmentRepository appointments,
+            VetRepository vets,
+            UserRepository users,
+            VetDayBookings dayBookings,
+            PlatformTransactionManager txManager,
+            TaskScheduler scheduler,
+            MeterRegistry registry,
+            @Value("${app.holds.ttl:5m}") Duration ttl,
+            @Value("${app.holds.max-per-user:3}") int maxPerUser,
+            @Value("${app.holds.sweep-interval:15s}") Duration sweepInterval
+    ) {
+        this.repo = repo;
+        this.appointments = appointments;
+        this.vets = vets;
+        this.users = users;
+        this.dayBookings = dayBookings;
+        this.tx = new TransactionTemplate(txManager);
+        this.ttl = ttl;
+        this.maxPerUser = Math.max(maxPerUser, 1);
+        this.sweepInterval = sweepInterval;
+        this.scheduler = scheduler;
+        Gauge.builder("vetsecure.holds.active", byToken, Map::size)
+                .description("Slot holds known to this instance")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sweeping = scheduler.scheduleWithFixedDelay(this::sweep, Instant.now().plus(sweepInterval), sweepInterval);
+    }
+
+    /**
+     * Reserves [start, end) with the vet for the user.
+     * @throws IllegalArgumentException unknown vet
+     * @throws IllegalStateException slot booked or held, or too many holds for this user
+     */
+    @Transactional
+    public Hold place(Long userId, Long vetId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!start.isAfter(now)) throw new IllegalArgumentException("Slot is in the past");
+        if (heldLocally(vetId, start, end, now)) throw new IllegalStateException("Slot is held by someone else");
+
+        // user before vet (claimForBooking only takes the vet), so concurrent holds on different vets
+        // can't both pass the quota
+        users.lockForQuota(userId);
+        if (vets.lockForScheduling(vetId).isEmpty()) throw new IllegalArgumentException("Vet not found");
+        if (repo.countActiveByUser(userId, now) >= maxPerUser) {
+            throw new IllegalStateException("Too many slots held at once; release one first");
+        }
+        if (appointments.existsOverlapping(vetId, start, end, null)) throw new IllegalStateException("Slot is already booked");
+        if (repo.existsActiveOverlap(vetId, start, end, now, null)) throw new IllegalStateException("Slot is held by someone else");
+
+        SlotHold row = repo.save(new SlotHold(UUID.randomUUID().toString(), vetId, userId, start, end, now.plus(ttl)));
+        Hold hold = toHold(row);
+        AfterCommit.run(() -> {
+            remember(hold);
+            dayBookings.invalidate(vetId);
+        });
+        return hold;
+    }
+
+    /** Drops the user's hold; false if there was none (already used, released or expired) */
+    @Transactional
+    public boolean release(String token, Long userId) {
+        var row = repo.findByToken(token).orElse(null);
+        if (row == null || !row.getUserId().equals(userId)) return false;
+        repo.deleteByToken(token);
+        AfterCommit.run(() -> {
+            forget(token);
+            dayBookings.invalidate(row.getVetId());
+        });
+        return true;
+    }
+
+    /**
+     * Booking-side check inside the booking transaction: locks the vet, then makes sure [start, end) is
+     * neither booked (ignoring excludeAppointmentId, for reschedules) nor held by anyone else. With a
+     * holdToken, the hold must be the user's, unexpired, for this vet and cover the visit; it is consumed.
+     * A conflict is returned rather than thrown: an exception crossing this (proxied) method would mark the
+     * caller's transaction rollback-only, turning its error response into an UnexpectedRollbackException.
+     * @return empty when the slot is claimed, otherwise a message suitable for the client
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<String> claimForBooking(Long vetId, LocalDateTime start, LocalDateTime end,
+                                            String holdToken, Long userId, Long excludeAppointmentId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (holdToken == null && heldLocally(vetId, start, end, now)) {
+            return Optional.of("Slot is held by someone else");
+        }
+        vets.lockForScheduling(vetId);
+
+        if (holdToken != null) {
+            SlotHold hold = repo.findByToken(holdToken).orElse(null);
+            if (hold == null) return Optional.of("Hold expired or already used");
+            if (!hold.getUserId().equals(userId) || !hold.getVetId().equals(vetId)) {
+                return Optional.of("Hold does not match this booking");
+            }
+            if (!hold.getExpiresAt().isAfter(now)) return Optional.of("Hold expired or already used");
+            if (start.isBefore(hold.getStartsAt()) || end.isAfter(hold.getEndsAt())) {
+                return Optional.of("Hold does not cover this time");
+            }
+        }
+        if (appointments.existsOverlapping(vetId, start, end, excludeAppointmentId)) {
+            return Optional.of("Vet already has an appointment at this time");
+        }
+        if (repo.existsActiveOverlap(vetId, start, end, now, holdToken)) {
+            return Optional.of("Slot is held by someone else");
+        }
+        if (holdToken != null) {
+            repo.deleteByToken(holdToken);
+            AfterCommit.run(() -> forget(holdToken));
+        }
+        return Optional.empty();
+    }
+
+    private boolean heldLocally(Long vetId, LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        List<String> hits = new ArrayList<>();
+        for (Hold h : byVet.getOrDefault(vetId, Set.of())) {
+            if (!h.expired(now) && h.overlaps(vetId, start, end)) hits.add(h.token());
+        }
+        if (hits.isEmpty()) return false;
+        if (repo.existsActiveOverlap(vetId, start, end, now, null)) return true;
+        hits.forEach(this::forget); // released or used through another instance
+        return false;
+    }
+
+    private void remember(Hold h) {
+        byToken.put(h.token(), h);
+        byVet.computeIfAbsent(h.vetId(), k -> ConcurrentHashMap.newKeySet()).add(h);
+    }
+
+    private void forget(String token) {
+        Hold h = byToken.remove(token);
+        if (h != null) {
+            Set<Hold> set = byVet.get(h.vetId());
+            if (set != null) set.remove(h);
+        }
+    }
+
+    private void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Hold h : byToken.values()) {
+            if (h.expired(now)) {
+                forget(h.token());
+                dayBookings.invalidate(h.vetId());
+            }
+        }
+        byVet.values().removeIf(Set::isEmpty);
+        try {
+            Integer removed = tx.execute(status -> repo.deleteExpired(now));
+            if (removed != null && removed > 0) log.debug("Swept {} expired slot holds", removed);
+        } catch (Exception e) {
+            log.warn("Slot hold sweep failed: {}", e.toString());
+        }
+    }
+
+    private static Hold toHold(SlotHold row) {
+        return new Hold(row.getToken(), row.getVetId(), row.getUserId(), row.getStartsAt(), row.getEndsAt(),
+                row.getExpiresAt());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (sweeping != null) sweeping.cancel(false);
+    }
+}
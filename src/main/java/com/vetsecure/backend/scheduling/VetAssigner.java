@@ -0,0 +1,219 @@
+package com.vetsecure.backend.scheduling;
+
+import com.vetsecure.backend.events.AppointmentEvent;
+import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.model.Vet;
+import com.vetsecure.backend.model.VetSchedule;
+import com.vetsecure.backend.repository.AppointmentRepository;
+import com.vetsecure.backend.repository.SlotHoldRepository;
+import com.vetsecure.backend.repository.VetRepository;
+import com.vetsecure.backend.repository.VetScheduleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks a vet for an appointment request that was booked against a clinic without one.
+ *
+ * Candidates are the clinic's doctors whose VetSchedule for that weekday covers the whole visit and who
+ * have no appointment or someone else's slot hold overlapping it. Among those the policy decides:
+ * - LEAST_LOADED: fewest non-cancelled appointments that day, ties rotated per clinic;
+ * - ROUND_ROBIN: next candidate after the clinic's cursor.
+ *
+ * Day loads are kept as in-memory counters: seeded from one grouped query the first time a vet/day is
+ * needed and bumped on every assignment, so a batch spreads requests out before anything commits.
+ * A committed appointment write drops only the counter of its vet and day, which is re-seeded from the
+ * database when next needed; writes that are this assigner's own assignments are already counted and
+ * skipped. The counter a reschedule moved away from, and other instances' writes, catch up on the next
+ * reset (every background pass).
+ */
+@Component
+public class VetAssigner {
+
+    public enum Policy { LEAST_LOADED, ROUND_ROBIN }
+
+    static final String DOCTOR = "doctor";
+
+    private final AppointmentRepository appointments;
+    private final VetRepository vets;
+    private final VetScheduleRepository schedules;
+    private final SlotHoldRepository holds;
+    private final Policy policy;
+
+    private final Map<LoadKey, AtomicInteger> load = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    private final Set<Long> counted = ConcurrentHashMap.newKeySet(); // assigned here, event not seen yet
+
+    public VetAssigner(
+            AppointmentRepository appointments,
+            VetRepository vets,
+            VetScheduleRepository schedules,
+            SlotHoldRepository holds,
+            @Value("${app.assignment.policy:least-loaded}") String policy
+    ) {
+        this.appointments = appointments;
+        this.vets = vets;
+        this.schedules = schedules;
+        this.holds = holds;
+        this.policy = Policy.valueOf(policy.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    public Policy policy() {
+        return policy;
+    }
+
+    /**
+     * Assigns a vet to one request (e.g. inside the booking transaction).
+     * Returns the vet, or null if the appointment has no clinic or nobody is free.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Vet assign(Appointment appointment) {
+        return assign(appointment, new ClinicRoster());
+    }
+
+    /**
+     * Assigns as many of the given requests as possible, in order, sharing one roster lookup per clinic.
+     * Returns how many got a vet.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int assignAll(List<Appointment> batch) {
+        ClinicRoster roster = new ClinicRoster();
+        int assigned = 0;
+        for (Appointment a : batch) {
+            if (assign(a, roster) != null) assigned++;
+        }
+        return assigned;
+    }
+
+    private Vet assign(Appointment a, ClinicRoster roster) {
+        if (a.getVet() != null) return a.getVet();
+        if (a.getClinicId() == null || a.getStartsAt() == null) return null;
+
+        LocalDateTime start = a.getStartsAt();
+        LocalDateTime end = a.getEndsAt();
+        byte weekday = Weekdays.of(start.getDayOfWeek());
+
+        List<Vet> free = new ArrayList<>();
+        for (Vet v : roster.doctors(a.getClinicId())) {
+            if (!roster.covers(v.getId(), weekday, start, end)) continue;
+            if (!isFree(v.getId(), a, start, end)) continue;
+            free.add(v);
+        }
+        if (free.isEmpty()) return null;
+
+        Vet chosen = choose(a.getClinicId(), start.toLocalDate(), free);
+        // same vet row lock as slot holds and bookings take, then confirm nothing slipped in meanwhile
+        vets.lockForScheduling(chosen.getId());
+        if (!isFree(chosen.getId(), a, start, end)) return null; // next pass tries again
+
+        a.setVet(chosen);
+        appointments.save(a);
+        load.computeIfAbsent(new LoadKey(chosen.getId(), start.toLocalDate()), k -> new AtomicInteger())
+                .incrementAndGet();
+        counted.add(a.getId());
+        return chosen;
+    }
+
+    /** Auto-flush makes earlier assignments of the same batch visible to the overlap query */
+    private boolean isFree(Long vetId, Appointment a, LocalDateTime start, LocalDateTime end) {
+        return !appointments.existsOverlapping(vetId, start, end, a.getId())
+                && !holds.existsActiveOverlap(vetId, start, end, LocalDateTime.now(), null);
+    }
+
+    private Vet choose(Long clinicId, LocalDate day, List<Vet> free) {
+        int turn = Math.floorMod(cursors.computeIfAbsent(clinicId, k -> new AtomicInteger()).getAndIncrement(),
+                free.size());
+        if (policy == Policy.ROUND_ROBIN) return free.get(turn);
+
+        seedLoads(free, day);
+        Vet best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        // start at the rotating offset so equal loads take turns instead of always favouring the lowest id
+        for (int i = 0; i < free.size(); i++) {
+            Vet v = free.get((turn + i) % free.size());
+            AtomicInteger counter = load.get(new LoadKey(v.getId(), day));
+            int l = counter == null ? 0 : counter.get(); // null only if a commit just reset the counters
+            if (l < bestLoad) {
+                best = v;
+                bestLoad = l;
+            }
+        }
+        return best;
+    }
+
+    private void seedLoads(List<Vet> candidates, LocalDate day) {
+        List<Long> missing = new ArrayList<>();
+        for (Vet v : candidates) {
+            if (!load.containsKey(new LoadKey(v.getId(), day))) missing.add(v.getId());
+        }
+        if (missing.isEmpty()) return;
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : appointments.countActiveByVet(missing, day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            counts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        for (Long vetId : missing) {
+            load.putIfAbsent(new LoadKey(vetId, day), new AtomicInteger(counts.getOrDefault(vetId, 0)));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AppointmentEvent event) {
+        if (counted.remove(event.appointmentId())) return;
+        if (event.vetId() == null || event.appointment().date == null) return;
+        load.remove(new LoadKey(event.vetId(), event.appointment().date));
+    }
+
+    /** Drops the load counters, e.g. before a background pass or after a rolled back batch */
+    public void resetLoads() {
+        load.clear();
+        counted.clear();
+    }
+
+    private record LoadKey(Long vetId, LocalDate day) {}
+
+    /** Doctors and their schedules per clinic, loaded once per assignment call or batch */
+    private final class ClinicRoster {
+        private final Map<Long, List<Vet>> doctors = new HashMap<>();
+        private final Map<Long, List<VetSchedule>> schedulesByVet = new HashMap<>();
+
+        List<Vet> doctors(Long clinicId) {
+            return doctors.computeIfAbsent(clinicId, id -> {
+                List<Vet> list = new ArrayList<>();
+                for (Vet v : vets.findByClinicId(id)) {
+                    if (DOCTOR.equals(v.getRole())) list.add(v);
+                }
+                list.sort(Comparator.comparing(Vet::getId));
+                for (VetSchedule s : schedules.findByVetClinicId(id)) {
+                    schedulesByVet.computeIfAbsent(s.getVet().getId(), k -> new ArrayList<>()).add(s);
+                }
+                return list;
+            });
+        }
+
+        /** Does one of the vet's shifts that weekday contain [start, end)? Visits past midnight never fit */
+        boolean covers(Long vetId, byte weekday, LocalDateTime start, LocalDateTime end) {
+            if (!start.toLocalDate().equals(end.toLocalDate())) return false;
+            for (VetSchedule s : schedulesByVet.getOrDefault(vetId, List.of())) {
+                if (s.getWeekday() == null || s.getWeekday() != weekday) continue;
+                if (!start.toLocalTime().isBefore(s.getStartTime()) && !end.toLocalTime().isAfter(s.getEndTime())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
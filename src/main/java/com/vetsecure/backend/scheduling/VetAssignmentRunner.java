@@ -0,0 +1,136 @@
+package com.vetsecure.backend.scheduling;
+
+import com.vetsecure.backend.events.AppointmentEvents;
+import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Background pass that gives unassigned PENDING requests a vet via {@link VetAssigner}.
+ *
+ * Each batch is one transaction: lock up to app.assignment.batch-size upcoming unassigned requests
+ * (SKIP LOCKED, so instances don't fight over rows), assign, publish an update per assigned appointment.
+ * A (startsAt, id) cursor carries over between batches, so requests nobody can take don't keep the
+ * pass from reaching later ones; they stay unassigned for the clinic to handle by hand and are
+ * retried next pass.
+ */
+@Component
+public class VetAssignmentRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(VetAssignmentRunner.class);
+
+    private final AppointmentRepository appointments;
+    private final VetAssigner assigner;
+    private final AppointmentEvents events;
+    private final TransactionTemplate tx;
+
+    private final boolean backgroundEnabled;
+    private final Duration interval;
+    private final int batchSize;
+    private final int maxBatchesPerPass;
+
+    private final TaskScheduler scheduler;
+    private volatile ScheduledFuture<?> passes;
+    private final Counter assignedCounter;
+    private final Counter leftOverCounter;
+
+    public VetAssignmentRunner(
+            AppointmentRepository appointments,
+            VetAssigner assigner,
+            AppointmentEvents events,
+            PlatformTransactionManager txManager,
+            TaskScheduler scheduler,
+            MeterRegistry registry,
+            @Value("${app.assignment.background.enabled:true}") boolean backgroundEnabled,
+            @Value("${app.assignment.background.interval:1m}") Duration interval,
+            @Value("${app.assignment.batch-size:50}") int batchSize,
+            @Value("${app.assignment.max-batches-per-pass:20}") int maxBatchesPerPass
+    ) {
+        this.appointments = appointments;
+        this.assigner = assigner;
+        this.events = events;
+        this.tx = new TransactionTemplate(txManager);
+        this.backgroundEnabled = backgroundEnabled;
+        this.interval = interval;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxBatchesPerPass = Math.max(maxBatchesPerPass, 1);
+
+        this.scheduler = scheduler;
+        this.assignedCounter = Counter.builder("vetsecure.assignment.assigned")
+                .description("Appointment requests given a vet by the background pass")
+                .register(registry);
+        this.leftOverCounter = Counter.builder("vetsecure.assignment.unassignable")
+                .description("Placement attempts that found no covering, free vet")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!backgroundEnabled) return;
+        passes = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runPass(null);
+            } catch (Exception e) {
+                log.warn("Vet assignment pass failed: {}", e.toString());
+            }
+        }, Instant.now().plus(interval), interval);
+    }
+
+    /** One pass over upcoming unassigned requests, optionally for one clinic; returns how many got a vet */
+    public int runPass(Long clinicId) {
+        assigner.resetLoads();
+        int total = 0;
+        Batch cursor = new Batch(0, 0, LocalDateTime.now(), 0L);
+        for (int i = 0; i < maxBatchesPerPass; i++) {
+            Batch from = cursor;
+            Batch b = tx.execute(status -> runBatch(clinicId, from));
+            if (b == null) break;
+            total += b.assigned;
+            // a short batch means we've seen everything that's due
+            if (b.seen < batchSize) break;
+            cursor = b;
+        }
+        if (total > 0) log.debug("Assigned vets to {} appointment requests", total);
+        return total;
+    }
+
+    private Batch runBatch(Long clinicId, Batch after) {
+        List<Appointment> batch = appointments.lockUnassigned(clinicId, after.lastStart, after.lastId,
+                PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) return new Batch(0, 0, after.lastStart, after.lastId);
+        int assigned = assigner.assignAll(batch);
+        for (Appointment a : batch) {
+            if (a.getVet() != null) events.updated(a.getId());
+        }
+        assignedCounter.increment(assigned);
+        leftOverCounter.increment(batch.size() - assigned);
+        Appointment last = batch.get(batch.size() - 1);
+        return new Batch(batch.size(), assigned, last.getStartsAt(), last.getId());
+    }
+
+    /** Outcome of one batch; (lastStart, lastId) is where the next one continues */
+    private record Batch(int seen, int assigned, LocalDateTime lastStart, Long lastId) {}
+
+    @PreDestroy
+    void shutdown() {
+        if (passes != null) passes.cancel(false);
+    }
+}
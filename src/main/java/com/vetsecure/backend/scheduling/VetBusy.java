@@ -0,0 +1,6 @@
+package com.vetsecure.backend.scheduling;
+
+import java.time.LocalDateTime;
+
+/** Busy time [startsAt, endsAt) of one vet (JPQL projection for availability search) */
+public record VetBusy(Long vetId, LocalDateTime startsAt, LocalDateTime endsAt) {}
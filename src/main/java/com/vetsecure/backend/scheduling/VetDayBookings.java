@@ -0,0 +1,85 @@
+package com.vetsecure.backend.scheduling;
+
+import com.vetsecure.backend.events.AppointmentEvent;
+import com.vetsecure.backend.repository.AppointmentRepository;
+import com.vetsecure.backend.repository.SlotHoldRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-vet, per-day {@link IntervalIndex}es for read-side availability lookups, loaded with two
+ * indexed range queries (appointments, plus unexpired slot holds as busy time with no appointment id)
+ * and kept for app.scheduling.day-cache-ttl.
+ *
+ * Any committed appointment write on this instance clears the cache; writes on other instances are
+ * picked up when the TTL runs out. That is fine for answering "is this slot free?" in the UI, but it is
+ * never the last word for a booking: the write path always re-checks with
+ * AppointmentRepository.existsOverlapping inside its transaction.
+ */
+@Component
+public class VetDayBookings {
+
+    private final AppointmentRepository appointments;
+    private final SlotHoldRepository holds;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+
+    public VetDayBookings(
+            AppointmentRepository appointments,
+            SlotHoldRepository holds,
+            @Value("${app.scheduling.day-cache-ttl:30s}") Duration ttl,
+            @Value("${app.scheduling.day-cache-size:2000}") int maxEntries
+    ) {
+        this.appointments = appointments;
+        this.holds = holds;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = Math.max(maxEntries, 1);
+    }
+
+    public IntervalIndex day(Long vetId, LocalDate date) {
+        long now = System.nanoTime();
+        Key key = new Key(vetId, date);
+        Entry e = cache.get(key);
+        if (e != null && now - e.loadedAt < ttlNanos) return e.index;
+
+        LocalDateTime from = date.atStartOfDay();
+        List<BookedInterval> booked = new ArrayList<>(appointments.findBookedIntervals(vetId, from, from.plusDays(1)));
+        for (VetBusy h : holds.findActiveForVets(List.of(vetId), from, from.plusDays(1), LocalDateTime.now())) {
+            booked.add(new BookedInterval(null, h.startsAt(), h.endsAt()));
+        }
+        IntervalIndex index = IntervalIndex.of(booked);
+        if (cache.size() >= maxEntries) cache.clear(); // crude bound; entries are cheap to rebuild
+        cache.put(key, new Entry(index, now));
+        return index;
+    }
+
+    public boolean isFree(Long vetId, LocalDateTime start, LocalDateTime end) {
+        // same-day lookup; appointments are not expected to cross midnight
+        return !day(vetId, start.toLocalDate()).overlaps(start, end);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AppointmentEvent event) {
+        // a write can move an appointment between vets and days; dropping everything is simplest
+        cache.clear();
+    }
+
+    /** A hold for this vet was placed, released or expired */
+    public void invalidate(Long vetId) {
+        cache.keySet().removeIf(k -> k.vetId().equals(vetId));
+    }
+
+    private record Key(Long vetId, LocalDate date) {}
+
+    private record Entry(IntervalIndex index, long loadedAt) {}
+}
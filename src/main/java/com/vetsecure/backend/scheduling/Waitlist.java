@@ -0,0 +1,269 @@
+package com.vetsecure.backend.scheduling;
+
+import com.vetsecure.backend.events.AppointmentEvent;
+import com.vetsecure.backend.events.AppointmentEvents;
+import com.vetsecure.backend.model.Appointment;
+import com.vetsecure.backend.model.WaitlistEntry;
+import com.vetsecure.backend.repository.AppointmentRepository;
+import com.vetsecure.backend.repository.PetRepository;
+import com.vetsecure.backend.repository.VetRepository;
+import com.vetsecure.backend.repository.WaitlistEntryRepository;
+import com.vetsecure.backend.service.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Waitlist with automatic backfill: when an appointment is cancelled, the freed slot is offered to the
+ * best waiting entry of that clinic (see {@link WaitlistIndex}) and booked for them straight away.
+ *
+ * Matching runs on the shared background scheduler, after the cancelling transaction commits, so cancelling stays
+ * as fast as before. Each attempt is its own transaction: SlotHolds.claimForBooking locks the vet and
+ * re-checks the slot, and the entry is flipped WAITING -> BOOKED with a conditional update, so two
+ * instances (or a racing owner) can never both get it. The index is per instance and reloaded from the
+ * database every app.waitlist.refresh to pick up entries added elsewhere.
+ */
+@Component
+public class Waitlist {
+
+    private static final Logger log = LoggerFactory.getLogger(Waitlist.class);
+
+    private final WaitlistEntryRepository entries;
+    private final AppointmentRepository appointments;
+    private final PetRepository pets;
+    private final VetRepository vets;
+    private final SlotHolds slotHolds;
+    private final AppointmentEvents events;
+    private final TransactionTemplate tx;
+
+    private final boolean enabled;
+    private final Duration refresh;
+    private final Duration minLead;
+    private final Duration maxWindow;
+    private final int maxPerOwner;
+    private final int maxCandidates;
+
+    private final WaitlistIndex index = new WaitlistIndex();
+    private final TaskScheduler scheduler;
+    private volatile ScheduledFuture<?> reloading;
+    private final Counter backfilled;
+    private final Counter unfilled;
+
+    public Waitlist(
+            WaitlistEntryRepository entries,
+            AppointmentRepository appointments,
+            PetRepository pets,
+            VetRepository vets,
+            SlotHolds slotHolds,
+            AppointmentEvents events,
+            PlatformTransactionManager txManager,
+            TaskScheduler scheduler,
+            MeterRegistry registry,
+            @Value("${app.waitlist.enabled:true}") boolean enabled,
+            @Value("${app.waitlist.refresh:1m}") Duration refresh,
+            @Value("${app.waitlist.min-lead:1h}") Duration minLead,
+            @Value("${app.waitlist.max-window:60d}") Duration maxWindow,
+            @Value("${app.waitlist.max-per-owner:5}") int maxPerOwner,
+            @Value("${app.waitlist.max-candidates:10}") int maxCandidates
+    ) {
+        this.entries = entries;
+        this.appointments = appointments;
+        this.pets = pets;
+        this.vets = vets;
+        this.slotHolds = slotHolds;
+        this.events = events;
+        this.tx = new TransactionTemplate(txManager);
+        this.enabled = enabled;
+        this.refresh = refresh;
+        this.minLead = minLead;
+        this.maxWindow = maxWindow;
+        this.maxPerOwner = Math.max(maxPerOwner, 1);
+        this.maxCandidates = Math.max(maxCandidates, 1);
+
+        this.scheduler = scheduler;
+        Gauge.builder("vetsecure.waitlist.waiting", index, WaitlistIndex::size)
+                .description("Waitlist entries known to this instance")
+                .register(registry);
+        this.backfilled = Counter.builder("vetsecure.waitlist.backfilled")
+                .description("Cancelled slots booked for a waitlist entry")
+                .register(registry);
+        this.unfilled = Counter.builder("vetsecure.waitlist.unfilled")
+                .description("Cancelled slots no waitlist entry could take")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        reloading = scheduler.scheduleWithFixedDelay(this::reload, Instant.now(), refresh);
+    }
+
+    /**
+     * Puts the owner's pet on the waitlist of a clinic (optionally one vet) for [from, to].
+     * @throws IllegalArgumentException bad window, or the vet doesn't work at the clinic
+     * @throws IllegalStateException too many open entries for this owner
+     */
+    @Transactional
+    public WaitlistEntry join(Long ownerUserId, Long petId, Long clinicId, Long vetId,
+                              Appointment.ServiceType serviceType, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!to.isAfter(from)) throw new IllegalArgumentException("'to' must be after 'from'");
+        if (!to.isAfter(now)) throw new IllegalArgumentException("Window is in the past");
+        if (Duration.between(from, to).compareTo(maxWindow) > 0) {
+            throw new IllegalArgumentException("Window is longer than " + maxWindow.toDays() + " days");
+        }
+        if (vetId != null) {
+            var vet = vets.findById(vetId).orElseThrow(() -> new IllegalArgumentException("Vet not found"));
+            if (vet.getClinic() == null || !clinicId.equals(vet.getClinic().getId())) {
+                throw new IllegalArgumentException("Vet does not work at this clinic");
+            }
+        }
+        if (entries.countByOwnerUserIdAndStatus(ownerUserId, WaitlistEntry.Status.WAITING) >= maxPerOwner) {
+            throw new IllegalStateException("Too many waitlist entries; cancel one first");
+        }
+
+        WaitlistEntry e = new WaitlistEntry();
+        e.setOwnerUserId(ownerUserId);
+        e.setPetId(petId);
+        e.setClinicId(clinicId);
+        e.setVetId(vetId);
+        e.setServiceType(serviceType);
+        e.setWindowStart(from.isBefore(now) ? now : from);
+        e.setWindowEnd(to);
+        e.setCreatedAt(Instant.now());
+        WaitlistEntry saved = entries.save(e);
+        AfterCommit.run(() -> index.add(toWaiting(saved)));
+        return saved;
+    }
+
+    /** Owner leaves the waitlist; false if the entry isn't theirs or isn't waiting any more */
+    @Transactional
+    public boolean cancel(Long id, Long ownerUserId) {
+        if (entries.cancelWaiting(id, ownerUserId) == 0) return false;
+        AfterCommit.run(() -> index.remove(id));
+        return true;
+    }
+
+    /** Staff bump; returns the updated entry, or null if it is no longer waiting */
+    @Transactional
+    public WaitlistEntry reprioritize(Long id, int priority) {
+        if (entries.updatePriority(id, priority) == 0) return null;
+        WaitlistEntry saved = entries.findById(id).orElseThrow();
+        AfterCommit.run(() -> index.add(toWaiting(saved)));
+        return saved;
+    }
+
+    /** Runs after the cancelling transaction commits; the matching itself happens on the shared scheduler */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AppointmentEvent event) {
+        if (!enabled || event.type() != AppointmentEvent.Type.CANCELLED) return;
+        try {
+            scheduler.schedule(() -> backfill(event.appointmentId()), Instant.now());
+        } catch (RejectedExecutionException ignored) {
+            // shutting down
+        }
+    }
+
+    void backfill(Long appointmentId) {
+        try {
+            Freed freed = tx.execute(status -> appointments.findById(appointmentId)
+                    .filter(a -> a.getStatus() == Appointment.AppointmentStatus.CANCELLED)
+                    .filter(a -> a.getVet() != null && a.getClinicId() != null && a.getStartsAt() != null)
+                    .map(a -> new Freed(a.getVet().getId(), a.getClinicId(), a.getStartsAt(), a.getEndsAt()))
+                    .orElse(null));
+            LocalDateTime now = LocalDateTime.now();
+            if (freed == null || freed.start().isBefore(now.plus(minLead))) return;
+
+            long minutes = Duration.between(freed.start(), freed.end()).toMinutes();
+            for (var w : index.candidates(freed.clinicId(), freed.vetId(), freed.start(), minutes, now, maxCandidates)) {
+                Outcome outcome;
+                try {
+                    outcome = tx.execute(status -> tryBook(w.id(), freed, status));
+                } catch (Exception e) {
+                    log.warn("Waitlist booking for entry {} failed: {}", w.id(), e.toString());
+                    continue;
+                }
+                if (outcome == Outcome.BOOKED) {
+                    index.remove(w.id());
+                    backfilled.increment();
+                    log.debug("Backfilled cancelled appointment {} from waitlist entry {}", appointmentId, w.id());
+                    return;
+                }
+                if (outcome == Outcome.TAKEN) break; // someone else got the slot first
+                index.remove(w.id()); // GONE: booked or cancelled elsewhere
+            }
+            unfilled.increment();
+        } catch (Exception e) {
+            log.warn("Waitlist backfill for appointment {} failed: {}", appointmentId, e.toString());
+        }
+    }
+
+    private Outcome tryBook(Long entryId, Freed freed, TransactionStatus status) {
+        WaitlistEntry e = entries.findById(entryId).orElse(null);
+        if (e == null || e.getStatus() != WaitlistEntry.Status.WAITING) return Outcome.GONE;
+
+        Appointment apt = new Appointment();
+        apt.setVet(vets.getReferenceById(freed.vetId()));
+        apt.setPet(pets.getReferenceById(e.getPetId()));
+        apt.setDate(freed.start().toLocalDate());
+        apt.setTime(freed.start().toLocalTime());
+        apt.setServiceType(e.getServiceType());
+        apt.setReason("Booked from waitlist");
+        apt.setStatus(Appointment.AppointmentStatus.PENDING);
+        if (slotHolds.claimForBooking(freed.vetId(), apt.getStartsAt(), apt.getEndsAt(), null, null, null).isPresent()) {
+            status.setRollbackOnly();
+            return Outcome.TAKEN;
+        }
+        Appointment saved = appointments.save(apt);
+        if (entries.markBooked(entryId, saved.getId()) == 0) {
+            status.setRollbackOnly();
+            return Outcome.GONE;
+        }
+        events.created(saved.getId());
+        return Outcome.BOOKED;
+    }
+
+    private void reload() {
+        try {
+            List<WaitlistIndex.Waiting> open = tx.execute(status -> entries.findOpen(LocalDateTime.now())
+                    .stream().map(Waitlist::toWaiting).toList());
+            if (open != null) index.replaceAll(open);
+        } catch (Exception e) {
+            log.warn("Waitlist reload failed: {}", e.toString());
+        }
+    }
+
+    private static WaitlistIndex.Waiting toWaiting(WaitlistEntry e) {
+        return new WaitlistIndex.Waiting(e.getId(), e.getClinicId(), e.getVetId(), e.getServiceType().minutes(),
+                e.getWindowStart(), e.getWindowEnd(), e.getPriority(), e.getCreatedAt());
+    }
+
+    private record Freed(Long vetId, Long clinicId, LocalDateTime start, LocalDateTime end) {}
+
+    private enum Outcome { BOOKED, TAKEN, GONE }
+
+    @PreDestroy
+    void shutdown() {
+        if (reloading != null) reloading.cancel(false);
+    }
+}
@@ -0,0 +1,91 @@
+package com.vetsecure.backend.scheduling;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory waitlist: one priority-ordered set per clinic (priority desc, then oldest first).
+ *
+ * A freed slot only touches the queue of its own clinic and walks it in priority order until the first
+ * entries that fit, so the cost of a cancellation doesn't grow with the total number of waitlists.
+ * Adds and removals are O(log n) and keep the order, so nothing is ever re-sorted or rescanned.
+ */
+public final class WaitlistIndex {
+
+    /** What the matcher needs of a waitlist entry */
+    public record Waiting(Long id, Long clinicId, Long vetId, int minutes,
+                          LocalDateTime windowStart, LocalDateTime windowEnd,
+                          int priority, Instant createdAt) {
+
+        /** Could this entry take a visit starting at start, with minutesFree available, with this vet? */
+        boolean fits(Long freedVetId, LocalDateTime start, long minutesFree) {
+            return (vetId == null || vetId.equals(freedVetId))
+                    && minutes <= minutesFree
+                    && !start.isBefore(windowStart)
+                    && !start.isAfter(windowEnd);
+        }
+    }
+
+    static final Comparator<Waiting> ORDER = Comparator
+            .comparingInt(Waiting::priority).reversed()
+            .thenComparing(Waiting::createdAt)
+            .thenComparing(Waiting::id);
+
+    private final Map<Long, NavigableSet<Waiting>> byClinic = new ConcurrentHashMap<>();
+    private final Map<Long, Waiting> byId = new ConcurrentHashMap<>();
+
+    public void add(Waiting w) {
+        Waiting previous = byId.put(w.id(), w);
+        if (previous != null) queue(previous.clinicId()).remove(previous);
+        queue(w.clinicId()).add(w);
+    }
+
+    public void remove(Long id) {
+        Waiting w = byId.remove(id);
+        if (w != null) queue(w.clinicId()).remove(w);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Up to limit entries that could take [start, start + minutesFree) with the vet, best first.
+     * Entries whose window has closed are dropped on the way.
+     */
+    public List<Waiting> candidates(Long clinicId, Long vetId, LocalDateTime start, long minutesFree,
+                                    LocalDateTime now, int limit) {
+        List<Waiting> out = new ArrayList<>();
+        NavigableSet<Waiting> q = byClinic.get(clinicId);
+        if (q == null) return out;
+        for (Waiting w : q) {
+            if (w.windowEnd().isBefore(now)) {
+                remove(w.id());
+                continue;
+            }
+            if (w.fits(vetId, start, minutesFree)) {
+                out.add(w);
+                if (out.size() >= limit) break;
+            }
+        }
+        return out;
+    }
+
+    /** Replaces the whole content, e.g. after a reload from the database */
+    public void replaceAll(List<Waiting> entries) {
+        byClinic.clear();
+        byId.clear();
+        for (Waiting w : entries) add(w);
+    }
+
+    private NavigableSet<Waiting> queue(Long clinicId) {
+        return byClinic.computeIfAbsent(clinicId, k -> new ConcurrentSkipListSet<>(ORDER));
+    }
+}
@@ -0,0 +1,16 @@
+package com.vetsecure.backend.scheduling;
+
+import java.time.DayOfWeek;
+
+/**
+ * The weekday numbering stored in clinic_schedules / vet_schedules: 0 = Sunday, 1 = Monday, ..., 6 = Saturday.
+ * java.time numbers Monday..Sunday as 1..7, so anything matching a date against a schedule row goes through here.
+ */
+public final class Weekdays {
+
+    private Weekdays() {}
+
+    public static byte of(DayOfWeek day) {
+        return (byte) (day.getValue() % 7);
+    }
+}
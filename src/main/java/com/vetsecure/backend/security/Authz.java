@@ -1,59 +1,60 @@
 package com.vetsecure.backend.security;
 
-import com.vetsecure.backend.repository.PetOwnerRepository;
 import com.vetsecure.backend.repository.PetRepository;
 import com.vetsecure.backend.repository.AppointmentRepository;
-import com.vetsecure.backend.repository.UserRepository;
-import com.vetsecure.backend.repository.VetRepository;
-import com.vetsecure.backend.model.Pet;
-import com.vetsecure.backend.model.Appointment;
-import com.vetsecure.backend.model.Vet;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
-
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Ownership checks used from @PreAuthorize.
+ * Identity comparisons are answered from the cached {@link UserContext}; checks against another
+ * resource are a single existence query on ids, memoized for the rest of the current HTTP request.
+ */
 @Component("authz") // used in @PreAuthorize as @authz
 public class Authz {
 
-    private final PetOwnerRepository owners;
+    private static final String MEMO_ATTR = Authz.class.getName() + ".memo";
+
     private final PetRepository petRepository;
     private final AppointmentRepository appointmentRepository;
-    private final UserRepository userRepository;
-    private final VetRepository vetRepository;
+    private final UserContextService userContexts;
 
-    public Authz(PetOwnerRepository owners, PetRepository petRepository,
-                 AppointmentRepository appointmentRepository, UserRepository userRepository,
-                 VetRepository vetRepository) {
-        this.owners = owners;
+    public Authz(PetRepository petRepository, AppointmentRepository appointmentRepository,
+                 UserContextService userContexts) {
         this.petRepository = petRepository;
         this.appointmentRepository = appointmentRepository;
-        this.userRepository = userRepository;
-        this.vetRepository = vetRepository;
+        this.userContexts = userContexts;
     }
 
     /** true if the authenticated user owns PetOwner with id = ownerId */
     public boolean isSelfOwner(Authentication auth, Long ownerId) {
-        if (auth == null || !auth.isAuthenticated()) return false;
-        String email = auth.getName(); // JWT sub should be email
-        return owners.findById(ownerId)
-                .map(po -> po.getUser() != null && email.equalsIgnoreCase(po.getUser().getEmail()))
+        if (auth == null || !auth.isAuthenticated() || ownerId == null) return false;
+        return userContexts.forAuthentication(auth)
+                .map(ctx -> ownerId.equals(ctx.ownerId()))
                 .orElse(false);
     }
 
     /** allow creating Owner profile only if user is logged in and doesn't have one yet */
     public boolean canCreateOwnerForSelf(Authentication auth) {
         if (auth == null || !auth.isAuthenticated()) return false;
-        String email = auth.getName();
-        return !owners.existsByUser_EmailIgnoreCase(email);
+        return userContexts.forAuthentication(auth)
+                .map(ctx -> !ctx.isOwner())
+                .orElse(false);
     }
 
     /** true if the authenticated user is the same as the user with userId */
     public boolean isSelf(Authentication auth, Long userId) {
-        if (auth == null || !auth.isAuthenticated()) return false;
-        String email = auth.getName();
-        return userRepository.findById(userId)
-                .map(user -> email.equalsIgnoreCase(user.getEmail()))
+        if (auth == null || !auth.isAuthenticated() || userId == null) return false;
+        return userContexts.forAuthentication(auth)
+                .map(ctx -> userId.equals(ctx.userId()))
                 .orElse(false);
     }
 
@@ -65,17 +66,15 @@ public class Authz {
         if (hasAnyRole(auth, "SUPER_ADMIN", "CLINIC_ADMIN", "VET", "ASSISTANT")) {
             return true;
         }
+        if (petId == null) return false;
 
         // Check if user is the pet owner
-        String email = auth.getName();
-        return petRepository.findById(petId)
-                .map(pet -> pet.getOwner() != null &&
-                           pet.getOwner().getUser() != null &&
-                           email.equalsIgnoreCase(pet.getOwner().getUser().getEmail()))
-                .orElse(false);
+        Long ownerId = userContexts.forAuthentication(auth).map(UserContext::ownerId).orElse(null);
+        if (ownerId == null) return false;
+        return memo("canAccessPet", ownerId, petId, () -> petRepository.existsByIdAndOwner_Id(petId, ownerId));
     }
 
-    /** true if the authenticated user can access the appointment */
+    /** true if the authenticated user can access the appointment (pet owner or assigned vet) */
     public boolean canAccessAppointment(Authentication auth, Long appointmentId) {
         if (auth == null || !auth.isAuthenticated()) return false;
 
@@ -83,24 +82,12 @@ public class Authz {
         if (hasAnyRole(auth, "SUPER_ADMIN", "CLINIC_ADMIN")) {
             return true;
         }
+        if (appointmentId == null) return false;
 
-        String email = auth.getName();
-        return appointmentRepository.findById(appointmentId)
-                .map(apt -> {
-                    // Check if user is the pet owner
-                    if (apt.getPet() != null && apt.getPet().getOwner() != null &&
-                        apt.getPet().getOwner().getUser() != null) {
-                        if (email.equalsIgnoreCase(apt.getPet().getOwner().getUser().getEmail())) {
-                            return true;
-                        }
-                    }
-                    // Check if user is the assigned vet
-                    if (apt.getVet() != null && apt.getVet().getUser() != null) {
-                        return email.equalsIgnoreCase(apt.getVet().getUser().getEmail());
-                    }
-                    return false;
-                })
-                .orElse(false);
+        var ctx = userContexts.forAuthentication(auth).orElse(null);
+        if (ctx == null || (ctx.ownerId() == null && ctx.vetId() == null)) return false;
+        return memo("canAccessAppointment", ctx.userId(), appointmentId,
+                () -> appointmentRepository.existsForOwnerOrVet(appointmentId, ctx.ownerId(), ctx.vetId()));
     }
 
     /** true if the authenticated user is a vet in the specified clinic */
@@ -111,16 +98,36 @@ public class Authz {
         if (hasAnyRole(auth, "SUPER_ADMIN", "CLINIC_ADMIN")) {
             return true;
         }
+        if (vetId == null || clinicId == null) return false;
 
-        String email = auth.getName();
-        return vetRepository.findById(vetId)
-                .map(vet -> vet.getUser() != null &&
-                           email.equalsIgnoreCase(vet.getUser().getEmail()) &&
-                           vet.getClinic() != null &&
-                           vet.getClinic().getId().equals(clinicId))
+        return userContexts.forAuthentication(auth)
+                .map(ctx -> vetId.equals(ctx.vetId()) && clinicId.equals(ctx.clinicId()))
                 .orElse(false);
     }
 
+    /**
+     * Per-request memo stored as a request attribute; outside a web request (async, tests)
+     * the check just runs.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean memo(String check, Long principal, Object arg, Supplier<Boolean> query) {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs == null) return query.get();
+
+        Map<String, Boolean> memo = (Map<String, Boolean>) attrs.getAttribute(MEMO_ATTR, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attrs.setAttribute(MEMO_ATTR, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        String key = check + "|" + principal + "|" + arg;
+        Boolean cached = memo.get(key);
+        if (cached != null) return cached;
+
+        boolean result = Boolean.TRUE.equals(query.get());
+        memo.put(key, result);
+        return result;
+    }
+
     /** Helper method to check if user has any of the specified roles */
     private boolean hasAnyRole(Authentication auth, String... roles) {
         if (auth == null || auth.getAuthorities() == null) return false;
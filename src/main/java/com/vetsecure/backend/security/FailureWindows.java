@@ -0,0 +1,114 @@
+package com.vetsecure.backend.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Sliding-window failure counting with exponential lockout, all in memory.
+ *
+ * Each subject remembers the times of its last threshold failures (a small ring). When the oldest of
+ * them is still inside window, the subject is locked for base * 2^(lockouts - 1), capped at max, and the
+ * ring starts over. The lockout count falls back to zero once the subject has been quiet for resetAfter.
+ * A success clears the subject.
+ *
+ * Times are epoch millis. Subjects are independent; each one is updated under its own monitor.
+ */
+public final class FailureWindows {
+
+    /** Lock state worth persisting: lockedUntil = 0 and lockouts = 0 means cleared */
+    public record Change(String subject, int lockouts, long lockedUntil) {}
+
+    private final int threshold;
+    private final long windowMillis;
+    private final long baseMillis;
+    private final long maxMillis;
+    private final long resetAfterMillis;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    public FailureWindows(int threshold, long windowMillis, long baseMillis, long maxMillis, long resetAfterMillis) {
+        this.threshold = Math.max(threshold, 1);
+        this.windowMillis = windowMillis;
+        this.baseMillis = baseMillis;
+        this.maxMillis = Math.max(maxMillis, baseMillis);
+        this.resetAfterMillis = resetAfterMillis;
+    }
+
+    /** Millis until subject may try again; 0 if not locked */
+    public long lockedFor(String subject, long now) {
+        State s = states.get(subject);
+        if (s == null) return 0;
+        synchronized (s) {
+            return Math.max(s.lockedUntil - now, 0);
+        }
+    }
+
+    /** Counts a failure; returns the new lock state if this failure locked the subject, else null */
+    public Change failure(String subject, long now) {
+        State s = states.computeIfAbsent(subject, k -> new State(threshold));
+        synchronized (s) {
+            if (s.lockouts > 0 && now - s.lastFailure > resetAfterMillis) s.lockouts = 0;
+            s.lastFailure = now;
+            s.ring[s.next] = now;
+            s.next = (s.next + 1) % s.ring.length;
+            if (s.count < s.ring.length) s.count++;
+
+            // ring full and its oldest entry (the one we overwrite next) is inside the window
+            if (s.count < s.ring.length || now - s.ring[s.next] > windowMillis) return null;
+
+            s.lockouts++;
+            long backoff = baseMillis << Math.min(s.lockouts - 1, 30);
+            s.lockedUntil = now + Math.min(backoff < 0 ? maxMillis : backoff, maxMillis);
+            s.count = 0;
+            return new Change(subject, s.lockouts, s.lockedUntil);
+        }
+    }
+
+    /** Clears the subject; returns a cleared Change if there was lock state to forget, else null */
+    public Change success(String subject) {
+        State s = states.remove(subject);
+        if (s == null) return null;
+        synchronized (s) {
+            return s.lockouts > 0 ? new Change(subject, 0, 0) : null;
+        }
+    }
+
+    /** Restores persisted state, e.g. at startup */
+    public void restore(String subject, int lockouts, long lockedUntil, long lastFailure) {
+        State s = states.computeIfAbsent(subject, k -> new State(threshold));
+        synchronized (s) {
+            s.lockouts = lockouts;
+            s.lockedUntil = lockedUntil;
+            s.lastFailure = lastFailure;
+        }
+    }
+
+    /** Drops subjects that are unlocked, quiet for longer than the window, and have no backoff to remember */
+    public void sweep(long now, BiConsumer<String, Integer> expiredLockouts) {
+        states.forEach((subject, s) -> {
+            synchronized (s) {
+                if (s.lockedUntil > now || now - s.lastFailure <= windowMillis) return;
+                if (s.lockouts > 0 && now - s.lastFailure <= resetAfterMillis) return;
+                if (s.lockouts > 0) expiredLockouts.accept(subject, s.lockouts);
+            }
+            states.remove(subject, s);
+        });
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    private static final class State {
+        final long[] ring;
+        int next;
+        int count;
+        int lockouts;
+        long lockedUntil;
+        long lastFailure;
+
+        State(int threshold) {
+            this.ring = new long[threshold];
+        }
+    }
+}
@@ -7,7 +7,6 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -16,11 +15,12 @@ import java.io.IOException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.GrantedAuthority;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import com.vetsecure.backend.repository.UserRepository;
-import com.vetsecure.backend.model.User;
+import com.vetsecure.backend.observability.DomainMetrics;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,13 +29,37 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
 
     private final JwtService jwtService;
-    private final UserDetailsServiceImpl uds;
-    private final UserRepository usersRepo;
+    private final UserContextService userContexts;
+    private final DomainMetrics metrics;
+    private final TokenRevocations revocations;
 
-    public JwtAuthFilter(JwtService jwtService, UserDetailsServiceImpl uds, UserRepository usersRepo) {
+    public JwtAuthFilter(JwtService jwtService, UserContextService userContexts, DomainMetrics metrics,
+                         TokenRevocations revocations) {
         this.jwtService = jwtService;
-        this.uds = uds;
-        this.usersRepo = usersRepo;
+        this.userContexts = userContexts;
+        this.metrics = metrics;
+        this.revocations = revocations;
+    }
+
+    /** A well-formed token we still refuse: refresh/MFA tokens aren't bearer tokens, revoked ones are dead */
+    private static final class RejectedTokenException extends JwtException {
+        final String reason;
+
+        RejectedTokenException(String reason) {
+            super("Token rejected: " + reason);
+            this.reason = reason;
+        }
+    }
+
+    /** Low-cardinality tag for vetsecure.jwt.parse.failures */
+    private static String failureReason(Exception e) {
+        if (e instanceof RejectedTokenException r) return r.reason;
+        if (e instanceof ExpiredJwtException) return "expired";
+        if (e instanceof SignatureException) return "signature";
+        if (e instanceof MalformedJwtException) return "malformed";
+        if (e instanceof JwtException || e instanceof IllegalArgumentException) return "invalid";
+        if (e instanceof IllegalStateException) return "unknown_user";
+        return "other";
     }
 
     @Override
@@ -56,6 +80,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             try {
                 var jws = jwtService.parse(token);
                 var claims = jws.getBody();
+                Object type = claims.get("type");
+                if ("REFRESH".equals(type) || "MFA".equals(type)) throw new RejectedTokenException("wrong_type");
+                if (revocations.isRevoked(claims)) throw new RejectedTokenException("revoked");
                 // Prefer explicit email claim; fall back to subject if necessary
                 String email = null;
                 try {
@@ -69,47 +96,21 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     email = subject;
                 }
 
-                UserDetails ud = null;
-                System.out.println("[JwtAuthFilter] Attempting to load user by email: " + email);
-                try {
-                    ud = uds.loadUserByUsername(email);
-                    System.out.println("[JwtAuthFilter] Successfully loaded user: " + (ud != null ? ud.getUsername() : "null"));
-                } catch (UsernameNotFoundException ex) {
-                    System.out.println("[JwtAuthFilter] User not found by email '" + email + "', trying by ID...");
-                    // If loading by username/email failed and subject looks like a numeric userId,
-                    // try resolving the user by ID and then load by their email.
-                    try {
-                        if (subject != null) {
-                            long maybeId = Long.parseLong(subject);
-                            System.out.println("[JwtAuthFilter] Trying to find user by ID: " + maybeId);
-                            java.util.Optional<User> uopt = usersRepo.findById(maybeId);
-                            if (uopt.isPresent()) {
-                                String resolvedEmail = uopt.get().getEmail();
-                                System.out.println("[JwtAuthFilter] Found user by ID, email: " + resolvedEmail);
-                                ud = uds.loadUserByUsername(resolvedEmail);
-                                System.out.println("[JwtAuthFilter] Successfully loaded user by ID: " + (ud != null ? ud.getUsername() : "null"));
-                              } else {
-                                  System.err.println("[JwtAuthFilter] User not found by ID: " + maybeId);
-                              }
-                          }
-                      } catch (NumberFormatException | UsernameNotFoundException e2) {
-                          System.err.println("[JwtAuthFilter] Failed to load user by ID: " + e2.getMessage());
-                          e2.printStackTrace();
-                      }
-                  }
-                if (ud == null) {
+                // Resolve the caller from the UserContext cache (one lookup per token lifetime, not per request).
+                // If the email claim is missing/stale and the subject is a numeric userId, resolve by id instead.
+                UserContext ctx = userContexts.forPrincipal(email)
+                        .or(() -> subject != null && subject.chars().allMatch(Character::isDigit)
+                                ? userContexts.forPrincipal(subject)
+                                : java.util.Optional.empty())
+                        .orElse(null);
+                if (ctx == null) {
                     logger.error("JwtAuthFilter: user not found for token subject/claim (subject='{}', email='{}')", subject, email);
-                    System.err.println("[JwtAuthFilter] ERROR: User not found for email: " + email + ", subject: " + subject);
-                    System.err.println("[JwtAuthFilter] This will cause authentication to fail and return 403!");
-                    // Don't throw - let it continue, but Spring Security will reject it
+                    throw new IllegalStateException("No user for token subject " + subject);
                 }
 
-                // Build authorities: include existing role authorities and map to SCOPE_* as needed
-                Collection<? extends GrantedAuthority> existing = ud.getAuthorities();
-                List<GrantedAuthority> authorities = new ArrayList<>();
-                if (existing != null) {
-                    authorities.addAll(new ArrayList<>(existing));
-                }
+                // Build authorities: include the role authority and map to SCOPE_* as needed
+                List<GrantedAuthority> existing = List.of(new SimpleGrantedAuthority("ROLE_" + ctx.role().name()));
+                List<GrantedAuthority> authorities = new ArrayList<>(existing);
 
                 // If the user has ROLE_PET_OWNER, allow reading pets
                 boolean isPetOwner = existing != null && existing.stream().anyMatch(a -> "ROLE_PET_OWNER".equals(a.getAuthority()));
@@ -124,22 +125,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     authorities.add(new SimpleGrantedAuthority("SCOPE_pets:write"));
                 }
 
-                var authToken = new UsernamePasswordAuthenticationToken(ud, null, authorities);
+                // principal is the email, so auth.getName() keeps returning the email everywhere
+                var authToken = new UsernamePasswordAuthenticationToken(ctx.email(), null, authorities);
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                logger.debug("JwtAuthFilter: authenticated user='{}' with authorities={}", ud.getUsername(), authorities);
+                logger.debug("JwtAuthFilter: authenticated user='{}' with authorities={}", ctx.email(), authorities);
             } catch (Exception e) {
+                metrics.jwtParseFailure(failureReason(e));
                 logger.error("JwtAuthFilter: token parsing/authentication failed", e);  // ← Log full exception
             }
-            logger.info("JwtAuthFilter: processing request to {}, Authorization header present: {}, Authentication set: {}",
-                    req.getRequestURI(), auth != null, 
-                    SecurityContextHolder.getContext().getAuthentication() != null);
-            System.out.println("[JwtAuthFilter] Request to: " + req.getRequestURI());
-            System.out.println("[JwtAuthFilter] Authorization header present: " + (auth != null));
-            System.out.println("[JwtAuthFilter] SecurityContext has authentication: " + 
-                (SecurityContextHolder.getContext().getAuthentication() != null));
-         } else {
-             System.out.println("[JwtAuthFilter] No Authorization header for request to: " + req.getRequestURI());
+            if (logger.isDebugEnabled()) {
+                logger.debug("JwtAuthFilter: processing request to {}, Authentication set: {}", req.getRequestURI(),
+                        SecurityContextHolder.getContext().getAuthentication() != null);
+            }
          }
          chain.doFilter(req, res);
      }
@@ -10,6 +10,7 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtService {
@@ -58,13 +59,21 @@ public class JwtService {
     }
 
     // ===== New: Access / Refresh =====
+    // Every token has an id (jti) and a family ("fam"): the login session it belongs to. Refreshing keeps
+    // the family, so revoking it (see TokenRevocations) kills every token of that session at once.
     public String generateAccessToken(User u) {
+        return generateAccessToken(u, newFamily());
+    }
+
+    public String generateAccessToken(User u, String family) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setIssuer(ISS).setAudience(AUD)
                 .setSubject(String.valueOf(u.getId()))              // subject = userId
+                .setId(UUID.randomUUID().toString())
                 .addClaims(Map.of(
                         "type", "ACCESS",
+                        "fam", family,
                         "email", u.getEmail(),
                         "username", u.getUsername(),
                         "role",  u.getRole().getName().name()
@@ -76,17 +85,31 @@ public class JwtService {
     }
 
     public String generateRefreshToken(User u) {
+        return generateRefreshToken(u, newFamily());
+    }
+
+    public String generateRefreshToken(User u, String family) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setIssuer(ISS).setAudience(AUD)
                 .setSubject(String.valueOf(u.getId()))
-                .addClaims(Map.of("type", "REFRESH"))
+                .setId(UUID.randomUUID().toString())
+                .addClaims(Map.of("type", "REFRESH", "fam", family))
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + refreshTtlMillis))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public static String newFamily() {
+        return UUID.randomUUID().toString();
+    }
+
+    /** Longest any token of a family can outlive its last refresh */
+    public long refreshTtlMillis() {
+        return refreshTtlMillis;
+    }
+
     // ===== New: Short-lived MFA token =====
     public String generateMfaToken(Long userId) {
         long now = System.currentTimeMillis();
@@ -0,0 +1,176 @@
+package com.vetsecure.backend.security;
+
+import com.vetsecure.backend.model.AccountLockout;
+import com.vetsecure.backend.repository.AccountLockoutRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Failed password and MFA attempts, tracked per account and per client IP in {@link FailureWindows}.
+ * Too many failures inside app.lockout.window lock the account (or IP) with exponential backoff; callers
+ * check {@link #lockedFor} before doing any BCrypt/TOTP work.
+ *
+ * Counting is memory only. Account lock state changes (locked, cleared, backoff expired) are queued and
+ * written to account_lockouts in one transaction every app.lockout.flush-interval, and loaded back at
+ * startup, so a restart doesn't unlock anyone and a failure never costs a database write. IP state is
+ * not persisted. State is per instance; with several instances an attacker gets threshold tries on each
+ * until a flush, and the per-account rate limit (RateLimiter) still applies.
+ */
+@Component
+public class LoginFailures {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginFailures.class);
+
+    public static final String LOGIN = "login";
+    public static final String MFA = "mfa";
+
+    private final AccountLockoutRepository repo;
+    private final TransactionTemplate tx;
+    private final MeterRegistry registry;
+    private final FailureWindows accounts;
+    private final FailureWindows ips;
+    private final Duration resetAfter;
+    private final Duration flushInterval;
+
+    // latest lock state per account subject, waiting for the next flush
+    private final Map<String, FailureWindows.Change> pending = new ConcurrentHashMap<>();
+    private final TaskScheduler scheduler;
+    private volatile ScheduledFuture<?> flushing;
+
+    public LoginFailures(
+            AccountLockoutRepository repo,
+            PlatformTransactionManager txManager,
+            TaskScheduler scheduler,
+            MeterRegistry registry,
+            @Value("${app.lockout.threshold:5}") int threshold,
+            @Value("${app.lockout.ip-threshold:50}") int ipThreshold,
+            @Value("${app.lockout.window:15m}") Duration window,
+            @Value("${app.lockout.base:1m}") Duration base,
+            @Value("${app.lockout.max:1h}") Duration max,
+            @Value("${app.lockout.reset-after:24h}") Duration resetAfter,
+            @Value("${app.lockout.flush-interval:5s}") Duration flushInterval
+    ) {
+        this.repo = repo;
+        this.tx = new TransactionTemplate(txManager);
+        this.registry = registry;
+        this.accounts = new FailureWindows(threshold, window.toMillis(), base.toMillis(), max.toMillis(), resetAfter.toMillis());
+        this.ips = new FailureWindows(ipThreshold, window.toMillis(), base.toMillis(), max.toMillis(), resetAfter.toMillis());
+        this.resetAfter = resetAfter;
+        this.flushInterval = flushInterval;
+        this.scheduler = scheduler;
+        Gauge.builder("vetsecure.lockout.tracked", this, f -> f.accounts.size() + f.ips.size())
+                .description("Accounts and IPs with recent failed attempts")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            Instant since = Instant.now().minus(resetAfter);
+            List<AccountLockout> rows = tx.execute(status -> repo.findByUpdatedAtAfter(since));
+            if (rows != null) {
+                for (AccountLockout row : rows) {
+                    accounts.restore(row.getSubject(), row.getLockouts(), row.getLockedUntil().toEpochMilli(),
+                            row.getUpdatedAt().toEpochMilli());
+                }
+                if (!rows.isEmpty()) log.info("Restored {} account lockouts", rows.size());
+            }
+        } catch (Exception e) {
+            log.warn("Could not restore account lockouts: {}", e.toString());
+        }
+        flushing = scheduler.scheduleWithFixedDelay(this::flush, Instant.now().plus(flushInterval), flushInterval);
+    }
+
+    /** Seconds until this account / IP may try again (for Retry-After); 0 if neither is locked */
+    public long lockedFor(String kind, String account, String ip) {
+        long now = System.currentTimeMillis();
+        long millis = Math.max(accounts.lockedFor(subject(kind, account), now), ips.lockedFor(ipSubject(kind, ip), now));
+        return millis == 0 ? 0 : Math.max((millis + 999) / 1000, 1);
+    }
+
+    public void failure(String kind, String account, String ip) {
+        long now = System.currentTimeMillis();
+        registry.counter("vetsecure.lockout.failures", "kind", kind).increment();
+        FailureWindows.Change change = accounts.failure(subject(kind, account), now);
+        if (change != null) {
+            registry.counter("vetsecure.lockout.locked", "kind", kind, "scope", "account").increment();
+            pending.put(change.subject(), change);
+        }
+        if (ips.failure(ipSubject(kind, ip), now) != null) {
+            registry.counter("vetsecure.lockout.locked", "kind", kind, "scope", "ip").increment();
+        }
+    }
+
+    public void success(String kind, String account) {
+        FailureWindows.Change change = accounts.success(subject(kind, account));
+        if (change != null) pending.put(change.subject(), change);
+    }
+
+    private void flush() {
+        long now = System.currentTimeMillis();
+        accounts.sweep(now, (subject, lockouts) -> pending.putIfAbsent(subject, new FailureWindows.Change(subject, 0, 0)));
+        ips.sweep(now, (subject, lockouts) -> { });
+        if (pending.isEmpty()) return;
+
+        List<FailureWindows.Change> batch = new ArrayList<>(pending.values());
+        batch.forEach(c -> pending.remove(c.subject(), c));
+        try {
+            tx.executeWithoutResult(status -> write(batch, Instant.ofEpochMilli(now)));
+        } catch (Exception e) {
+            log.warn("Could not persist {} account lockouts: {}", batch.size(), e.toString());
+            batch.forEach(c -> pending.putIfAbsent(c.subject(), c)); // next round
+        }
+    }
+
+    private void write(List<FailureWindows.Change> batch, Instant now) {
+        List<AccountLockout> upserts = new ArrayList<>();
+        List<String> cleared = new ArrayList<>();
+        for (FailureWindows.Change c : batch) {
+            if (c.lockouts() == 0) {
+                cleared.add(c.subject());
+            } else {
+                upserts.add(new AccountLockout(c.subject(), c.lockouts(), Instant.ofEpochMilli(c.lockedUntil()), now));
+            }
+        }
+        if (!upserts.isEmpty()) repo.saveAll(upserts);
+        if (!cleared.isEmpty()) repo.deleteAllByIdInBatch(cleared);
+    }
+
+    private static String subject(String kind, String account) {
+        String s = kind + "|" + (account == null ? "" : account.trim().toLowerCase(Locale.ROOT));
+        return s.length() > 191 ? s.substring(0, 191) : s;
+    }
+
+    private static String ipSubject(String kind, String ip) {
+        return kind + "|ip|" + ip;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flushing != null) flushing.cancel(false);
+        try {
+            flush(); // don't lose lockouts taken since the last round
+        } catch (Exception e) {
+            log.debug("Final lockout flush failed: {}", e.toString());
+        }
+    }
+}
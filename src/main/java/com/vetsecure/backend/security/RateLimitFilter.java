@@ -0,0 +1,87 @@
+package com.vetsecure.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the app.rate-limit routes that have a path, before the handler does any BCrypt/TOTP work.
+ * Over the limit: 429 with Retry-After (seconds) and {"error": ...}.
+ *
+ * The client IP is request.getRemoteAddr(); behind a proxy, set server.forward-headers-strategy so it
+ * is the real client and not the proxy.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10) // after springSecurityFilterChain (key=account needs the user), before IdempotencyFilter
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final List<String> HEADERS = List.of("Retry-After");
+
+    private final RateLimiter limiter;
+    private final ObjectMapper mapper;
+    private final List<Rule> rules = new ArrayList<>();
+
+    public RateLimitFilter(RateLimiter limiter, RateLimitProperties props, ObjectMapper mapper) {
+        this.limiter = limiter;
+        this.mapper = mapper;
+        props.getRoutes().forEach((name, route) -> {
+            if (route.getPath() != null) rules.add(new Rule(name, route.getMethod(), route.getPath(), route.getKey()));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return match(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        Rule rule = match(req);
+        long retryAfter = rule == null ? 0 : limiter.tryAcquire(rule.route, key(rule, req));
+        if (retryAfter > 0) {
+            res.setStatus(429);
+            res.setHeader("Retry-After", Long.toString(retryAfter));
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            mapper.writeValue(res.getOutputStream(), Map.of("error", "Too many requests, try again later"));
+            return;
+        }
+        chain.doFilter(req, res);
+    }
+
+    private Rule match(HttpServletRequest req) {
+        String ctx = req.getContextPath();
+        String path = req.getRequestURI().substring(ctx == null ? 0 : ctx.length());
+        for (Rule r : rules) {
+            if (r.method.equalsIgnoreCase(req.getMethod()) && r.path.equals(path)) return r;
+        }
+        return null;
+    }
+
+    private static String key(Rule rule, HttpServletRequest req) {
+        if (rule.key == RateLimitProperties.Key.ACCOUNT) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return "user:" + auth.getName();
+            }
+        }
+        return "ip:" + req.getRemoteAddr();
+    }
+
+    private record Rule(String route, String method, String path, RateLimitProperties.Key key) {}
+}
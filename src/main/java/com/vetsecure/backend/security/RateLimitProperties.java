@@ -0,0 +1,53 @@
+package com.vetsecure.backend.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * app.rate-limit.* settings.
+ *
+ * Each route allows capacity requests per "per", refilled continuously, per key. A route with a path is
+ * enforced by {@link RateLimitFilter} for that method + path, keyed by client IP or (key=account) by the
+ * authenticated user. A route without a path is checked by a controller once it knows the account, e.g.
+ * login-account keyed by the submitted email. max-keys bounds how many buckets are remembered.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    public enum Key { IP, ACCOUNT }
+
+    private boolean enabled = true;
+    private int maxKeys = 100_000;
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxKeys() { return maxKeys; }
+    public void setMaxKeys(int maxKeys) { this.maxKeys = maxKeys; }
+    public Map<String, Route> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Route> routes) { this.routes = routes; }
+
+    public static class Route {
+        private String method = "POST";
+        private String path;
+        private Key key = Key.IP;
+        private int capacity = 10;
+        private Duration per = Duration.ofMinutes(1);
+
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+        public Key getKey() { return key; }
+        public void setKey(Key key) { this.key = key; }
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        public Duration getPer() { return per; }
+        public void setPer(Duration per) { this.per = per; }
+    }
+}
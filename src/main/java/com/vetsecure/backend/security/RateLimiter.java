@@ -0,0 +1,124 @@
+package com.vetsecure.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token buckets for the routes in {@link RateLimitProperties}.
+ *
+ * A bucket is a single AtomicLong: the time at which it would be full again (GCRA). Taking a token is one
+ * CAS, no lock. Buckets live in 16 stripes, each a small access-ordered LRU map under its own lock, so
+ * lookups on different keys rarely contend and the total is capped at max-keys; an evicted key simply
+ * starts again with a full bucket.
+ *
+ * Metrics: vetsecure.ratelimit.requests{route, outcome=allowed|limited}, vetsecure.ratelimit.keys.
+ */
+@Component
+public class RateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final Map<String, Limit> limits = new HashMap<>();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongSupplier clock;
+    private final boolean enabled;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties props, MeterRegistry registry) {
+        this(props, registry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties props, MeterRegistry registry, LongSupplier clock) {
+        this.clock = clock;
+        this.enabled = props.isEnabled();
+        int perStripe = Math.max(props.getMaxKeys() / STRIPES, 1);
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe(perStripe);
+
+        props.getRoutes().forEach((name, route) -> {
+            long per = route.getPer().toNanos();
+            int capacity = Math.max(route.getCapacity(), 1);
+            long interval = Math.max(per / capacity, 1);
+            limits.put(name, new Limit(interval, interval * (capacity - 1),
+                    counter(registry, name, "allowed"), counter(registry, name, "limited")));
+        });
+        Gauge.builder("vetsecure.ratelimit.keys", this, RateLimiter::size)
+                .description("Rate limit buckets currently remembered")
+                .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String route, String outcome) {
+        return Counter.builder("vetsecure.ratelimit.requests")
+                .description("Rate-limited route decisions")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Takes a token from the route's bucket for key.
+     * @return 0 if allowed, otherwise the seconds until a token is available (for Retry-After)
+     */
+    public long tryAcquire(String route, String key) {
+        Limit limit = limits.get(route);
+        if (!enabled || limit == null || key == null) return 0;
+
+        long now = clock.getAsLong();
+        String k = route + '|' + key;
+        Stripe stripe = stripes[(k.hashCode() & 0x7fffffff) % STRIPES];
+        AtomicLong bucket;
+        synchronized (stripe) {
+            bucket = stripe.computeIfAbsent(k, x -> new AtomicLong(now)); // full
+        }
+
+        while (true) {
+            long full = bucket.get();
+            long base = full - now < 0 ? now : full;
+            long wait = base - now - limit.tolerance;
+            if (wait > 0) {
+                limit.limited.increment();
+                return Math.max(TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1), 1);
+            }
+            if (bucket.compareAndSet(full, base + limit.interval)) {
+                limit.allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        int n = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                n += s.size();
+            }
+        }
+        return n;
+    }
+
+    /** interval: nanos per token; tolerance: how far ahead of now the bucket may be (capacity - 1 tokens) */
+    private record Limit(long interval, long tolerance, Counter allowed, Counter limited) {}
+
+    private static final class Stripe extends LinkedHashMap<String, AtomicLong> {
+        private final int max;
+
+        Stripe(int max) {
+            super(16, 0.75f, true);
+            this.max = max;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AtomicLong> eldest) {
+            return size() > max;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.vetsecure.backend.security;
+
+import com.vetsecure.backend.model.User;
+import com.vetsecure.backend.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Refresh-token rotation with reuse detection.
+ *
+ * Every refresh token is single use: refreshing revokes its id and hands out a new access/refresh pair
+ * in the same family. Presenting an already used refresh token means two parties hold it, so the whole
+ * family is revoked (the thief's tokens and the legitimate client's alike) and both have to sign in again.
+ * Reuse across instances is caught once the revocation has been synced (app.revocation.flush-interval).
+ */
+@Component
+public class RefreshTokens {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokens.class);
+
+    public record Tokens(String accessToken, String refreshToken) {}
+
+    private final JwtService jwt;
+    private final UserRepository users;
+    private final TokenRevocations revocations;
+    private final MeterRegistry registry;
+
+    public RefreshTokens(JwtService jwt, UserRepository users, TokenRevocations revocations, MeterRegistry registry) {
+        this.jwt = jwt;
+        this.users = users;
+        this.revocations = revocations;
+        this.registry = registry;
+    }
+
+    /** A new session (token family) for a freshly authenticated user */
+    public Tokens issue(User u) {
+        return issue(u, JwtService.newFamily());
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair.
+     * @throws IllegalArgumentException invalid, expired, revoked or not a refresh token
+     * @throws IllegalStateException the token was already used; its family is now revoked
+     */
+    public Tokens rotate(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwt.parse(refreshToken).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw rejected("Invalid or expired refresh token");
+        }
+        String family = claims.get("fam", String.class);
+        if (!"REFRESH".equals(claims.get("type")) || claims.getId() == null || family == null) {
+            throw rejected("Not a rotatable refresh token; sign in again");
+        }
+        if (revocations.isRevoked(family)) throw rejected("Session was revoked; sign in again");
+
+        if (!revocations.revoke(claims.getId(), claims.getExpiration().toInstant())) {
+            revocations.revoke(family, Instant.now().plusMillis(jwt.refreshTtlMillis()));
+            registry.counter("vetsecure.auth.refresh", "outcome", "reused").increment();
+            log.warn("Refresh token reuse for user {}; revoked token family {}", claims.getSubject(), family);
+            throw new IllegalStateException("Refresh token was already used; session revoked, sign in again");
+        }
+
+        User u = users.findById(Long.valueOf(claims.getSubject()))
+                .orElseThrow(() -> rejected("User not found"));
+        registry.counter("vetsecure.auth.refresh", "outcome", "rotated").increment();
+        return issue(u, family);
+    }
+
+    private Tokens issue(User u, String family) {
+        return new Tokens(jwt.generateAccessToken(u, family), jwt.generateRefreshToken(u, family));
+    }
+
+    private IllegalArgumentException rejected(String message) {
+        registry.counter("vetsecure.auth.refresh", "outcome", "invalid").increment();
+        return new IllegalArgumentException(message);
+    }
+}
@@ -0,0 +1,73 @@
+package com.vetsecure.backend.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Revoked token / family ids until the moment the tokens they stand for expire anyway.
+ *
+ * Lookups are one ConcurrentHashMap get. Ids are also filed in time buckets by expiry
+ * (bucketMillis wide), so purging walks only the buckets that have fully expired instead of
+ * every id. An exact set rather than a Bloom filter: a false positive would log out a random user.
+ */
+public final class RevocationIndex {
+
+    private final long bucketMillis;
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, List<String>> buckets = new ConcurrentSkipListMap<>();
+
+    public RevocationIndex(long bucketMillis) {
+        this.bucketMillis = Math.max(bucketMillis, 1);
+    }
+
+    /** Revokes id until expiresAt (epoch millis); false if it was already revoked */
+    public boolean add(String id, long expiresAt) {
+        Long previous = expiries.putIfAbsent(id, expiresAt);
+        if (previous != null) {
+            if (expiresAt > previous && expiries.replace(id, previous, expiresAt)) file(id, expiresAt);
+            return false;
+        }
+        file(id, expiresAt);
+        return true;
+    }
+
+    public boolean contains(String id, long now) {
+        if (id == null) return false;
+        Long until = expiries.get(id);
+        return until != null && until > now;
+    }
+
+    /** Forgets everything in buckets that ended before now; returns how many ids were dropped */
+    public int purge(long now) {
+        int dropped = 0;
+        var expired = buckets.headMap(now / bucketMillis);
+        for (var it = expired.entrySet().iterator(); it.hasNext(); ) {
+            var bucket = it.next();
+            List<String> ids;
+            synchronized (bucket.getValue()) {
+                ids = new ArrayList<>(bucket.getValue());
+            }
+            for (String id : ids) {
+                // skip ids re-filed with a later expiry
+                Long until = expiries.get(id);
+                if (until != null && until <= now && expiries.remove(id, until)) dropped++;
+            }
+            it.remove();
+        }
+        return dropped;
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    private void file(String id, long expiresAt) {
+        List<String> bucket = buckets.computeIfAbsent(expiresAt / bucketMillis, k -> new ArrayList<>());
+        synchronized (bucket) {
+            bucket.add(id);
+        }
+    }
+}
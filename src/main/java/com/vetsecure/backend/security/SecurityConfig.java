@@ -1,5 +1,7 @@
 package com.vetsecure.backend.security;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -21,6 +23,8 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.vetsecure.backend.web.IdempotencyFilter;
+import com.vetsecure.backend.web.Paging;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -35,22 +39,22 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
     private final UserDetailsServiceImpl uds;
-    private final SecurityHeadersFilter securityHeadersFilter;
     private final com.vetsecure.backend.security.oauth2.CustomOAuth2UserService oAuth2UserService;
     private final com.vetsecure.backend.security.oauth2.OAuth2LoginSuccessHandler oAuth2SuccessHandler;
     private final com.vetsecure.backend.security.oauth2.OAuth2LoginFailureHandler oAuth2FailureHandler;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     public SecurityConfig(
             JwtAuthFilter jwtAuthFilter,
             UserDetailsServiceImpl uds,
-            SecurityHeadersFilter securityHeadersFilter,
             @Lazy com.vetsecure.backend.security.oauth2.CustomOAuth2UserService oAuth2UserService,
             @Lazy com.vetsecure.backend.security.oauth2.OAuth2LoginSuccessHandler oAuth2SuccessHandler,
             @Lazy com.vetsecure.backend.security.oauth2.OAuth2LoginFailureHandler oAuth2FailureHandler
     ) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.uds = uds;
-        this.securityHeadersFilter = securityHeadersFilter;
         this.oAuth2UserService = oAuth2UserService;
         this.oAuth2SuccessHandler = oAuth2SuccessHandler;
         this.oAuth2FailureHandler = oAuth2FailureHandler;
@@ -61,7 +65,7 @@ public class SecurityConfig {
         http
                 .cors(Customizer.withDefaults())
                 .csrf(csrf -> csrf.disable())
-                // Security headers are handled by SecurityHeadersFilter to avoid duplicates
+                // Security headers are written by the SecurityHeadersFilter servlet filter (registered once, outside this chain)
                 .headers(headers -> headers.disable())
                 // Keep JWT endpoints stateless in practice, but OAuth2 login needs an HttpSession for state.
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
@@ -72,6 +76,10 @@ public class SecurityConfig {
                         .failureHandler(oAuth2FailureHandler)
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // SSE streams complete on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Actuator on a dedicated management port is internal-only (scraped without a token)
+                        .requestMatchers(req -> managementPort > 0 && req.getLocalPort() == managementPort).permitAll()
 
                                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // OAuth2 endpoints must be public so Spring Security can start/finish the redirect flow
@@ -93,6 +101,8 @@ public class SecurityConfig {
                 ).permitAll()
                 // Allow unauthenticated clinic request submission
                 .requestMatchers(HttpMethod.POST, "/api/clinic-requests").permitAll()
+                // Metrics on the public port are admin-only
+                .requestMatchers("/actuator/prometheus", "/actuator/metrics/**").hasRole("SUPER_ADMIN")
                         // Allow public read of clinics (only approved should be shown client-side)
                         .requestMatchers(HttpMethod.GET, "/clinics", "/clinics/**", "/api/clinics", "/api/clinics/**").permitAll()
 
@@ -124,7 +134,6 @@ public class SecurityConfig {
                     )
                 )
                 .authenticationProvider(daoAuthProvider())
-                .addFilterBefore(securityHeadersFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -159,7 +168,11 @@ public class SecurityConfig {
 
         cfg.setAllowedMethods(List.of("GET","POST","PUT","DELETE","PATCH","OPTIONS"));
         cfg.setAllowedHeaders(List.of("*")); // ✅ o singură dată
-        cfg.setExposedHeaders(List.of("Authorization"));
+        var exposed = new java.util.ArrayList<>(List.of("Authorization"));
+        exposed.addAll(Paging.HEADERS); // paging metadata for admin listings
+        exposed.addAll(IdempotencyFilter.HEADERS); // marks replayed create responses
+        exposed.addAll(RateLimitFilter.HEADERS); // 429s say when to retry
+        cfg.setExposedHeaders(exposed);
         cfg.setAllowCredentials(true);
 
         var source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,132 @@
+package com.vetsecure.backend.security;
+
+import com.vetsecure.backend.model.RevokedToken;
+import com.vetsecure.backend.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Revoked JWT ids and token families, checked by JwtAuthFilter on every request and by RefreshTokens
+ * on every refresh. The lookup is in memory ({@link RevocationIndex}); new revocations are written to
+ * revoked_tokens in one batch every app.revocation.flush-interval, which also pulls in what other
+ * instances revoked since the last round and drops expired rows. That pull goes by created_at, which the
+ * database sets on insert, so a revocation written late (a retried batch, a skewed clock) is still seen. Everything still in force is loaded at
+ * startup, so a restart doesn't bring revoked sessions back.
+ */
+@Component
+public class TokenRevocations {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocations.class);
+
+    private final RevokedTokenRepository repo;
+    private final TransactionTemplate tx;
+    private final RevocationIndex index;
+    private final Duration flushInterval;
+
+    private final ConcurrentLinkedQueue<RevokedToken> pending = new ConcurrentLinkedQueue<>();
+    private final TaskScheduler scheduler;
+    private volatile ScheduledFuture<?> flushing;
+    private volatile Instant lastSeen = Instant.EPOCH; // newest created_at read back, database clock
+
+    public TokenRevocations(
+            RevokedTokenRepository repo,
+            PlatformTransactionManager txManager,
+            TaskScheduler scheduler,
+            MeterRegistry registry,
+            @Value("${app.revocation.bucket:1h}") Duration bucket,
+            @Value("${app.revocation.flush-interval:5s}") Duration flushInterval
+    ) {
+        this.repo = repo;
+        this.tx = new TransactionTemplate(txManager);
+        this.index = new RevocationIndex(bucket.toMillis());
+        this.flushInterval = flushInterval;
+        this.scheduler = scheduler;
+        Gauge.builder("vetsecure.auth.revoked", index, RevocationIndex::size)
+                .description("Revoked token ids and families still in force")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            Instant now = Instant.now();
+            Instant last = tx.execute(status -> repo.lastCreatedAt());
+            List<RevokedToken> rows = tx.execute(status -> repo.findByExpiresAtAfter(now));
+            if (rows != null) rows.forEach(r -> index.add(r.getId(), r.getExpiresAt().toEpochMilli()));
+            if (last != null) lastSeen = last;
+        } catch (Exception e) {
+            log.warn("Could not load revoked tokens: {}", e.toString());
+        }
+        flushing = scheduler.scheduleWithFixedDelay(this::flush, Instant.now().plus(flushInterval), flushInterval);
+    }
+
+    /** Revokes a token id or family until expiresAt; false if it already was revoked */
+    public boolean revoke(String id, Instant expiresAt) {
+        boolean added = index.add(id, expiresAt.toEpochMilli());
+        if (added) pending.add(new RevokedToken(id, expiresAt, Instant.now()));
+        return added;
+    }
+
+    public boolean isRevoked(String id) {
+        return index.contains(id, System.currentTimeMillis());
+    }
+
+    /** True if the token itself or its family has been revoked */
+    public boolean isRevoked(Claims claims) {
+        long now = System.currentTimeMillis();
+        return index.contains(claims.getId(), now) || index.contains(claims.get("fam", String.class), now);
+    }
+
+    private void flush() {
+        Instant now = Instant.now();
+        List<RevokedToken> batch = new ArrayList<>();
+        for (RevokedToken t; (t = pending.poll()) != null; ) batch.add(t);
+        try {
+            // overlap the window a little: a row inserted just before lastSeen may commit after it was read
+            Instant since = lastSeen.minus(flushInterval);
+            List<RevokedToken> fromOthers = tx.execute(status -> {
+                if (!batch.isEmpty()) repo.saveAll(batch);
+                repo.deleteExpired(now);
+                return repo.findByCreatedAtAfter(since);
+            });
+            if (fromOthers != null) {
+                for (RevokedToken r : fromOthers) {
+                    index.add(r.getId(), r.getExpiresAt().toEpochMilli());
+                    if (r.getCreatedAt() != null && r.getCreatedAt().isAfter(lastSeen)) lastSeen = r.getCreatedAt();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not sync {} token revocations: {}", batch.size(), e.toString());
+            pending.addAll(batch); // next round
+        }
+        index.purge(now.toEpochMilli());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flushing != null) flushing.cancel(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            log.debug("Final revocation flush failed: {}", e.toString());
+        }
+    }
+}
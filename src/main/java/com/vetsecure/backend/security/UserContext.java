@@ -0,0 +1,42 @@
+package com.vetsecure.backend.security;
+
+import com.vetsecure.backend.model.Role;
+
+import java.util.Set;
+
+/**
+ * Resolved identity of the caller: every id the controllers and {@link Authz} need,
+ * loaded once and cached by {@link UserContextService}.
+ *
+ * ownerId/vetId are null when the user has no PetOwner/Vet profile (both share the user id via @MapsId).
+ * clinicId is the vet's clinic; adminClinicIds are clinics whose clinicAdmin is this user.
+ */
+public record UserContext(
+        Long userId,
+        String email,
+        Role.RoleType role,
+        Long ownerId,
+        Long vetId,
+        Long clinicId,
+        Set<Long> adminClinicIds
+) {
+
+    // used by the constructor-expression query in UserRepository; admin clinics are filled in afterwards
+    public UserContext(Long userId, String email, Role.RoleType role, Long ownerId, Long vetId, Long clinicId) {
+        this(userId, email, role, ownerId, vetId, clinicId, Set.of());
+    }
+
+    public UserContext withAdminClinicIds(Set<Long> ids) {
+        return new UserContext(userId, email, role, ownerId, vetId, clinicId, Set.copyOf(ids));
+    }
+
+    public boolean isOwner() { return ownerId != null; }
+    public boolean isVet() { return vetId != null; }
+    public boolean isClinicAdmin() { return !adminClinicIds.isEmpty(); }
+    public boolean isSuperAdmin() { return role == Role.RoleType.SUPER_ADMIN; }
+
+    /** true if this user is the clinicAdmin of the given clinic */
+    public boolean administers(Long clinic) {
+        return clinic != null && adminClinicIds.contains(clinic);
+    }
+}
@@ -0,0 +1,153 @@
+package com.vetsecure.backend.security;
+
+import com.vetsecure.backend.repository.ClinicRepository;
+import com.vetsecure.backend.repository.UserRepository;
+import com.vetsecure.backend.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves and caches {@link UserContext} per principal.
+ *
+ * Entries live for one access-token lifetime in a ConcurrentHashMap (lookups take no lock); when it
+ * grows past app.user-context.max-entries expired entries go first, then arbitrary ones. Anything that
+ * changes a user's identity (role, owner/vet profile, clinic admin) must call one of the invalidate
+ * methods. Inside a transaction the eviction happens now and again after commit, and every invalidation
+ * bumps a generation counter: a context loaded before an invalidation is never left in the cache, so a
+ * request that read the old row can't re-insert it for a full TTL.
+ * Unknown users are not cached, so a freshly registered account resolves on its first request.
+ */
+@Service
+public class UserContextService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserContextService.class);
+
+    private final UserRepository users;
+    private final ClinicRepository clinics;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserContextService(
+            UserRepository users,
+            ClinicRepository clinics,
+            @Value("${jwt.accessTtlMillis:900000}") long ttlMillis,
+            @Value("${app.user-context.max-entries:10000}") int maxEntries
+    ) {
+        this.users = users;
+        this.clinics = clinics;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = Math.max(maxEntries, 1);
+    }
+
+    /** Context of the currently authenticated caller, if any */
+    public Optional<UserContext> current() {
+        return forAuthentication(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /** Accepts an email principal (JWT / form login) or a numeric user id (UserPrincipal) */
+    public Optional<UserContext> forAuthentication(Authentication auth) {
+        if (auth == null || !auth.isAuthenticated()) return Optional.empty();
+        return forPrincipal(auth.getName());
+    }
+
+    public Optional<UserContext> forPrincipal(String name) {
+        if (name == null || name.isBlank()) return Optional.empty();
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+
+        Entry e = cache.get(key);
+        if (e != null && e.expiresAt > now) return Optional.of(e.ctx);
+
+        long gen = generation.get();
+        Optional<UserContext> loaded = load(key);
+        loaded.ifPresent(ctx -> {
+            Entry fresh = new Entry(ctx, now + ttlMillis);
+            if (cache.size() >= maxEntries) trim(now);
+            cache.put(key, fresh);
+            // invalidated while loading: what we read may predate the change
+            if (generation.get() != gen) cache.remove(key, fresh);
+        });
+        return loaded;
+    }
+
+    public Optional<UserContext> forUserId(Long userId) {
+        return userId == null ? Optional.empty() : forPrincipal(String.valueOf(userId));
+    }
+
+    private Optional<UserContext> load(String key) {
+        Optional<UserContext> base;
+        if (key.chars().allMatch(Character::isDigit)) {
+            base = users.findContextById(Long.valueOf(key));
+        } else {
+            base = users.findContextByEmail(key);
+        }
+        return base.map(ctx -> {
+            var adminOf = clinics.findIdsByClinicAdminId(ctx.userId());
+            log.debug("Resolved user context for {}: userId={}, role={}", key, ctx.userId(), ctx.role());
+            return adminOf.isEmpty() ? ctx : ctx.withAdminClinicIds(new HashSet<>(adminOf));
+        });
+    }
+
+    /** Drop every cached entry for this user (cached under email and/or numeric id) */
+    public void invalidate(Long userId) {
+        if (userId == null) return;
+        evictUser(userId);
+        AfterCommit.run(() -> evictUser(userId));
+    }
+
+    public void invalidate(String email) {
+        if (email == null) return;
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        evictEmail(key);
+        AfterCommit.run(() -> evictEmail(key));
+    }
+
+    /** For changes that can affect many users at once (role rows, clinic deletion) */
+    public void invalidateAll() {
+        clear();
+        AfterCommit.run(this::clear);
+    }
+
+    private void evictUser(Long userId) {
+        generation.incrementAndGet();
+        cache.values().removeIf(e -> userId.equals(e.ctx.userId()));
+    }
+
+    private void evictEmail(String key) {
+        generation.incrementAndGet();
+        Entry e = cache.remove(key);
+        if (e != null) {
+            Long id = e.ctx.userId();
+            cache.values().removeIf(x -> id.equals(x.ctx.userId()));
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private void trim(long now) {
+        cache.values().removeIf(e -> e.expiresAt <= now);
+        var it = cache.keySet().iterator();
+        while (cache.size() >= maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry(UserContext ctx, long expiresAt) {}
+}
@@ -7,6 +7,9 @@ import dev.samstevens.totp.qr.QrData;
 import dev.samstevens.totp.qr.ZxingPngQrGenerator;
 import dev.samstevens.totp.secret.DefaultSecretGenerator;
 import dev.samstevens.totp.time.SystemTimeProvider;
+import com.vetsecure.backend.observability.DomainMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +23,17 @@ public class MfaService {
 
     public static final String ISSUER = "VetSecure";
     private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+    private final DomainMetrics metrics;
+
+    @Autowired
+    public MfaService(DomainMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /** Standalone use (e.g. plain unit tests) without a Spring context; meters go to a throwaway registry */
+    public MfaService() {
+        this(new DomainMetrics(new SimpleMeterRegistry()));
+    }
 
     /** Generate a Base32 secret (what Google Authenticator expects). */
     public String generateSecret() {
@@ -49,10 +63,15 @@ public class MfaService {
                 .digits(6)
                 .period(30)
                 .build();
-        byte[] png = new ZxingPngQrGenerator().generate(data);
+        byte[] png = QrGenerator.INSTANCE.generate(data);
         return "data:image/png;base64," + Base64.getEncoder().encodeToString(png);
     }
 
+    /** ZXing is only loaded (and the generator built) the first time someone sets up MFA */
+    private static final class QrGenerator {
+        static final ZxingPngQrGenerator INSTANCE = new ZxingPngQrGenerator();
+    }
+
     /** Verify a 6-digit code with ±1 step (±30s) tolerance. */
     public boolean verify(String base32Secret, String code) {
         var verifier = new DefaultCodeVerifier(
@@ -60,7 +79,10 @@ public class MfaService {
                 new SystemTimeProvider()
         );
         verifier.setAllowedTimePeriodDiscrepancy(1);
-        return verifier.isValidCode(base32Secret, code);
+        var sample = metrics.start();
+        boolean ok = verifier.isValidCode(base32Secret, code);
+        metrics.mfaVerify(sample, "totp", ok);
+        return ok;
     }
 
     // ---------- Recovery codes helpers ----------
@@ -85,10 +107,12 @@ public class MfaService {
     public String consumeRecoveryCode(String storedHashes, String providedCode) {
         if (storedHashes == null || storedHashes.isBlank() || providedCode == null) return null;
         var lines = storedHashes.split("\\R");
+        var sample = metrics.start(); // one BCrypt match per stored code, so this is the slow path
         int matchIdx = -1;
         for (int i = 0; i < lines.length; i++) {
             if (bcrypt.matches(providedCode, lines[i])) { matchIdx = i; break; }
         }
+        metrics.mfaVerify(sample, "recovery", matchIdx >= 0);
         if (matchIdx < 0) return null; // not found
 
         // remove matched line
@@ -12,6 +12,7 @@ import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -24,6 +25,7 @@ import java.util.*;
  * Critical note: we do NOT accept any Google tokens from the frontend.
  * Spring Security performs the OAuth2 flow and calls this service server-side.
  */
+@Lazy
 @Service
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
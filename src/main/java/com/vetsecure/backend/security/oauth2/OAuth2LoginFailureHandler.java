@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -14,6 +15,7 @@ import java.io.IOException;
 /**
  * Redirect back to the React login page with an error query param on OAuth2 failure.
  */
+@Lazy
 @Component
 public class OAuth2LoginFailureHandler implements AuthenticationFailureHandler {
 
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -22,6 +23,7 @@ import java.util.Locale;
  *
  * This keeps Google OAuth additive and avoids any frontend token exchange hacks.
  */
+@Lazy // built on the first Google sign-in; SecurityConfig holds a @Lazy proxy
 @Component
 public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
 
@@ -4,15 +4,18 @@ import com.vetsecure.backend.model.Clinic;
 import com.vetsecure.backend.model.ClinicRequest;
 import com.vetsecure.backend.model.Role;
 import com.vetsecure.backend.model.User;
+import com.vetsecure.backend.outbox.Outbox;
 import com.vetsecure.backend.repository.ClinicRepository;
 import com.vetsecure.backend.repository.ClinicRequestRepository;
 import com.vetsecure.backend.repository.UserRepository;
+import com.vetsecure.backend.security.UserContextService;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AdminClinicRequestService {
@@ -20,15 +23,21 @@ public class AdminClinicRequestService {
     private final ClinicRequestRepository repo;
     private final ClinicRepository clinics;
     private final UserRepository users;
+    private final UserContextService userContexts;
+    private final Outbox outbox;
 
     public AdminClinicRequestService(
             ClinicRequestRepository repo,
             ClinicRepository clinics,
-            UserRepository users
+            UserRepository users,
+            UserContextService userContexts,
+            Outbox outbox
     ) {
         this.repo = repo;
         this.clinics = clinics;
         this.users = users;
+        this.userContexts = userContexts;
+        this.outbox = outbox;
     }
 
     /** List, optionally filtered by status. Always sorted by id DESC. */
@@ -73,13 +82,21 @@ public class AdminClinicRequestService {
             if (current != Role.RoleType.SUPER_ADMIN && current != Role.RoleType.CLINIC_ADMIN) {
                 clinicAdmin.getRole().setName(Role.RoleType.CLINIC_ADMIN);
                 users.save(clinicAdmin);
+                // the role row itself was renamed, so every cached context holding it is stale
+                userContexts.invalidateAll();
             }
         }
+        userContexts.invalidate(clinicAdmin.getId()); // now administers this clinic
 
         req.setStatus(ClinicRequest.Status.APPROVED);
         req.setDecidedAt(Instant.now());
         req.setDecidedBy(adminEmail);
-        return repo.save(req);
+        ClinicRequest saved = repo.save(req);
+        outbox.record(Outbox.CLINIC_REQUEST, saved.getId(), "clinic_request.approved",
+                Map.of("id", saved.getId(), "clinicId", clinic.getId(), "decidedBy", adminEmail));
+        outbox.record(Outbox.CLINIC, clinic.getId(), "clinic.approved",
+                Map.of("id", clinic.getId(), "status", clinic.getStatus()));
+        return saved;
     }
 
     @Transactional
@@ -95,9 +112,14 @@ public class AdminClinicRequestService {
                 .forEach(c -> {
                     c.setStatus(Clinic.Status.REJECTED);
                     clinics.save(c);
+                    outbox.record(Outbox.CLINIC, c.getId(), "clinic.rejected",
+                            Map.of("id", c.getId(), "status", c.getStatus()));
                 });
 
-        return repo.save(req);
+        ClinicRequest saved = repo.save(req);
+        outbox.record(Outbox.CLINIC_REQUEST, saved.getId(), "clinic_request.rejected",
+                Map.of("id", saved.getId(), "decidedBy", adminEmail));
+        return saved;
     }
 
     private void ensurePending(ClinicRequest req) {
@@ -2,31 +2,39 @@ package com.vetsecure.backend.service;
 
 import com.vetsecure.backend.model.Clinic;
 import com.vetsecure.backend.model.Role;
+import com.vetsecure.backend.outbox.Outbox;
 import com.vetsecure.backend.repository.ClinicRepository;
 import com.vetsecure.backend.repository.UserRepository;
+import com.vetsecure.backend.security.UserContextService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AdminClinicService {
 
     private final ClinicRepository clinics;
     private final UserRepository users;
+    private final Outbox outbox;
+    private final UserContextService userContexts;
 
-    public AdminClinicService(ClinicRepository clinics, UserRepository users) {
-        this.clinics = clinics; this.users = users;
+    public AdminClinicService(ClinicRepository clinics, UserRepository users, Outbox outbox,
+                              UserContextService userContexts) {
+        this.clinics = clinics; this.users = users; this.outbox = outbox; this.userContexts = userContexts;
     }
 
     /** Optional time filter; if 'after' is null, just filter by status. */
+    @Transactional(readOnly = true)
     public List<Clinic> list(Clinic.Status status, Instant after) {
         if (status == null) return clinics.findAll(); // or add a sorted method if you prefer
         if (after != null) return clinics.findByStatusAndCreatedAtAfterOrderByCreatedAtDesc(status, after);
         return clinics.findByStatus(status);
     }
 
+    @Transactional(readOnly = true)
     public Clinic get(Long id) {
         return clinics.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Clinic not found: " + id));
@@ -45,10 +53,15 @@ public class AdminClinicService {
             if (current != Role.RoleType.SUPER_ADMIN && current != Role.RoleType.CLINIC_ADMIN) {
                 admin.getRole().setName(Role.RoleType.CLINIC_ADMIN); // flip enum on existing role row
                 users.save(admin);
+                // the role row itself was renamed, so every cached context holding it is stale
+                userContexts.invalidateAll();
             }
+            userContexts.invalidate(admin.getId());
         }
 
-        return clinics.save(c);
+        Clinic saved = clinics.save(c);
+        outbox.record(Outbox.CLINIC, saved.getId(), "clinic.approved", Map.of("id", saved.getId(), "status", saved.getStatus()));
+        return saved;
     }
 
     @Transactional
@@ -56,7 +69,9 @@ public class AdminClinicService {
         var c = get(id);
         ensurePending(c);
         c.setStatus(Clinic.Status.REJECTED);
-        return clinics.save(c);
+        Clinic saved = clinics.save(c);
+        outbox.record(Outbox.CLINIC, saved.getId(), "clinic.rejected", Map.of("id", saved.getId(), "status", saved.getStatus()));
+        return saved;
     }
 
     private void ensurePending(Clinic c) {
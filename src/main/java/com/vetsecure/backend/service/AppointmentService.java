@@ -5,15 +5,20 @@ import com.vetsecure.backend.model.Appointment.AppointmentStatus;
 import com.vetsecure.backend.model.Pet;
 import com.vetsecure.backend.model.Vet;
 import com.vetsecure.backend.model.VetSchedule;
+import com.vetsecure.backend.events.AppointmentEvents;
+import com.vetsecure.backend.observability.DomainMetrics;
 import com.vetsecure.backend.repository.AppointmentRepository;
 import com.vetsecure.backend.repository.PetRepository;
 import com.vetsecure.backend.repository.VetRepository;
 import com.vetsecure.backend.repository.VetScheduleRepository;
+import com.vetsecure.backend.scheduling.SlotHolds;
+import com.vetsecure.backend.scheduling.Weekdays;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -24,17 +29,26 @@ public class AppointmentService {
     private final VetRepository vetRepository;
     private final PetRepository petRepository;
     private final VetScheduleRepository vetScheduleRepository;
+    private final DomainMetrics metrics;
+    private final AppointmentEvents events;
+    private final SlotHolds slotHolds;
 
     public AppointmentService(
             AppointmentRepository appointmentRepository,
             VetRepository vetRepository,
             PetRepository petRepository,
-            VetScheduleRepository vetScheduleRepository
+            VetScheduleRepository vetScheduleRepository,
+            DomainMetrics metrics,
+            AppointmentEvents events,
+            SlotHolds slotHolds
     ) {
         this.appointmentRepository = appointmentRepository;
         this.vetRepository = vetRepository;
         this.petRepository = petRepository;
         this.vetScheduleRepository = vetScheduleRepository;
+        this.metrics = metrics;
+        this.events = events;
+        this.slotHolds = slotHolds;
     }
 
     /**
@@ -42,37 +56,55 @@ public class AppointmentService {
      */
     @Transactional
     public Appointment createAppointment(Long vetId, Long petId, LocalDate date, LocalTime time, String reason) {
+        return createAppointment(vetId, petId, date, time, reason, Appointment.ServiceType.CONSULTATION);
+    }
+
+    @Transactional
+    public Appointment createAppointment(Long vetId, Long petId, LocalDate date, LocalTime time, String reason,
+                                         Appointment.ServiceType serviceType) {
+        metrics.bookingAttempt(DomainMetrics.SOURCE_SERVICE);
+        var sample = metrics.start();
+
         // Validate vet exists
-        Vet vet = vetRepository.findById(vetId)
-                .orElseThrow(() -> new IllegalArgumentException("Vet not found with ID: " + vetId));
+        Vet vet = vetRepository.findById(vetId).orElse(null);
+        if (vet == null) throw rejected(sample, "vet_not_found", "Vet not found with ID: " + vetId);
 
         // Validate pet exists
-        Pet pet = petRepository.findById(petId)
-                .orElseThrow(() -> new IllegalArgumentException("Pet not found with ID: " + petId));
+        Pet pet = petRepository.findById(petId).orElse(null);
+        if (pet == null) throw rejected(sample, "pet_not_found", "Pet not found with ID: " + petId);
 
         // Validate date is in the future
         if (date.isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("Appointment date must be in the future");
+            throw rejected(sample, "past_date", "Appointment date must be in the future");
         }
 
         // Check if vet is available at the requested time
-        if (!isVetAvailable(vetId, date, time)) {
-            throw new IllegalArgumentException("Vet is not available at the requested date and time");
-        }
-
-        // Check for conflicting appointments
-        if (appointmentRepository.existsByVetIdAndDateAndTimeAndStatusNot(vetId, date, time)) {
-            throw new IllegalArgumentException("Vet already has an appointment at this time");
+        if (!isVetAvailable(vetId, date, time, serviceType.minutes())) {
+            throw rejected(sample, "outside_hours", "Vet is not available at the requested date and time");
         }
 
         // Create appointment
         Appointment appointment = new Appointment(vet, pet, date, time, reason);
-        return appointmentRepository.save(appointment);
+        appointment.setServiceType(serviceType);
+
+        // Check for overlapping appointments and other owners' slot holds over the whole visit
+        var conflict = slotHolds.claimForBooking(vetId, appointment.getStartsAt(), appointment.getEndsAt(), null, null, null);
+        if (conflict.isPresent()) throw rejected(sample, "conflict", conflict.get());
+        Appointment saved = appointmentRepository.save(appointment);
+        metrics.bookingSucceeded(sample, DomainMetrics.SOURCE_SERVICE);
+        events.created(saved.getId());
+        return saved;
+    }
+
+    private IllegalArgumentException rejected(Timer.Sample sample, String reason, String message) {
+        metrics.bookingRejected(sample, DomainMetrics.SOURCE_SERVICE, reason);
+        return new IllegalArgumentException(message);
     }
 
     /**
      * Get appointment by ID
      */
+    @Transactional(readOnly = true)
     public Appointment getAppointmentById(Long id) {
         return appointmentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + id));
@@ -81,6 +113,7 @@ public class AppointmentService {
     /**
      * Get all appointments for a vet
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByVetId(Long vetId) {
         return appointmentRepository.findByVetId(vetId);
     }
@@ -88,6 +121,7 @@ public class AppointmentService {
     /**
      * Get all appointments for a pet
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByPetId(Long petId) {
         return appointmentRepository.findByPetId(petId);
     }
@@ -95,6 +129,7 @@ public class AppointmentService {
     /**
      * Get all appointments for a pet owner
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByPetOwnerId(Long ownerId) {
         return appointmentRepository.findByPetOwnerId(ownerId);
     }
@@ -102,6 +137,7 @@ public class AppointmentService {
     /**
      * Get all appointments for a clinic
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByClinicId(Long clinicId) {
         return appointmentRepository.findByClinicId(clinicId);
     }
@@ -109,6 +145,7 @@ public class AppointmentService {
     /**
      * Get appointments by vet and date
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByVetIdAndDate(Long vetId, LocalDate date) {
         return appointmentRepository.findByVetIdAndDate(vetId, date);
     }
@@ -116,6 +153,7 @@ public class AppointmentService {
     /**
      * Get appointments by date range
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByVetIdAndDateRange(Long vetId, LocalDate startDate, LocalDate endDate) {
         return appointmentRepository.findByVetIdAndDateBetween(vetId, startDate, endDate);
     }
@@ -127,7 +165,9 @@ public class AppointmentService {
     public Appointment updateAppointmentStatus(Long id, AppointmentStatus status) {
         Appointment appointment = getAppointmentById(id);
         appointment.setStatus(status);
-        return appointmentRepository.save(appointment);
+        Appointment saved = appointmentRepository.save(appointment);
+        events.statusChanged(id, status);
+        return saved;
     }
 
     /**
@@ -144,7 +184,9 @@ public class AppointmentService {
         appointment.setDiagnosis(diagnosis);
         appointment.setPrescription(prescription);
         appointment.setStatus(AppointmentStatus.COMPLETED);
-        return appointmentRepository.save(appointment);
+        Appointment saved = appointmentRepository.save(appointment);
+        events.statusChanged(id, AppointmentStatus.COMPLETED);
+        return saved;
     }
 
     /**
@@ -159,7 +201,9 @@ public class AppointmentService {
         }
 
         appointment.setStatus(AppointmentStatus.CANCELLED);
-        return appointmentRepository.save(appointment);
+        Appointment saved = appointmentRepository.save(appointment);
+        events.statusChanged(id, AppointmentStatus.CANCELLED);
+        return saved;
     }
 
     /**
@@ -179,30 +223,33 @@ public class AppointmentService {
 
         // Validate new time slot if changed
         if (!date.equals(appointment.getDate()) || !time.equals(appointment.getTime())) {
-            if (!isVetAvailable(appointment.getVet().getId(), date, time)) {
+            if (!isVetAvailable(appointment.getVet().getId(), date, time, appointment.getServiceType().minutes())) {
                 throw new IllegalArgumentException("Vet is not available at the requested date and time");
             }
 
             // Check for conflicts (excluding current appointment)
-            if (appointmentRepository.existsByVetIdAndDateAndTimeAndStatusNot(
-                    appointment.getVet().getId(), date, time)) {
-                throw new IllegalArgumentException("Vet already has an appointment at this time");
-            }
+            LocalDateTime start = date.atTime(time);
+            LocalDateTime end = start.plusMinutes(appointment.getServiceType().minutes());
+            var conflict = slotHolds.claimForBooking(appointment.getVet().getId(), start, end, null, null, id);
+            if (conflict.isPresent()) throw new IllegalArgumentException(conflict.get());
         }
 
         appointment.setDate(date);
         appointment.setTime(time);
         appointment.setReason(reason);
-        return appointmentRepository.save(appointment);
+        Appointment saved = appointmentRepository.save(appointment);
+        events.updated(id);
+        return saved;
     }
 
     /**
-     * Check if vet is available at a specific date and time based on their schedule
+     * Check if vet is available for the whole visit [time, time + minutes) based on their schedule
      */
-    private boolean isVetAvailable(Long vetId, LocalDate date, LocalTime time) {
-        // Get day of week (Sunday = 0, Monday = 1, ..., Saturday = 6)
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        byte weekday = (byte) (dayOfWeek.getValue() % 7); // Convert to 0-6 range
+    private boolean isVetAvailable(Long vetId, LocalDate date, LocalTime time, int minutes) {
+        LocalDateTime endsAt = date.atTime(time).plusMinutes(minutes);
+        if (!endsAt.toLocalDate().equals(date)) return false; // visits past midnight never fit a shift
+        LocalTime end = endsAt.toLocalTime();
+        byte weekday = Weekdays.of(date.getDayOfWeek());
 
         // Get vet schedules for this weekday
         List<VetSchedule> schedules = vetScheduleRepository.findByVetIdAndWeekday(vetId, weekday);
@@ -211,9 +258,9 @@ public class AppointmentService {
             return false; // Vet doesn't work on this day
         }
 
-        // Check if time falls within any schedule
+        // Check if the visit falls within any schedule
         for (VetSchedule schedule : schedules) {
-            if (!time.isBefore(schedule.getStartTime()) && !time.isAfter(schedule.getEndTime())) {
+            if (!time.isBefore(schedule.getStartTime()) && !end.isAfter(schedule.getEndTime())) {
                 return true;
             }
         }
@@ -229,6 +276,7 @@ public class AppointmentService {
         if (!appointmentRepository.existsById(id)) {
             throw new IllegalArgumentException("Appointment not found with ID: " + id);
         }
+        events.deleting(id);
         appointmentRepository.deleteById(id);
     }
 }
@@ -51,6 +51,7 @@ public class ClinicScheduleService {
     /**
      * Get schedule by ID
      */
+    @Transactional(readOnly = true)
     public ClinicSchedule getScheduleById(Long id) {
         return clinicScheduleRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Schedule not found with ID: " + id));
@@ -59,6 +60,7 @@ public class ClinicScheduleService {
     /**
      * Get all schedules for a clinic
      */
+    @Transactional(readOnly = true)
     public List<ClinicSchedule> getSchedulesByClinicId(Long clinicId) {
         return clinicScheduleRepository.findByClinicId(clinicId);
     }
@@ -66,6 +68,7 @@ public class ClinicScheduleService {
     /**
      * Get schedules for a clinic by weekday
      */
+    @Transactional(readOnly = true)
     public List<ClinicSchedule> getSchedulesByClinicIdAndWeekday(Long clinicId, Byte weekday) {
         return clinicScheduleRepository.findByClinicIdAndWeekday(clinicId, weekday);
     }
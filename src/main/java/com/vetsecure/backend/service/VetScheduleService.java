@@ -56,6 +56,7 @@ public class VetScheduleService {
     /**
      * Get schedule by ID
      */
+    @Transactional(readOnly = true)
     public VetSchedule getScheduleById(Long id) {
         return vetScheduleRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Schedule not found with ID: " + id));
@@ -64,6 +65,7 @@ public class VetScheduleService {
     /**
      * Get all schedules for a vet
      */
+    @Transactional(readOnly = true)
     public List<VetSchedule> getSchedulesByVetId(Long vetId) {
         return vetScheduleRepository.findByVetId(vetId);
     }
@@ -71,6 +73,7 @@ public class VetScheduleService {
     /**
      * Get schedules for a vet by weekday
      */
+    @Transactional(readOnly = true)
     public List<VetSchedule> getSchedulesByVetIdAndWeekday(Long vetId, Byte weekday) {
         return vetScheduleRepository.findByVetIdAndWeekday(vetId, weekday);
     }
@@ -78,6 +81,7 @@ public class VetScheduleService {
     /**
      * Get all schedules for vets in a specific clinic
      */
+    @Transactional(readOnly = true)
     public List<VetSchedule> getSchedulesByClinicId(Long clinicId) {
         return vetScheduleRepository.findByVetClinicId(clinicId);
     }
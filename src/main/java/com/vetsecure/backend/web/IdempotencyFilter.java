@@ -0,0 +1,257 @@
+package com.vetsecure.backend.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key support for the create endpoints mobile clients retry (app.idempotency.paths, POST only).
+ *
+ * The key is scoped to the caller (or "anonymous" for public endpoints) and remembered in an
+ * {@link IdempotencyStore} together with a SHA-256 fingerprint of method, path and body:
+ * - first request: executes; a response below 500 is stored for app.idempotency.ttl, a 5xx or an
+ *   exception forgets the key so the retry runs again
+ * - retry with the same body: gets the stored status and body back, with Idempotent-Replayed: true;
+ *   if the first one is still running it waits for it (up to app.idempotency.wait, then 409)
+ * - same key, different body: 422
+ * - body larger than app.idempotency.max-body: 413 (the body is buffered to fingerprint and replay it,
+ *   and /api/clinic-requests is open to anonymous callers)
+ *
+ * Runs after the security chain, so a retry with a missing or expired token is rejected before it can
+ * see a stored response. The store is per instance; a retry that lands on another instance executes.
+ *
+ * Metrics: vetsecure.idempotency.requests{outcome=executed|replayed|mismatch|in_progress} (replay hit
+ * rate is replayed / all) and vetsecure.idempotency.entries.
+ */
+@Component // default (lowest) order: runs after springSecurityFilterChain, so the caller is known
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final List<String> HEADERS = List.of(REPLAYED_HEADER);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper mapper;
+    private final Set<String> paths;
+    private final long waitMillis;
+    private final int maxBody;
+    private final Map<String, Counter> outcomes;
+
+    public IdempotencyFilter(
+            ObjectMapper mapper,
+            MeterRegistry registry,
+            @Value("${app.idempotency.paths:/api/appointments,/api/clinic-requests}") String[] paths,
+            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${app.idempotency.wait:10s}") Duration wait,
+            @Value("${app.idempotency.max-body:256KB}") DataSize maxBody
+    ) {
+        this.store = new IdempotencyStore(maxEntries, ttl.toNanos());
+        this.mapper = mapper;
+        this.paths = Set.of(paths);
+        this.waitMillis = wait.toMillis();
+        this.maxBody = (int) Math.min(maxBody.toBytes(), Integer.MAX_VALUE - 1);
+        this.outcomes = Map.of(
+                "executed", outcome(registry, "executed"),
+                "replayed", outcome(registry, "replayed"),
+                "mismatch", outcome(registry, "mismatch"),
+                "in_progress", outcome(registry, "in_progress"));
+        Gauge.builder("vetsecure.idempotency.entries", store, IdempotencyStore::size)
+                .description("Idempotency keys remembered by this instance")
+                .register(registry);
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("vetsecure.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) return true;
+        String ctx = request.getContextPath();
+        String path = request.getRequestURI().substring(ctx == null ? 0 : ctx.length());
+        return !paths.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        String key = req.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            error(res, 400, "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        if (req.getContentLengthLong() > maxBody) {
+            error(res, 413, "Request body is too large");
+            return;
+        }
+        byte[] body = req.getInputStream().readNBytes(maxBody + 1); // Content-Length may be absent or wrong
+        if (body.length > maxBody) {
+            error(res, 413, "Request body is too large");
+            return;
+        }
+        String scoped = caller() + ":" + key;
+        String fingerprint = fingerprint(req, body);
+
+        // a waiter whose owner gave up takes over on the next round
+        for (int round = 0; round < 2; round++) {
+            IdempotencyStore.Claim claim = store.claim(scoped, fingerprint);
+            if (claim instanceof IdempotencyStore.Mismatch) {
+                outcomes.get("mismatch").increment();
+                error(res, 422, "Idempotency-Key was already used for a different request");
+                return;
+            }
+            if (claim instanceof IdempotencyStore.Owner owner) {
+                outcomes.get("executed").increment();
+                execute(new CachedBodyRequest(req, body), res, chain, scoped, owner.entry());
+                return;
+            }
+            var existing = ((IdempotencyStore.Existing) claim).entry();
+            try {
+                replay(res, existing.response.get(waitMillis, TimeUnit.MILLISECONDS));
+                outcomes.get("replayed").increment();
+                return;
+            } catch (TimeoutException e) {
+                outcomes.get("in_progress").increment();
+                error(res, 409, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (CancellationException | ExecutionException e) {
+                // abandoned: try to become the owner
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error(res, 409, "A request with this Idempotency-Key is still in progress");
+                return;
+            }
+        }
+        error(res, 409, "A request with this Idempotency-Key is still in progress");
+    }
+
+    private void execute(HttpServletRequest req, HttpServletResponse res, FilterChain chain,
+                         String key, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        var wrapped = new ContentCachingResponseWrapper(res);
+        boolean stored = false;
+        try {
+            chain.doFilter(req, wrapped);
+            if (wrapped.getStatus() < 500) {
+                store.complete(entry, new IdempotencyStore.Stored(
+                        wrapped.getStatus(), wrapped.getContentType(), wrapped.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) store.abandon(key, entry);
+            wrapped.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(HttpServletResponse res, IdempotencyStore.Stored stored) throws IOException {
+        res.setStatus(stored.status());
+        if (stored.contentType() != null) res.setContentType(stored.contentType());
+        res.setHeader(REPLAYED_HEADER, "true");
+        res.setContentLength(stored.body().length);
+        res.getOutputStream().write(stored.body());
+    }
+
+    private void error(HttpServletResponse res, int status, String message) throws IOException {
+        res.setStatus(status);
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(res.getOutputStream(), Map.of("error", message));
+    }
+
+    private static String caller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) return "anonymous";
+        return auth.getName();
+    }
+
+    private static String fingerprint(HttpServletRequest req, byte[] body) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(req.getMethod().getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) ' ');
+            sha.update(req.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) '\n');
+            sha.update(body);
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Replays the body we already read for fingerprinting */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public int read() { return in.read(); }
+                @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+                @Override public boolean isFinished() { return in.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // everything is already in memory: available now, and then done
+                    try {
+                        if (!isFinished()) listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String enc = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    enc == null ? StandardCharsets.UTF_8 : Charset.forName(enc)));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.vetsecure.backend.web;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-limited map from idempotency key to the request fingerprint and its (future) response.
+ *
+ * The first request for a key becomes the owner and executes; later ones with the same key either get
+ * the stored response or, while the owner is still running, wait on the same future. Entries live for
+ * the TTL; when the store is full the oldest completed entry is dropped first. Entries whose owner is
+ * still running are never dropped (a retry would become a second owner), so the store can briefly hold
+ * more than maxEntries; those are bounded by the requests in flight. Plain synchronized LinkedHashMap:
+ * every operation is a few map lookups, so a single lock is cheaper than anything cleverer.
+ */
+public final class IdempotencyStore {
+
+    /** What gets replayed: status, content type and body of the first response */
+    public record Stored(int status, String contentType, byte[] body) {}
+
+    public sealed interface Claim permits Owner, Existing, Mismatch {}
+
+    /** No live entry for the key: the caller executes and must then call complete() or abandon() */
+    public record Owner(Entry entry) implements Claim {}
+
+    /** Same key and fingerprint: the response is (or will be) in entry.response */
+    public record Existing(Entry entry) implements Claim {}
+
+    /** Same key, different request */
+    public record Mismatch() implements Claim {}
+
+    public static final class Entry {
+        final String fingerprint;
+        final long createdAt;
+        public final CompletableFuture<Stored> response = new CompletableFuture<>();
+
+        Entry(String fingerprint, long createdAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(int maxEntries, long ttlNanos) {
+        this(maxEntries, ttlNanos, System::nanoTime);
+    }
+
+    IdempotencyStore(int maxEntries, long ttlNanos, LongSupplier clock) {
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+
+    public synchronized Claim claim(String key, String fingerprint) {
+        long now = clock.getAsLong();
+        evictExpired(now);
+        Entry e = entries.get(key);
+        if (e != null) {
+            return e.fingerprint.equals(fingerprint) ? new Existing(e) : new Mismatch();
+        }
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() >= maxEntries && it.hasNext()) {
+            if (it.next().response.isDone()) it.remove();
+        }
+        Entry created = new Entry(fingerprint, now);
+        entries.put(key, created);
+        return new Owner(created);
+    }
+
+    /** Stores the owner's response and wakes up everyone waiting for it */
+    public void complete(Entry entry, Stored response) {
+        entry.response.complete(response);
+    }
+
+    /** The owner failed (exception or 5xx): forget the key so a retry executes again */
+    public void abandon(String key, Entry entry) {
+        synchronized (this) {
+            entries.remove(key, entry);
+        }
+        entry.response.cancel(false);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // insertion order == age order, so expired entries are always at the head
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().getValue().createdAt < ttlNanos) break;
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.vetsecure.backend.web;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Helpers for the bounded admin listings (GET /users, /pets, /vets, /pet-owners, /api/owners).
+ *
+ * The body stays a plain JSON array so existing clients keep working; paging metadata travels in headers:
+ *   X-Has-Next               whether another page exists
+ *   X-Next-Cursor            id to pass as ?after= for keyset paging
+ *
+ * There is deliberately no total: an exact one needs a COUNT(*) per page with the same filters, and a
+ * table-wide estimate is wrong as soon as a filter or cursor applies.
+ */
+public final class Paging {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    public static final List<String> HEADERS =
+            List.of("X-Has-Next", "X-Next-Cursor");
+
+    private Paging() {}
+
+    /**
+     * Clamp the page size and drop sort keys that aren't whitelisted (so callers can't order by
+     * columns like password_hash). With a keyset cursor the page is always the first one, ordered by id.
+     */
+    public static Pageable sanitize(Pageable requested, Long after, Set<String> sortable) {
+        int size = Math.min(Math.max(requested.getPageSize(), 1), MAX_SIZE);
+        if (after != null) {
+            return PageRequest.of(0, size, Sort.by("id"));
+        }
+        List<Sort.Order> orders = requested.getSort().stream()
+                .filter(o -> sortable.contains(o.getProperty()))
+                .toList();
+        Sort sort = Sort.by(orders);
+        if (orders.stream().noneMatch(o -> o.getProperty().equals("id"))) {
+            sort = sort.and(Sort.by("id")); // stable tie-breaker
+        }
+        return PageRequest.of(requested.getPageNumber(), size, sort);
+    }
+
+    /** Blank filter strings mean "no filter" */
+    public static String value(String v) {
+        return v == null || v.isBlank() ? null : v.trim();
+    }
+
+    /** Escape character the listing queries declare for their LIKE patterns (MySQL's backslash is ambiguous in literals) */
+    public static final char LIKE_ESCAPE = '!';
+
+    /**
+     * Same as {@link #value}, for prefix filters: LIKE wildcards are escaped, so
+     * "a_b" doesn't also match "axb" and a bare "%" doesn't turn into a full scan.
+     */
+    public static String prefix(String q) {
+        String trimmed = value(q);
+        if (trimmed == null) return null;
+        StringBuilder sb = new StringBuilder(trimmed.length() + 4);
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) sb.append(LIKE_ESCAPE);
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    public static <T> ResponseEntity<List<T>> ok(Slice<T> slice, Function<T, Long> id) {
+        List<T> content = slice.getContent();
+        var res = ResponseEntity.ok()
+                .header("X-Has-Next", String.valueOf(slice.hasNext()));
+
+        // cursor only makes sense when the page is ordered by id alone
+        if (slice.hasNext() && !content.isEmpty() && Sort.by("id").equals(slice.getSort())) {
+            res.header("X-Next-Cursor", String.valueOf(id.apply(content.get(content.size() - 1))));
+        }
+        return res.body(content);
+    }
+}
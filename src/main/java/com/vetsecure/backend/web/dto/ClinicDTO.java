@@ -18,6 +18,25 @@ public class ClinicDTO {
     private Long clinicAdminId;
     private String clinicAdminEmail;
 
+    public ClinicDTO() {}
+
+    // used by constructor-expression queries (select new ...ClinicDTO(...))
+    public ClinicDTO(Long id, String name, String address, String city, String phone, String email,
+                     Clinic.Status status, Instant createdAt, String description,
+                     Long clinicAdminId, String clinicAdminEmail) {
+        this.id = id;
+        this.name = name;
+        this.address = address;
+        this.city = city;
+        this.phone = phone;
+        this.email = email;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.description = description;
+        this.clinicAdminId = clinicAdminId;
+        this.clinicAdminEmail = clinicAdminEmail;
+    }
+
     // getters / setters
     public Long getId() {
         return id;
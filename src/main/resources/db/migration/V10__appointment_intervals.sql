@@ -0,0 +1,46 @@
+-- V10: Appointments become intervals: service_type decides the duration, [starts_at, ends_at) is what
+-- conflict checks compare (date/time stay as the API-facing start).
+-- Existing rows are CONSULTATION (30 min). (vet_id, starts_at, ends_at) serves the per-vet overlap query,
+-- which scans starts_at in (start - longest duration, end).
+-- Dynamic/defensive style using INFORMATION_SCHEMA + PREPARE.
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'appointments' AND COLUMN_NAME = 'service_type'
+);
+SET @sql := IF(@exists = 0,
+  'ALTER TABLE appointments ADD COLUMN service_type VARCHAR(20) NOT NULL DEFAULT ''CONSULTATION''',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'appointments' AND COLUMN_NAME = 'starts_at'
+);
+SET @sql := IF(@exists = 0,
+  'ALTER TABLE appointments ADD COLUMN starts_at DATETIME(6) NULL, ADD COLUMN ends_at DATETIME(6) NULL',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- backfill (idempotent: only rows not yet converted); durations match Appointment.ServiceType
+UPDATE appointments
+SET starts_at = TIMESTAMP(date, time),
+    ends_at = TIMESTAMP(date, time) + INTERVAL (CASE service_type
+        WHEN 'VACCINATION' THEN 15
+        WHEN 'FOLLOW_UP' THEN 15
+        WHEN 'DENTAL' THEN 60
+        WHEN 'SURGERY' THEN 120
+        ELSE 30 END) MINUTE
+WHERE starts_at IS NULL;
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'appointments' AND INDEX_NAME = 'idx_appointments_vet_interval'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_appointments_vet_interval ON appointments (vet_id, starts_at, ends_at)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
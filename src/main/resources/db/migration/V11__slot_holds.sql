@@ -0,0 +1,47 @@
+-- V11: Short-lived slot holds taken while an owner finishes the booking form (SlotHolds).
+-- Rows are deleted when converted into an appointment, released, or swept after expires_at.
+-- Dynamic/defensive style using INFORMATION_SCHEMA + PREPARE.
+
+CREATE TABLE IF NOT EXISTS slot_holds (
+  id          BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  token       VARCHAR(36) NOT NULL,
+  vet_id      BIGINT NOT NULL,
+  user_id     BIGINT NOT NULL,
+  starts_at   DATETIME(6) NOT NULL,
+  ends_at     DATETIME(6) NOT NULL,
+  expires_at  DATETIME(6) NOT NULL,
+  CONSTRAINT uk_slot_holds_token UNIQUE (token)
+);
+
+-- overlap checks and availability: per-vet starts_at range
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'slot_holds' AND INDEX_NAME = 'idx_slot_holds_vet_interval'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_slot_holds_vet_interval ON slot_holds (vet_id, starts_at, ends_at)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- expiry sweep
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'slot_holds' AND INDEX_NAME = 'idx_slot_holds_expires'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_slot_holds_expires ON slot_holds (expires_at)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- per-user hold limit
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'slot_holds' AND INDEX_NAME = 'idx_slot_holds_user'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_slot_holds_user ON slot_holds (user_id, expires_at)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,40 @@
+-- V12: Waitlist entries (Waitlist). A cancelled appointment is offered to the best WAITING entry of the
+-- clinic whose window contains the freed start; the entry then becomes BOOKED with appointment_id set.
+-- Dynamic/defensive style using INFORMATION_SCHEMA + PREPARE.
+
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+  id              BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  owner_user_id   BIGINT NOT NULL,
+  pet_id          BIGINT NOT NULL,
+  clinic_id       BIGINT NOT NULL,
+  vet_id          BIGINT NULL,
+  service_type    VARCHAR(20) NOT NULL DEFAULT 'CONSULTATION',
+  window_start    DATETIME(6) NOT NULL,
+  window_end      DATETIME(6) NOT NULL,
+  priority        INT NOT NULL DEFAULT 0,
+  status          VARCHAR(16) NOT NULL DEFAULT 'WAITING',
+  created_at      DATETIME(6) NOT NULL,
+  appointment_id  BIGINT NULL
+);
+
+-- matcher reload: open entries per clinic
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'waitlist_entries' AND INDEX_NAME = 'idx_waitlist_clinic_status'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_waitlist_clinic_status ON waitlist_entries (clinic_id, status, window_end)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- "my waitlist" and the per-owner limit
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'waitlist_entries' AND INDEX_NAME = 'idx_waitlist_owner'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_waitlist_owner ON waitlist_entries (owner_user_id, status)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,21 @@
+-- V13: Persisted account lockouts (LoginFailures). Failures are counted in memory; only lock state
+-- changes are written here, in batches, so lockouts survive a restart.
+-- Dynamic/defensive style using INFORMATION_SCHEMA + PREPARE.
+
+CREATE TABLE IF NOT EXISTS account_lockouts (
+  subject       VARCHAR(191) NOT NULL PRIMARY KEY,
+  lockouts      INT NOT NULL,
+  locked_until  DATETIME(6) NOT NULL,
+  updated_at    DATETIME(6) NOT NULL
+);
+
+-- startup reload of recent lockouts
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'account_lockouts' AND INDEX_NAME = 'idx_account_lockouts_updated'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_account_lockouts_updated ON account_lockouts (updated_at)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,31 @@
+-- V14: Revoked token ids (jti) and token families (TokenRevocations / RefreshTokens).
+-- Rows are written in batches from the in-memory index and deleted once expires_at has passed.
+-- Dynamic/defensive style using INFORMATION_SCHEMA + PREPARE.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+  id          VARCHAR(64) NOT NULL PRIMARY KEY,
+  expires_at  DATETIME(6) NOT NULL,
+  revoked_at  DATETIME(6) NOT NULL
+);
+
+-- startup load and expiry purge
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'revoked_tokens' AND INDEX_NAME = 'idx_revoked_tokens_expires'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens (expires_at)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- sync between instances: rows revoked since the last round
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'revoked_tokens' AND INDEX_NAME = 'idx_revoked_tokens_revoked'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_revoked_tokens_revoked ON revoked_tokens (revoked_at)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,35 @@
+-- V15: Database-assigned insert time for revoked_tokens. Instances sync on created_at instead of the
+-- writer's revoked_at, so rows written late (retried batches, clock skew) are still picked up.
+-- Dynamic/defensive style using INFORMATION_SCHEMA + PREPARE.
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'revoked_tokens' AND COLUMN_NAME = 'created_at'
+);
+SET @sql := IF(@exists = 0,
+  'ALTER TABLE revoked_tokens ADD COLUMN created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- sync between instances: rows inserted since the last round
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'revoked_tokens' AND INDEX_NAME = 'idx_revoked_tokens_created'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_revoked_tokens_created ON revoked_tokens (created_at)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- the old sync index on revoked_at is no longer used
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'revoked_tokens' AND INDEX_NAME = 'idx_revoked_tokens_revoked'
+);
+SET @sql := IF(@exists = 1,
+  'DROP INDEX idx_revoked_tokens_revoked ON revoked_tokens',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,68 @@
+-- V7: Indexes backing the paged/filtered admin listings (GET /users, /pets, /vets, /pet-owners, /api/owners).
+-- Prefix filters (LIKE 'abc%') and the default id tie-breaker can be served from these; the
+-- default utf8mb4 *_ci collations make the prefix match case-insensitive without LOWER().
+-- Dynamic/defensive style using INFORMATION_SCHEMA + PREPARE.
+
+-- pets: ?species= (+ name order) and ?q= name prefix
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'pets' AND INDEX_NAME = 'idx_pets_species_name'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_pets_species_name ON pets (species, name)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'pets' AND INDEX_NAME = 'idx_pets_name'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_pets_name ON pets (name)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- vets: ?clinicId= (+ last name order) and ?q= last name prefix
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'vets' AND INDEX_NAME = 'idx_vets_clinic_last_name'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_vets_clinic_last_name ON vets (clinic_id, last_name)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'vets' AND INDEX_NAME = 'idx_vets_last_name'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_vets_last_name ON vets (last_name)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- pet_owners: ?q= last name prefix
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'pet_owners' AND INDEX_NAME = 'idx_pet_owners_last_name'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_pet_owners_last_name ON pet_owners (last_name)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- users: role filter; username/email prefixes are already covered by their UNIQUE keys
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND INDEX_NAME = 'idx_users_role_id'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_users_role_id ON users (role_id, id)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,37 @@
+-- V8: Transactional outbox. Rows are written in the same transaction as the change they describe and
+-- drained by OutboxRelay. (status, next_attempt_at, id) serves the relay's "due, oldest first" scan;
+-- (aggregate_type, aggregate_id, status, id) the "no earlier pending event for this aggregate" check.
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+  id              BIGINT PRIMARY KEY AUTO_INCREMENT,
+  aggregate_type  VARCHAR(40)  NOT NULL,
+  aggregate_id    BIGINT       NOT NULL,
+  event_type      VARCHAR(60)  NOT NULL,
+  payload         TEXT         NULL,
+  status          VARCHAR(16)  NOT NULL DEFAULT 'PENDING',
+  attempts        INT          NOT NULL DEFAULT 0,
+  created_at      DATETIME(6)  NOT NULL,
+  next_attempt_at DATETIME(6)  NOT NULL,
+  published_at    DATETIME(6)  NULL,
+  last_error      VARCHAR(500) NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'outbox_events' AND INDEX_NAME = 'idx_outbox_due'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_outbox_due ON outbox_events (status, next_attempt_at, id)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'outbox_events' AND INDEX_NAME = 'idx_outbox_aggregate'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_outbox_aggregate ON outbox_events (aggregate_type, aggregate_id, status, id)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
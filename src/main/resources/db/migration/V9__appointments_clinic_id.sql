@@ -0,0 +1,42 @@
+-- V9: Denormalized clinic_id on appointments.
+-- Owner-created requests may have no vet, so clinic lists can't rely on vets.clinic_id; the clinic chosen
+-- at booking time is now stored on the appointment and kept in sync when a vet is assigned.
+-- Backfill from the assigned vet, then index (clinic_id, date, time) so a clinic dashboard is a single
+-- index range scan ordered by date/time.
+-- Dynamic/defensive style using INFORMATION_SCHEMA + PREPARE.
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'appointments' AND COLUMN_NAME = 'clinic_id'
+);
+SET @sql := IF(@exists = 0,
+  'ALTER TABLE appointments ADD COLUMN clinic_id BIGINT NULL AFTER vet_id',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- backfill rows that have a vet (idempotent: only fills NULLs)
+UPDATE appointments a
+  JOIN vets v ON v.id = a.vet_id
+SET a.clinic_id = v.clinic_id
+WHERE a.clinic_id IS NULL;
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'appointments' AND INDEX_NAME = 'idx_appointments_clinic_date_time'
+);
+SET @sql := IF(@exists = 0,
+  'CREATE INDEX idx_appointments_clinic_date_time ON appointments (clinic_id, date, time)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @exists := (
+  SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'appointments' AND CONSTRAINT_NAME = 'fk_appointments_clinic'
+);
+SET @sql := IF(@exists = 0,
+  'ALTER TABLE appointments ADD CONSTRAINT fk_appointments_clinic FOREIGN KEY (clinic_id) REFERENCES clinics (id)',
+  'SELECT 1'
+);
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
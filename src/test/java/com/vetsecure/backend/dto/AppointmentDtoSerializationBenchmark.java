@@ -0,0 +1,100 @@
+package com.vetsecure.backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.vetsecure.backend.model.Appointment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Serializing a 10k-row appointment list: with and without Blackbird, in each wire format the
+ * appointment endpoints negotiate, and the gzip ratio server.compression gets on each.
+ *
+ *   mvn test -Dtest=AppointmentDtoSerializationBenchmark -Dbench=true
+ */
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class AppointmentDtoSerializationBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP = 30;
+    private static final int ROUNDS = 50;
+
+    @Test
+    void serializeTenThousandAppointments() throws Exception {
+        List<AppointmentDto> rows = rows();
+        ObjectMapper plain = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper blackbird = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+
+        byte[] json = plain.writeValueAsBytes(rows);
+        assertArrayEquals(json, blackbird.writeValueAsBytes(rows));
+
+        System.out.printf("AppointmentDto x%d: %d KB json, %d KB gzip%n",
+                ROWS, json.length / 1024, gzip(json).length / 1024);
+        System.out.printf("  default mapper   %6.2f ms/list%n", millisPerList(plain, rows));
+        System.out.printf("  with Blackbird   %6.2f ms/list%n", millisPerList(blackbird, rows));
+    }
+
+    @Test
+    void wireFormats() throws Exception {
+        List<AppointmentDto> rows = rows();
+        AppointmentColumnsDto columnar = AppointmentColumnsDto.of(rows);
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+        report("json", json, rows);
+        report("cbor", cbor, rows);
+        report("smile", smile, rows);
+        report("columnar json", json, columnar);
+    }
+
+    private static void report(String label, ObjectMapper mapper, Object value) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(value);
+        System.out.printf("  %-14s %5d KB, %4d KB gzip, %6.2f ms/list%n",
+                label, bytes.length / 1024, gzip(bytes).length / 1024, millisPerList(mapper, value));
+    }
+
+    private static double millisPerList(ObjectMapper mapper, Object rows) throws Exception {
+        // writeValue closes the stream, so each round gets its own sink
+        for (int i = 0; i < WARMUP; i++) mapper.writeValue(OutputStream.nullOutputStream(), rows);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) mapper.writeValue(OutputStream.nullOutputStream(), rows);
+        return (System.nanoTime() - t0) / 1e6 / ROUNDS;
+    }
+
+    private static byte[] gzip(byte[] data) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<AppointmentDto> rows() {
+        List<AppointmentDto> rows = new ArrayList<>(ROWS);
+        LocalDate day = LocalDate.of(2025, 1, 6);
+        for (int i = 0; i < ROWS; i++) {
+            long pet = 1000 + i % 700;
+            rows.add(new AppointmentDto((long) i, day.plusDays(i % 120), LocalTime.of(8 + i % 10, (i % 4) * 15),
+                    Appointment.AppointmentStatus.values()[i % 3],
+                    "Annual check-up and vaccination", i % 3 == 1 ? "Healthy" : null, null,
+                    pet, "Pet " + pet, "Dog", "Labrador", "MALE", LocalDate.of(2019, 1 + i % 12, 1 + i % 28),
+                    pet / 2, "Owner", "Number " + pet / 2, "+40 700 000 " + (pet % 1000),
+                    i % 5 == 0 ? null : 10L + i % 12, "Vet", "Name " + i % 12, 1L + i % 3, 1L + i % 3));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,139 @@
+package com.vetsecure.backend.observability;
+
+import com.vetsecure.backend.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the prod profile and -Penhance buy: SessionFactory build time with ddl-auto update vs none and
+ * with/without JDBC metadata lookups, and thread CPU per flush of a session holding 2000 managed users
+ * with one dirty row, show-sql on vs off. H2 in MySQL mode stands in for the database.
+ *
+ *   mvn test -Dtest=JpaBootstrapBenchmark -Dbench=true
+ *   mvn test -Dtest=JpaBootstrapBenchmark -Dbench=true -Penhance
+ */
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class JpaBootstrapBenchmark {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            AccountLockout.class, Appointment.class, Clinic.class, ClinicRequest.class, ClinicSchedule.class,
+            OutboxEvent.class, Pet.class, PetOwner.class, RevokedToken.class, Role.class, SlotHold.class,
+            User.class, Vet.class, VetSchedule.class, WaitlistEntry.class);
+    private static final int BOOTS = 10;
+    private static final int USERS = 2000;
+    private static final int FLUSHES = 500;
+
+    private static final ThreadMXBean CPU = ManagementFactory.getThreadMXBean();
+
+    @Test
+    void bootstrapAndFlush() {
+        System.out.printf("entities enhanced: %s%n",
+                PersistentAttributeInterceptable.class.isAssignableFrom(User.class));
+        buildSessionFactory("create", false, true).close(); // schema for the rest
+
+        System.out.printf("  boot ddl=update metadata=on   %7.1f ms%n", bootMillis("update", true));
+        System.out.printf("  boot ddl=update metadata=off  %7.1f ms%n", bootMillis("update", false));
+        System.out.printf("  boot ddl=none   metadata=on   %7.1f ms%n", bootMillis("none", true));
+        System.out.printf("  boot ddl=none   metadata=off  %7.1f ms%n", bootMillis("none", false));
+
+        try (SessionFactory sf = buildSessionFactory("none", false, true)) {
+            seed(sf);
+        }
+        PrintStream out = System.out;
+        try (SessionFactory quiet = buildSessionFactory("none", false, true);
+             SessionFactory loud = buildSessionFactory("none", true, true)) {
+            double hidden = 0, shown = 0;
+            for (int round = 0; round < 2; round++) { // first round warms the JIT for both
+                hidden = flushMicros(quiet);
+                System.setOut(new PrintStream(OutputStream.nullOutputStream())); // the cost is formatting + write
+                shown = flushMicros(loud);
+                System.setOut(out);
+            }
+            System.out.printf("  flush show-sql=off             %7.1f us cpu%n", hidden);
+            System.out.printf("  flush show-sql=on              %7.1f us cpu%n", shown);
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    private static double bootMillis(String ddl, boolean metadata) {
+        buildSessionFactory(ddl, false, metadata).close(); // warm class loading
+        long total = 0;
+        for (int i = 0; i < BOOTS; i++) {
+            long t0 = System.nanoTime();
+            SessionFactory sf = buildSessionFactory(ddl, false, metadata);
+            total += System.nanoTime() - t0;
+            sf.close();
+        }
+        return total / 1e6 / BOOTS;
+    }
+
+    private static void seed(SessionFactory sf) {
+        sf.inTransaction(s -> {
+            Role role = new Role();
+            role.setName(Role.RoleType.PET_OWNER);
+            s.persist(role);
+            for (int i = 0; i < USERS; i++) {
+                User u = new User();
+                u.setUsername("user" + i);
+                u.setEmail("user" + i + "@example.com");
+                u.setPasswordHash("x");
+                u.setRole(role);
+                s.persist(u);
+            }
+        });
+    }
+
+    private static double flushMicros(SessionFactory sf) {
+        return sf.fromSession(s -> {
+            s.beginTransaction();
+            List<User> users = s.createQuery("from User", User.class).getResultList();
+            for (int i = 0; i < FLUSHES; i++) { // warm-up
+                users.get(i % users.size()).setProfilePictureUrl("w" + i);
+                s.flush();
+            }
+            long cpu = 0;
+            for (int i = 0; i < FLUSHES; i++) {
+                users.get(i % users.size()).setProfilePictureUrl("p" + i);
+                long t0 = CPU.getCurrentThreadCpuTime();
+                s.flush();
+                cpu += CPU.getCurrentThreadCpuTime() - t0;
+            }
+            s.getTransaction().rollback();
+            return cpu / 1e3 / FLUSHES;
+        });
+    }
+
+    private static SessionFactory buildSessionFactory(String ddl, boolean showSql, boolean metadata) {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("hibernate.connection.url", "jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        settings.put("hibernate.connection.username", "sa");
+        settings.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        settings.put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+        settings.put("hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName());
+        settings.put("hibernate.hbm2ddl.auto", ddl);
+        settings.put("jakarta.persistence.validation.mode", "none");
+        settings.put("hibernate.show_sql", String.valueOf(showSql));
+        settings.put("hibernate.format_sql", String.valueOf(showSql));
+        settings.put("hibernate.boot.allow_jdbc_metadata_access", String.valueOf(metadata));
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().applySettings(settings).build();
+        MetadataSources sources = new MetadataSources(registry);
+        ENTITIES.forEach(sources::addAnnotatedClass);
+        return sources.buildMetadata().buildSessionFactory();
+    }
+}
@@ -0,0 +1,80 @@
+package com.vetsecure.backend.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 4);
+
+    private static LocalDateTime at(int h, int m) {
+        return DAY.atTime(h, m);
+    }
+
+    private static BookedInterval booked(long id, int h, int m, int minutes) {
+        return new BookedInterval(id, at(h, m), at(h, m).plusMinutes(minutes));
+    }
+
+    @Test
+    void startsInsideAnotherVisitConflicts() {
+        var index = IntervalIndex.of(List.of(booked(1, 10, 0, 30)));
+
+        assertTrue(index.overlaps(at(10, 5), at(10, 20)));
+        assertTrue(index.overlaps(at(9, 45), at(10, 15)));
+        assertFalse(index.overlaps(at(10, 30), at(11, 0)), "back-to-back is fine");
+        assertFalse(index.overlaps(at(9, 30), at(10, 0)), "back-to-back is fine");
+    }
+
+    @Test
+    void longVisitBeforeShortOnesStillBlocks() {
+        // surgery 09:00-11:00 plus a legacy double booking inside it; a floor lookup would only see 10:00
+        var index = IntervalIndex.of(List.of(
+                booked(1, 9, 0, 120),
+                booked(2, 10, 0, 15),
+                booked(3, 11, 30, 30)));
+
+        assertTrue(index.overlaps(at(10, 30), at(10, 45)));
+        assertEquals(List.of(1L), ids(index.conflicts(at(10, 30), at(10, 45))));
+        assertEquals(List.of(1L, 2L), ids(index.conflicts(at(10, 0), at(10, 10))));
+        assertFalse(index.overlaps(at(11, 0), at(11, 30)));
+    }
+
+    @Test
+    void excludedAppointmentDoesNotConflictWithItself() {
+        var index = IntervalIndex.of(List.of(booked(7, 14, 0, 30)));
+
+        assertTrue(index.overlaps(at(14, 15), at(14, 45)));
+        assertFalse(index.overlaps(at(14, 15), at(14, 45), 7L));
+    }
+
+    @Test
+    void matchesBruteForce() {
+        Random rnd = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<BookedInterval> all = new ArrayList<>();
+            for (int i = 0; i < rnd.nextInt(30); i++) {
+                all.add(booked(i, 8 + rnd.nextInt(10), rnd.nextInt(60), 15 * (1 + rnd.nextInt(8))));
+            }
+            var index = IntervalIndex.of(all);
+            for (int q = 0; q < 50; q++) {
+                LocalDateTime start = at(8 + rnd.nextInt(10), rnd.nextInt(60));
+                LocalDateTime end = start.plusMinutes(5 + rnd.nextInt(120));
+                List<BookedInterval> expected = all.stream().filter(b -> b.overlaps(start, end)).toList();
+
+                assertEquals(!expected.isEmpty(), index.overlaps(start, end));
+                assertEquals(expected.size(), index.conflicts(start, end).size());
+            }
+        }
+    }
+
+    private static List<Long> ids(List<BookedInterval> intervals) {
+        return intervals.stream().map(BookedInterval::appointmentId).toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.vetsecure.backend.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotBitmapTest {
+
+    private static LocalTime t(int h, int m) {
+        return LocalTime.of(h, m);
+    }
+
+    @Test
+    void earliestRunSkipsBookingsAndGapsThatAreTooShort() {
+        SlotBitmap day = new SlotBitmap(15);
+        day.open(t(9, 0), t(12, 0));
+        day.close(t(9, 0), t(9, 30), false);
+        day.close(t(9, 45), t(10, 5), false); // touches the 10:00 slot, so 10:00-10:15 is gone too
+
+        int k = day.slotsFor(30);
+        assertEquals(t(10, 15), day.startOf(day.firstRun(0, k)), "09:30 gap is only one slot");
+        assertEquals(t(9, 30), day.startOf(day.firstRun(0, day.slotsFor(15))));
+    }
+
+    @Test
+    void intersectionWithOpeningHoursAndSearchStart() {
+        SlotBitmap shift = new SlotBitmap(15);
+        shift.open(t(8, 0), t(16, 0));
+        SlotBitmap hours = new SlotBitmap(15);
+        hours.open(t(10, 0), t(18, 0));
+        shift.intersect(hours);
+
+        assertEquals(t(10, 0), shift.startOf(shift.firstRun(0, 2)));
+        assertEquals(t(13, 15), shift.startOf(shift.firstRun(shift.slotOf(t(13, 7), true), 2)));
+        assertEquals(-1, shift.firstRun(shift.slotOf(t(15, 45), true), 2), "doesn't fit before closing");
+    }
+
+    @Test
+    void rejectsSlotSizesThatDoNotDivideTheDay() {
+        assertThrows(IllegalArgumentException.class, () -> new SlotBitmap(7));
+    }
+}
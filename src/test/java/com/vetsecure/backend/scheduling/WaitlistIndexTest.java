@@ -0,0 +1,66 @@
+package com.vetsecure.backend.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 4);
+    private static final LocalDateTime NOW = DAY.atTime(8, 0);
+
+    private static LocalDateTime at(int h) {
+        return DAY.atTime(h, 0);
+    }
+
+    private static WaitlistIndex.Waiting waiting(long id, Long vetId, int minutes, int from, int to, int priority) {
+        return new WaitlistIndex.Waiting(id, 1L, vetId, minutes, at(from), at(to), priority,
+                Instant.ofEpochSecond(id));
+    }
+
+    private static List<Long> ids(List<WaitlistIndex.Waiting> list) {
+        return list.stream().map(WaitlistIndex.Waiting::id).toList();
+    }
+
+    @Test
+    void higherPriorityFirstThenOldest() {
+        var index = new WaitlistIndex();
+        index.add(waiting(1, null, 30, 9, 17, 0));
+        index.add(waiting(2, null, 30, 9, 17, 5));
+        index.add(waiting(3, null, 30, 9, 17, 0));
+
+        assertEquals(List.of(2L, 1L, 3L), ids(index.candidates(1L, 7L, at(10), 30, NOW, 10)));
+    }
+
+    @Test
+    void filtersByVetWindowAndLength() {
+        var index = new WaitlistIndex();
+        index.add(waiting(1, 8L, 30, 9, 17, 0));   // other vet
+        index.add(waiting(2, null, 60, 9, 17, 0)); // too long
+        index.add(waiting(3, null, 15, 11, 17, 0)); // window starts later
+        index.add(waiting(4, 7L, 15, 9, 12, 0));
+
+        assertEquals(List.of(4L), ids(index.candidates(1L, 7L, at(10), 30, NOW, 10)));
+        assertTrue(index.candidates(2L, 7L, at(10), 30, NOW, 10).isEmpty());
+    }
+
+    @Test
+    void reAddingMovesAnEntryAndExpiredOnesAreDropped() {
+        var index = new WaitlistIndex();
+        index.add(waiting(1, null, 30, 9, 17, 0));
+        index.add(waiting(2, null, 30, 9, 17, 0));
+        index.add(waiting(2, null, 30, 9, 17, 3)); // reprioritized
+        index.add(waiting(3, null, 30, 7, 8, 9));
+
+        assertEquals(List.of(2L, 1L), ids(index.candidates(1L, 7L, at(10), 30, NOW.plusMinutes(1), 10)));
+        assertEquals(2, index.size());
+
+        index.remove(2L);
+        assertEquals(List.of(1L), ids(index.candidates(1L, 7L, at(10), 30, NOW, 10)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.vetsecure.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FailureWindowsTest {
+
+    private static final long MINUTE = 60_000;
+
+    // 3 failures within 10 minutes lock for 1, 2, 4 ... minutes, at most 5; backoff forgotten after an hour
+    private final FailureWindows windows = new FailureWindows(3, 10 * MINUTE, MINUTE, 5 * MINUTE, 60 * MINUTE);
+
+    @Test
+    void locksOnlyWhenThresholdFailuresFallInsideTheWindow() {
+        assertNull(windows.failure("a", 0));
+        assertNull(windows.failure("a", 6 * MINUTE));
+        assertNull(windows.failure("a", 11 * MINUTE)); // first one slid out
+        var change = windows.failure("a", 12 * MINUTE);
+
+        assertNotNull(change);
+        assertEquals(1, change.lockouts());
+        assertEquals(MINUTE, windows.lockedFor("a", 12 * MINUTE));
+        assertEquals(0, windows.lockedFor("a", 13 * MINUTE));
+        assertEquals(0, windows.lockedFor("b", 12 * MINUTE));
+    }
+
+    @Test
+    void backoffDoublesUpToTheCapAndSuccessClears() {
+        long now = 0;
+        List<Long> locks = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            FailureWindows.Change change = null;
+            for (int i = 0; i < 3; i++) change = windows.failure("a", now);
+            locks.add(change.lockedUntil() - now);
+            now = change.lockedUntil();
+        }
+        assertEquals(List.of(MINUTE, 2 * MINUTE, 4 * MINUTE, 5 * MINUTE, 5 * MINUTE), locks);
+
+        var cleared = windows.success("a");
+        assertEquals(0, cleared.lockouts());
+        assertEquals(0, windows.lockedFor("a", now));
+        assertNull(windows.success("a"));
+    }
+
+    @Test
+    void sweepForgetsQuietSubjectsAndReportsExpiredBackoff() {
+        for (int i = 0; i < 3; i++) windows.failure("a", 0);
+        windows.failure("b", 0);
+
+        List<String> expired = new ArrayList<>();
+        windows.sweep(30 * MINUTE, (subject, lockouts) -> expired.add(subject));
+        assertEquals(1, windows.size()); // b is gone, a still has backoff to remember
+
+        windows.sweep(61 * MINUTE, (subject, lockouts) -> expired.add(subject));
+        assertEquals(0, windows.size());
+        assertEquals(List.of("a"), expired);
+    }
+}
@@ -0,0 +1,52 @@
+package com.vetsecure.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private RateLimiter limiter(int capacity, Duration per, int maxKeys) {
+        var route = new RateLimitProperties.Route();
+        route.setCapacity(capacity);
+        route.setPer(per);
+        var props = new RateLimitProperties();
+        props.setMaxKeys(maxKeys);
+        props.getRoutes().put("login", route);
+        return new RateLimiter(props, registry, clock::get);
+    }
+
+    @Test
+    void burstUpToCapacityThenRefillsOverTime() {
+        var limiter = limiter(3, Duration.ofSeconds(30), 100);
+
+        for (int i = 0; i < 3; i++) assertEquals(0, limiter.tryAcquire("login", "a"));
+        assertEquals(10, limiter.tryAcquire("login", "a"));  // one token every 10 s
+        assertEquals(0, limiter.tryAcquire("login", "b"));   // other keys have their own bucket
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, limiter.tryAcquire("login", "a"));
+        assertTrue(limiter.tryAcquire("login", "a") > 0);
+
+        assertEquals(5, registry.get("vetsecure.ratelimit.requests").tag("outcome", "allowed").counter().count());
+        assertEquals(2, registry.get("vetsecure.ratelimit.requests").tag("outcome", "limited").counter().count());
+    }
+
+    @Test
+    void unknownRoutesAreNotLimitedAndKeysAreBounded() {
+        var limiter = limiter(1, Duration.ofMinutes(1), 16);
+
+        assertEquals(0, limiter.tryAcquire("other", "a"));
+        assertEquals(0, limiter.tryAcquire("other", "a"));
+        for (int i = 0; i < 1000; i++) limiter.tryAcquire("login", "ip-" + i);
+        assertTrue(limiter.size() <= 16);
+    }
+}
@@ -0,0 +1,47 @@
+package com.vetsecure.backend.security;
+
+import com.vetsecure.backend.model.Role;
+import com.vetsecure.backend.model.User;
+import com.vetsecure.backend.repository.RevokedTokenRepository;
+import com.vetsecure.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokensTest {
+
+    private final JwtService jwt = new JwtService("test-secret-test-secret-test-secret-42", 900_000, 1_209_600_000, 120_000);
+    private final UserRepository users = mock(UserRepository.class);
+    private final TokenRevocations revocations = new TokenRevocations(
+            mock(RevokedTokenRepository.class), mock(PlatformTransactionManager.class), mock(TaskScheduler.class),
+            new SimpleMeterRegistry(), Duration.ofHours(1), Duration.ofSeconds(5));
+    private final RefreshTokens tokens = new RefreshTokens(jwt, users, revocations, new SimpleMeterRegistry());
+
+    @Test
+    void replayingARotatedTokenRevokesTheWholeFamily() {
+        User u = new User();
+        u.setId(7L);
+        u.setEmail("owner@example.com");
+        u.setUsername("owner");
+        u.setRole(new Role(Role.RoleType.PET_OWNER));
+        when(users.findById(7L)).thenReturn(Optional.of(u));
+
+        RefreshTokens.Tokens first = tokens.issue(u);
+        RefreshTokens.Tokens second = tokens.rotate(first.refreshToken());
+        String family = jwt.parse(second.refreshToken()).getBody().get("fam", String.class);
+        assertEquals(jwt.parse(first.refreshToken()).getBody().get("fam", String.class), family);
+
+        // the old token shows up again: someone else holds it
+        assertThrows(IllegalStateException.class, () -> tokens.rotate(first.refreshToken()));
+        assertTrue(revocations.isRevoked(family));
+        assertTrue(revocations.isRevoked(jwt.parse(second.accessToken()).getBody()));
+        assertThrows(IllegalArgumentException.class, () -> tokens.rotate(second.refreshToken()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.vetsecure.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationIndexTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    void revokedUntilExpiryAndOnlyOnce() {
+        var index = new RevocationIndex(HOUR);
+
+        assertTrue(index.add("jti-1", 2 * HOUR));
+        assertFalse(index.add("jti-1", 2 * HOUR)); // second use of the same refresh token
+        assertTrue(index.contains("jti-1", HOUR));
+        assertFalse(index.contains("jti-1", 2 * HOUR));
+        assertFalse(index.contains("jti-2", HOUR));
+        assertFalse(index.contains(null, HOUR));
+    }
+
+    @Test
+    void purgeDropsWholeExpiredBucketsOnly() {
+        var index = new RevocationIndex(HOUR);
+        index.add("a", HOUR + 10);
+        index.add("b", HOUR + 20);
+        index.add("c", 5 * HOUR);
+        index.add("d", HOUR + 30);
+        index.add("d", 6 * HOUR); // extended: must survive the purge of its old bucket
+
+        assertEquals(2, index.purge(3 * HOUR));
+        assertEquals(2, index.size());
+        assertTrue(index.contains("c", 3 * HOUR));
+        assertTrue(index.contains("d", 5 * HOUR + 1));
+
+        assertEquals(2, index.purge(7 * HOUR));
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.vetsecure.backend.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Per-request cost of SecurityHeadersFilter, on top of a no-op chain.
+ *
+ *   mvn test -Dtest=SecurityHeadersFilterBenchmark -Dbench=true
+ */
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class SecurityHeadersFilterBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ROUNDS = 1_000_000;
+
+    private final SecurityHeadersFilter filter = new SecurityHeadersFilter(new String[]{"/api/"});
+    private final FilterChain noop = (req, res) -> { };
+
+    @Test
+    void perRequestCost() throws Exception {
+        MockHttpServletResponse api = once("/api/appointments/vet/1");
+        assertNull(api.getHeader("Content-Security-Policy"));
+        assertEquals("nosniff", api.getHeader("X-Content-Type-Options"));
+        assertEquals(SecurityHeadersFilter.CSP, once("/login").getHeader("Content-Security-Policy"));
+
+        for (String path : new String[]{"/api/appointments/vet/1", "/login"}) {
+            long baseline = nanosPerRequest(path, false); // mock request/response + chain, no filter
+            long filtered = nanosPerRequest(path, true);
+            System.out.printf("SecurityHeadersFilter %-26s %5d ns/request (%d ns with mocks, %d ns baseline)%n",
+                    path, filtered - baseline, filtered, baseline);
+        }
+    }
+
+    private long nanosPerRequest(String path, boolean withFilter) throws Exception {
+        for (int i = 0; i < WARMUP; i++) call(path, withFilter);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) call(path, withFilter);
+        return (System.nanoTime() - t0) / ROUNDS;
+    }
+
+    private MockHttpServletResponse once(String path) throws Exception {
+        return call(path, true);
+    }
+
+    private MockHttpServletResponse call(String path, boolean withFilter) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        if (withFilter) filter.doFilter(req, res, noop);
+        else noop.doFilter(req, res);
+        return res;
+    }
+}
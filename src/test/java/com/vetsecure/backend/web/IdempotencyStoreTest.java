@@ -0,0 +1,63 @@
+package com.vetsecure.backend.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void secondClaimSeesTheFirstResponse() throws Exception {
+        var store = new IdempotencyStore(10, 1_000, clock::get);
+
+        var owner = assertInstanceOf(IdempotencyStore.Owner.class, store.claim("k", "f"));
+        var waiter = assertInstanceOf(IdempotencyStore.Existing.class, store.claim("k", "f"));
+        assertFalse(waiter.entry().response.isDone());
+
+        store.complete(owner.entry(), new IdempotencyStore.Stored(200, "application/json", new byte[]{1}));
+        assertEquals(200, waiter.entry().response.get().status());
+        assertInstanceOf(IdempotencyStore.Mismatch.class, store.claim("k", "other"));
+    }
+
+    @Test
+    void abandonedAndExpiredKeysExecuteAgain() {
+        var store = new IdempotencyStore(10, 1_000, clock::get);
+
+        var first = assertInstanceOf(IdempotencyStore.Owner.class, store.claim("k", "f"));
+        store.abandon("k", first.entry());
+        assertTrue(first.entry().response.isCancelled());
+        var second = assertInstanceOf(IdempotencyStore.Owner.class, store.claim("k", "f"));
+        store.complete(second.entry(), new IdempotencyStore.Stored(201, null, new byte[0]));
+
+        clock.addAndGet(1_000);
+        assertInstanceOf(IdempotencyStore.Owner.class, store.claim("k", "f"));
+    }
+
+    @Test
+    void oldestCompletedKeyIsDroppedWhenFull() {
+        var store = new IdempotencyStore(2, 1_000, clock::get);
+        var done = new IdempotencyStore.Stored(200, null, new byte[0]);
+        store.complete(((IdempotencyStore.Owner) store.claim("a", "f")).entry(), done);
+        store.complete(((IdempotencyStore.Owner) store.claim("b", "f")).entry(), done);
+        store.claim("c", "f");
+
+        assertEquals(2, store.size());
+        assertInstanceOf(IdempotencyStore.Owner.class, store.claim("a", "f"));
+        assertInstanceOf(IdempotencyStore.Existing.class, store.claim("c", "f"));
+    }
+
+    @Test
+    void runningKeysAreNotDroppedWhenFull() {
+        var store = new IdempotencyStore(2, 1_000, clock::get);
+        store.claim("a", "f");
+        store.claim("b", "f");
+        store.claim("c", "f");
+
+        assertEquals(3, store.size());
+        assertInstanceOf(IdempotencyStore.Existing.class, store.claim("a", "f")); // waits, doesn't run again
+    }
+}